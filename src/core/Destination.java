@@ -51,21 +51,16 @@ public interface Destination {
      *
      * @param neighbor  router to add as neighbor.
      * @param label     label to model the relationship with the neighbor or the cost of the link to it.
+     * @return the new link with the neighbor.
      */
-    void addInNeighbor(Router neighbor, Label label);
+    Link addInNeighbor(Router neighbor, Label label);
 
     /**
-     * Sets the self route for the destination router.
+     * Sets the self route for the destination router in the given simulation context.
      *
-     * @param selfRoute  self route to set.
+     * @param context   simulation context where to set the self route.
+     * @param selfRoute self route to set.
      */
-    void setSelfRoute(Route selfRoute);
-
-    /**
-     * Returns the MRAI timer associated with the destination.
-     *
-     * @return the MRAI timer associated with the destination.
-     */
-    MRAITimer getMRAITimer();
+    void setSelfRoute(SimulationContext context, Route selfRoute);
 
 }
@@ -1,20 +1,29 @@
 package core;
 
 
+import core.events.BudgetExceededEvent;
+import core.events.BudgetExceededEvent.Budget;
 import core.events.EndEvent;
+import core.events.EventNotifier;
+import core.events.OscillationEvent;
 import core.events.StartEvent;
 import core.events.TerminateEvent;
 import core.events.ThresholdReachedEvent;
 import core.exporters.Exporter;
 import core.schedulers.Scheduler;
 
-import static core.events.EventNotifier.eventNotifier;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Engine implements the hard simulation simulation logic.
  */
 public class Engine {
 
+    // wall-clock time and heap are checked once every this many messages - must be a power of 2
+    private static final int RESOURCE_CHECK_INTERVAL = 1024;
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Private fields defining the engine's state
@@ -25,6 +34,14 @@ public class Engine {
     private final Scheduler scheduler;
     private final int threshold;
 
+    // number of times a state may repeat at a checkpoint before stopping - 0 disables oscillation detection
+    private int oscillationLimit = 0;
+
+    // budgets of each simulation - 0 means the simulation has no budget
+    private long messageBudget = 0;
+    private long wallTimeBudget = 0;    // in milliseconds
+    private long heapBudget = 0;        // in bytes
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Constructors
@@ -70,19 +87,107 @@ public class Engine {
         return scheduler;
     }
 
+    /**
+     * Returns the number of times the global state may repeat at a checkpoint before the simulation is
+     * stopped as oscillating.
+     *
+     * @return the number of repetitions allowed or 0 if oscillation detection is disabled.
+     */
+    public int getOscillationLimit() {
+        return oscillationLimit;
+    }
+
+    /**
+     * Enables oscillation detection. While simulating, the engine keeps a hash of the global state (see
+     * StateHash) and records it at checkpoints: every time MRAI timers expire. When the same state is
+     * recorded again for the given number of times, the simulation stops and an oscillation event is fired.
+     * Since delays are random, a repeated state does not prove the protocol would never converge: higher
+     * limits make a wrong verdict less likely.
+     *
+     * @param oscillationLimit number of repetitions allowed or 0 to disable oscillation detection.
+     */
+    public void setOscillationLimit(int oscillationLimit) {
+        if (oscillationLimit < 0) {
+            throw new IllegalArgumentException(
+                    "oscillation limit can not be negative: got " + oscillationLimit);
+        }
+
+        this.oscillationLimit = oscillationLimit;
+    }
+
+    public long getMessageBudget() {
+        return messageBudget;
+    }
+
+    /**
+     * Limits the number of messages processed by each simulation. Once the limit is reached, the
+     * simulation is aborted and a budget exceeded event is fired.
+     *
+     * @param messageBudget maximum number of messages to process or 0 for no limit.
+     */
+    public void setMessageBudget(long messageBudget) {
+        this.messageBudget = requireNonNegative(messageBudget, "message budget");
+    }
+
+    public long getWallTimeBudget() {
+        return wallTimeBudget;
+    }
+
+    /**
+     * Limits the wall-clock time spent by each simulation. The clock is only checked once every
+     * RESOURCE_CHECK_INTERVAL messages, which means a simulation may run slightly longer than the limit.
+     * Once the limit is exceeded, the simulation is aborted and a budget exceeded event is fired.
+     *
+     * @param wallTimeBudget maximum wall-clock time in milliseconds or 0 for no limit.
+     */
+    public void setWallTimeBudget(long wallTimeBudget) {
+        this.wallTimeBudget = requireNonNegative(wallTimeBudget, "wall-clock time budget");
+    }
+
+    public long getHeapBudget() {
+        return heapBudget;
+    }
+
+    /**
+     * Limits how much the used heap may grow during each simulation. The heap is only checked once every
+     * RESOURCE_CHECK_INTERVAL messages. It is shared by the whole JVM, which makes this limit approximate: it
+     * includes garbage not collected yet and memory used by simulations running in other threads. Once the
+     * limit is exceeded, the simulation is aborted and a budget exceeded event is fired.
+     *
+     * @param heapBudget maximum heap growth in bytes or 0 for no limit.
+     */
+    public void setHeapBudget(long heapBudget) {
+        this.heapBudget = requireNonNegative(heapBudget, "heap budget");
+    }
+
     /**
      * Entry point for each simulation instance. Simulates the topology given. Starts by advertising the
-     * self routes of the destination.
+     * self routes of the destination. The topology is not changed by the simulation: all the state of the
+     * routers and links is kept in the given context. Each simulation running at the same time must use
+     * its own engine and context.
      *
      * @param topology      topology to simulate.
      * @param destination   destination to simulate for.
+     * @param context       context holding the state of the simulation.
      */
-    public void simulate(Topology topology, Destination destination) {
+    public void simulate(Topology topology, Destination destination, SimulationContext context) {
+        EventNotifier eventNotifier = context.getEventNotifier();
+
+        // checkpoints store the time each state was first recorded and the number of times it repeated
+        Map<Long, int[]> checkpoints = oscillationLimit > 0 ? new HashMap<>() : null;
+        context.getStateHash().setEnabled(oscillationLimit > 0);
+
+        // budgets are checked in the loop below, they must be as cheap as possible when not used
+        long messageLimit = messageBudget > 0 ? messageBudget : Long.MAX_VALUE;
+        boolean checksResources = wallTimeBudget > 0 || heapBudget > 0;
+        long startNanos = System.nanoTime();
+        long startHeap = heapBudget > 0 ? usedHeap() : 0;
+        long processedCount = 0;
 
-        eventNotifier().notifyStartEvent(new StartEvent(0, scheduler));
+        eventNotifier.notifyStartEvent(new StartEvent(0, scheduler));
 
         // start the simulation by having the destination export its self route to its neighbors
-        exporter.export(destination, topology.getPolicy());
+        exporter.export(context, destination, topology.getPolicy());
 
         int time = 0;
         while (scheduler.hasMessages()) {
@@ -91,28 +196,108 @@ public class Engine {
             time = message.getArrivalTime();
 
             if (time >= threshold) {
-                eventNotifier().notifyThresholdReachedEvent(new ThresholdReachedEvent(time, threshold));
+                eventNotifier.notifyThresholdReachedEvent(new ThresholdReachedEvent(time, threshold));
                 break;
             }
 
-            message.getTarget().process(message, exporter);
+            if (processedCount == messageLimit) {
+                eventNotifier.notifyBudgetExceededEvent(
+                        new BudgetExceededEvent(time, Budget.MESSAGES, messageBudget));
+                break;
+            }
+
+            if (checksResources && (processedCount & (RESOURCE_CHECK_INTERVAL - 1)) == 0
+                    && exceedsResources(startNanos, startHeap, time, eventNotifier)) {
+                break;
+            }
+
+            processedCount++;
+            context.getStateHash().deliver(message.getTraversedLink(), message.getRoute());
+            message.getTarget().process(context, message, exporter);
 
             // check there is expired timers and if so export the routes associated with the
             // timers right now.
             // this MUST be called after processing each message!
             // calling this method might generate new messages to be added to the scheduler!
-            exporter.export(scheduler.getExpiredTimers());
+            Collection<MRAITimer> expiredTimers = scheduler.getExpiredTimers();
+            exporter.export(context, expiredTimers);
+
+            if (checkpoints != null && !expiredTimers.isEmpty()
+                    && isOscillating(checkpoints, context.getStateHash().getValue(), time, eventNotifier)) {
+                break;
+            }
 
             if (!scheduler.hasMessages()) {
                 // a terminate even is fired here to allow external components to add more messages if
                 // necessary to the scheduler
-                eventNotifier().notifyTerminateEvent(new TerminateEvent(time));
+                eventNotifier.notifyTerminateEvent(new TerminateEvent(time));
             }
         }
 
         scheduler.reset();
 
-        eventNotifier().notifyEndEvent(new EndEvent(time));
+        eventNotifier.notifyEndEvent(new EndEvent(time));
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Checks the wall-clock time and heap budgets. If one of them was exceeded it notifies a budget exceeded
+     * event and returns true.
+     */
+    private boolean exceedsResources(long startNanos, long startHeap, int time, EventNotifier eventNotifier) {
+
+        if (wallTimeBudget > 0 && (System.nanoTime() - startNanos) / 1_000_000 >= wallTimeBudget) {
+            eventNotifier.notifyBudgetExceededEvent(
+                    new BudgetExceededEvent(time, Budget.WALL_TIME, wallTimeBudget));
+            return true;
+        }
+
+        if (heapBudget > 0 && usedHeap() - startHeap >= heapBudget) {
+            eventNotifier.notifyBudgetExceededEvent(new BudgetExceededEvent(time, Budget.HEAP, heapBudget));
+            return true;
+        }
+
+        return false;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long requireNonNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " can not be negative: got " + value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Records the state at a checkpoint. If the state was recorded before as many times as the limit allows
+     * it notifies an oscillation event and returns true.
+     */
+    private boolean isOscillating(Map<Long, int[]> checkpoints, long state, int time,
+                                  EventNotifier eventNotifier) {
+
+        int[] checkpoint = checkpoints.get(state);
+        if (checkpoint == null) {
+            checkpoints.put(state, new int[]{time, 0});
+            return false;
+        }
+
+        checkpoint[1]++;
+        if (checkpoint[1] < oscillationLimit) {
+            return false;
+        }
+
+        eventNotifier.notifyOscillationEvent(new OscillationEvent(time, checkpoint[0], state));
+        return true;
     }
 
 }
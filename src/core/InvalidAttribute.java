@@ -10,6 +10,8 @@ package core;
  */
 public class InvalidAttribute implements Attribute {
 
+    private static final long serialVersionUID = 1L;
+
     // It exists only one unique Invalid Attribute instance that can be accessed through the
     // static method invalidAttr().
     private static final InvalidAttribute INSTANCE = new InvalidAttribute();
@@ -46,6 +48,13 @@ public class InvalidAttribute implements Attribute {
 
     // HASHCODE - Since there is only one object the default hashCode() implementation is sufficient
 
+    /**
+     * Keeps the invalid attribute a singleton when it is deserialized.
+     */
+    private Object readResolve() {
+        return INSTANCE;
+    }
+
     @Override
     public String toString() {
         return "•";
@@ -3,9 +3,9 @@ package core;
 /**
  * A link is one of the two fundamental elements of a topology. Links are directed and connect a source
  * router and a target router. Each link is associated with a label modelling the relationship between the
- * two routers. A link is an abstraction of a real link between two routers, therefore, it stores some
- * state such as the last time a message was sent through the link and it can be turned on and off (this
- * models turning a link on/off by software in a real router).
+ * two routers. A link is an abstraction of a real link between two routers. Links can be turned on and
+ * off during a simulation (this models turning a link on/off by software in a real router), but that state
+ * is kept in the simulation context and not in the link itself.
  */
 public class Link extends DirectedEdge {
 
@@ -16,14 +16,8 @@ public class Link extends DirectedEdge {
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
     private final Label label;
-
-    // when active routes exported through this link are considered invalid
-    // this flag is checked by the protocol in the "import" phase.
-    // by default all links are turned on
-    private boolean turnedOff = false;
-
-    // stores the arrival time of the last message sent through this link
-    private int lastArrivalTime = 0;
+    private int index = -1;     // index of the link in the topology
+    private int slot = -1;      // slot of the link in the route table of its source router
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -58,40 +52,24 @@ public class Link extends DirectedEdge {
     }
 
     /**
-     * Checks if the link is turned off.
+     * Returns the index of the link in its topology. Indexes are assigned by the topology when the link is
+     * created and are dense, starting at 0. A link not belonging to any topology has index -1.
      *
-     * @return true if the link is turned off and false otherwise.
+     * @return the index of the link in its topology or -1 if it does not belong to a topology.
      */
-    public boolean isTurnedOff() {
-        return turnedOff;
+    public int getIndex() {
+        return index;
     }
 
     /**
-     * Turns on or off the link.
+     * Returns the slot of the link in the route table of its source router. Slots are assigned by the
+     * topology when the link is created and are dense for each source router, starting at 0. A link not
+     * belonging to any topology has slot -1.
      *
-     * @param turnedOff true to turn off and false to turn on.
+     * @return the slot of the link or -1 if it does not belong to a topology.
      */
-    public void setTurnedOff(boolean turnedOff) {
-        this.turnedOff = turnedOff;
-    }
-
-    /**
-     * Returns the link's last arrival time. Corresponds the to arrival time of the last message sent
-     * through this link.
-     *
-     * @return the link's last arrival time.
-     */
-    public int getLastArrivalTime() {
-        return lastArrivalTime;
-    }
-
-    /**
-     * Sets a new value for the link's last arrival time.
-     *
-     * @param lastArrivalTime value to set as the link's last arrival time.
-     */
-    public void setLastArrivalTime(int lastArrivalTime) {
-        this.lastArrivalTime = lastArrivalTime;
+    public int getSlot() {
+        return slot;
     }
 
     /**
@@ -124,4 +102,18 @@ public class Link extends DirectedEdge {
         return "Link(" + label + ", " + target + "<-" + source + ')';
     }
 
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Package Interface - used by the topology to index its links and assign them slots
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    void setSlot(int slot) {
+        this.slot = slot;
+    }
+
 }
\ No newline at end of file
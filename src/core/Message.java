@@ -8,8 +8,8 @@ package core;
 public class Message implements Comparable<Message> {
 
     private int arrivalTime;
-    private final Link traversedLink;
-    private final Route route;
+    private Link traversedLink;
+    private Route route;
 
     public Message(int time, Link traversedLink, Route route) {
         this.arrivalTime = time;
@@ -47,6 +47,20 @@ public class Message implements Comparable<Message> {
         this.arrivalTime = time;
     }
 
+    /**
+     * Assigns new contents to the message. Used by schedulers to reuse the same message object for all
+     * messages they deliver.
+     *
+     * @param time          arrival time of the message.
+     * @param traversedLink link traversed by the message.
+     * @param route         route carried by the message.
+     */
+    public void set(int time, Link traversedLink, Route route) {
+        this.arrivalTime = time;
+        this.traversedLink = traversedLink;
+        this.route = route;
+    }
+
     /**
      * Compares both messages arrival times.
      */
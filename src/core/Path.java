@@ -1,16 +1,21 @@
 package core;
 
 
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static core.InvalidPath.invalidPath;
 
 
 /**
- * Represents a path to a destination
+ * Represents a path to a destination. A path is stored as a singly linked list of immutable nodes, starting
+ * at the source router and ending at the destination. Since nodes are never changed, paths can share their
+ * nodes with each other: copying a path or adding a router to its start takes constant time and reuses the
+ * nodes of the original path. Each node caches the size and the hash code of the path starting at it.
  */
 public class Path implements Comparable<Path>, Iterable<Router> {
 
@@ -19,13 +24,31 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      * solution showed to be slower due to a VERY slow 'copy' operation.
      */
 
-    private LinkedList<Router> path = null;   // must be a LinkedList in order to preserve insertion order
+    /**
+     * Immutable node of the path. Holds a router and the rest of the path towards the destination.
+     */
+    private static final class PathNode {
+
+        private final Router router;
+        private final PathNode next;    // null for the destination
+        private final int size;         // number of routers from this node to the destination
+        private final int hash;         // hash code of the path starting at this node
+
+        private PathNode(Router router, PathNode next) {
+            this.router = router;
+            this.next = next;
+            this.size = next == null ? 1 : next.size + 1;
+            this.hash = 31 * (next == null ? 1 : next.hash) + router.hashCode();
+        }
+
+    }
+
+    private PathNode head = null;   // first router of the path or null if the path is empty
 
     /**
      * Constructs an empty path.
      */
     public Path() {
-        this.path = new LinkedList<>();
     }
 
     /**
@@ -33,8 +56,7 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      * @param router router to initiate the path with.
      */
     public Path(Router router) {
-        this.path = new LinkedList<>();
-        path.add(router);
+        this.head = new PathNode(router, null);
     }
 
     /**
@@ -44,19 +66,21 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      * @param routers routers to initiate the path with.
      */
     public Path(Router... routers) {
-        this.path = new LinkedList<>();
-        Collections.addAll(path, routers);
+        for (int i = routers.length - 1; i >= 0; i--) {
+            head = new PathNode(routers[i], head);
+        }
     }
 
     /**
      * Only to be used to create path internally.
      */
-    private Path(LinkedList<Router> path) {
-        this.path = path;
+    private Path(PathNode head) {
+        this.head = head;
     }
 
     /**
      * Creates a copy of the given path. If the given path is the invalid path it returns the invalid path.
+     * The copy shares all nodes with the original path, therefore, this takes constant time.
      *
      * @param path path to be copied (may be an invalid path).
      * @return new copy of the given path or the invalid path if the given path is the invalid path.
@@ -65,16 +89,25 @@ public class Path implements Comparable<Path>, Iterable<Router> {
         if (path == invalidPath()) {
             return invalidPath();
         } else {
-            return new Path(new LinkedList<>(path.path));
+            return new Path(path.head);
         }
     }
 
     /**
-     * Adds a new router to the path. If the router already exists in the path then it will no be added.
+     * Adds a new router to the start of the path. Other paths sharing nodes with this path are not affected.
      * @param router router to be added to the path.
      */
     public void add(Router router) {
-        path.addFirst(router);
+        head = new PathNode(router, head);
+    }
+
+    /**
+     * Returns the number of routers in the path.
+     *
+     * @return the number of routers in the path.
+     */
+    public int size() {
+        return head == null ? 0 : head.size;
     }
 
     /**
@@ -83,12 +116,21 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      * @return true if the path contains the router and false otherwise.
      */
     public boolean contains(Router router) {
-        return this != invalidPath() && path.contains(router);
+        if (this == invalidPath()) return false;
+
+        for (PathNode node = head; node != null; node = node.next) {
+            if (node.router.equals(router)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
      * Returns the path after the given router. If the router does not exist an empty path is returned.
-     * If the path is invalid an invalid path is returned as well.
+     * If the path is invalid an invalid path is returned as well. The returned path shares its nodes with
+     * this path.
      *
      * @param router router to get path after.
      * @return path after the router or empty path if the router is not found or invalid if the path is invalid.
@@ -96,23 +138,14 @@ public class Path implements Comparable<Path>, Iterable<Router> {
     public Path getPathAfter(Router router) {
         if (this == invalidPath()) return invalidPath();
 
-        // start with an empty path
-        Path pathAfterRouter = new Path();
-
-        Iterator<Router> routerItr = path.iterator();
-
-        // start by finding in the path the router in question
-        while (routerItr.hasNext()) {
-            if (routerItr.next().equals(router)) {
+        for (PathNode node = head; node != null; node = node.next) {
+            if (node.router.equals(router)) {
                 // found the router
-                break;
+                return new Path(node.next);
             }
         }
 
-        // add to the new path, all routers in the path after the router in question
-        routerItr.forEachRemaining(pathAfterRouter.path::add);
-
-        return pathAfterRouter;
+        return new Path();  // router was not found
     }
 
     /**
@@ -123,17 +156,32 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      * @return sub-path until reaching the ending router or null if the ending router does not exist.
      */
     public Path getSubPathBefore(Router endingRouter) {
-        LinkedList<Router> subpath = new LinkedList<>();
+        int subpathSize = 0;
+        PathNode node = head;
 
-        for (Router router : path) {
-            subpath.add(router);
+        while (node != null) {
+            subpathSize++;
 
-            if (router.equals(endingRouter)) {
-                return new Path(subpath);
+            if (node.router.equals(endingRouter)) {
+                break;
             }
+
+            node = node.next;
+        }
+
+        if (node == null) {
+            return null; // ending router was not found
         }
 
-        return null; // ending router was not found
+        // the sub-path can not share the nodes of this path because it ends before the destination
+        Router[] subpath = new Router[subpathSize];
+        node = head;
+        for (int i = 0; i < subpathSize; i++) {
+            subpath[i] = node.router;
+            node = node.next;
+        }
+
+        return new Path(subpath);
     }
 
     /**
@@ -142,7 +190,9 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      * @return the source router of the path.
      */
     public Router getSource() {
-        return path.getFirst();
+        if (head == null) throw new NoSuchElementException("empty path has no source");
+
+        return head.router;
     }
 
     /**
@@ -151,7 +201,14 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      * @return the destination router of the path.
      */
     public Router getDestination() {
-        return path.getLast();
+        if (head == null) throw new NoSuchElementException("empty path has no destination");
+
+        PathNode node = head;
+        while (node.next != null) {
+            node = node.next;
+        }
+
+        return node.router;
     }
 
     /**
@@ -164,7 +221,7 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      */
     @Override
     public int compareTo(Path other) {
-        return this.path.size() - other.path.size();
+        return this.size() - other.size();
     }
 
     /**
@@ -177,17 +234,39 @@ public class Path implements Comparable<Path>, Iterable<Router> {
 
         Path that = (Path) o;
 
-        return path != null ? path.equals(that.path) : that.path == null;
+        if (this.size() != that.size() || this.hashCode() != that.hashCode()) return false;
+
+        PathNode node = this.head;
+        PathNode otherNode = that.head;
+
+        // stop as soon as both paths share the same nodes
+        while (node != otherNode) {
+            if (!node.router.equals(otherNode.router)) {
+                return false;
+            }
+
+            node = node.next;
+            otherNode = otherNode.next;
+        }
+
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return path != null ? path.hashCode() : 0;
+        return head == null ? 1 : head.hash;
     }
 
     @Override
     public String toString() {
-        return "Path" + path;
+        StringBuilder builder = new StringBuilder("Path[");
+
+        for (PathNode node = head; node != null; node = node.next) {
+            builder.append(node.router);
+            if (node.next != null) builder.append(", ");
+        }
+
+        return builder.append(']').toString();
     }
 
     /**
@@ -197,11 +276,31 @@ public class Path implements Comparable<Path>, Iterable<Router> {
      */
     @Override
     public Iterator<Router> iterator() {
-        return path.iterator();
+        return new Iterator<Router>() {
+
+            private PathNode nextNode = head;
+
+            @Override
+            public boolean hasNext() {
+                return nextNode != null;
+            }
+
+            @Override
+            public Router next() {
+                if (nextNode == null) throw new NoSuchElementException();
+
+                Router router = nextNode.router;
+                nextNode = nextNode.next;
+
+                return router;
+            }
+
+        };
     }
 
     public Stream<Router> stream() {
-        return path.stream();
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     /**
@@ -215,8 +314,10 @@ public class Path implements Comparable<Path>, Iterable<Router> {
 
     private class InLinksIterator implements Iterator<Link> {
 
-        private Iterator<Router> iterator = Path.this.path.descendingIterator();
-        private Router currentRouter = iterator.next(); // all paths have at least one router
+        // nodes are only linked towards the destination, the routers are copied to iterate backwards
+        private final Router[] routers = toArray();
+        private int nextIndex = routers.length - 2;
+        private Router currentRouter = getDestination(); // all paths have at least one router
 
         /**
          * Returns {@code true} if the iteration has more elements.
@@ -227,7 +328,7 @@ public class Path implements Comparable<Path>, Iterable<Router> {
          */
         @Override
         public boolean hasNext() {
-            return iterator.hasNext();
+            return nextIndex >= 0;
         }
 
         /**
@@ -237,7 +338,9 @@ public class Path implements Comparable<Path>, Iterable<Router> {
          */
         @Override
         public Link next() {
-            Router neighbour = iterator.next();
+            if (nextIndex < 0) throw new NoSuchElementException();
+
+            Router neighbour = routers[nextIndex--];
             Link nextLink = currentRouter.getInLink(neighbour);
             currentRouter = neighbour;
 
@@ -246,4 +349,18 @@ public class Path implements Comparable<Path>, Iterable<Router> {
 
     }
 
+    /**
+     * Returns an array with the routers of the path, from the source to the destination.
+     */
+    private Router[] toArray() {
+        Router[] routers = new Router[size()];
+
+        int i = 0;
+        for (PathNode node = head; node != null; node = node.next) {
+            routers[i++] = node.router;
+        }
+
+        return routers;
+    }
+
 }
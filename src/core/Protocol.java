@@ -10,9 +10,10 @@ public interface Protocol {
     /**
      * Processes a message that arrives at the given router.
      *
+     * @param context   simulation context holding the state of the routers and links.
      * @param message   message to process.
      * @param exporter  exporter used to export a route.
      */
-    void process(Message message, Exporter exporter);
+    void process(SimulationContext context, Message message, Exporter exporter);
 
 }
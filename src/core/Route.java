@@ -46,7 +46,7 @@ public class Route implements Comparable<Route> {
     
     /**
      * Copy constructor. Only the path attribute is hard copied, the attribute is copied but reference 
-     * since it is immutable.
+     * since it is immutable. Copying the path takes constant time since the copy shares the path nodes.
      *
      * @param route route to be copied.
      */
@@ -5,31 +5,84 @@ import dnl.utils.text.table.TextTable;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.stream.IntStream;
 
 
 /**
  * Stores the routes learned from each out-neighbor to reach the destination router.
+ *
+ * Routes learned through links of a topology are stored in an array indexed by the slot of the link (see
+ * Link.getSlot()), which makes setting a route and re-selecting the best route a loop over an array. Routes
+ * learned from neighbors without a slot, like the router itself or anycast destinations, are kept in a map.
+ *
+ * Tables with many slots also keep a tournament tree over the slots. Each inner node of the tree stores the
+ * slot with the best route among the slots below it, which means that updating a route, re-selecting the
+ * best route and finding the best route ignoring one slot take logarithmic time on the number of slots.
+ * Tables with few slots use a linear scan instead, which is cheaper for them.
+ *
+ * Among equally preferred routes, the table selects the route learned from the neighbor with the lowest ID.
+ * A new route only replaces the selected route if it is strictly preferred to it.
  */
 public class RouteTable {
 
+    // tables with more slots than this keep a tournament tree over the slots
+    private static final int TOURNAMENT_THRESHOLD = 16;
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Private fields
      *
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
-    private final Map<Node, Route> routes = new HashMap<>();
+    // routes and neighbors of the links with a slot - a null neighbor means the slot is not in use
+    private Route[] routes;
+    private Node[] neighbours;
+    private int slotCount = 0;  // all slots in use are below this value
+    private Router owner = null;    // source of the links with a slot - set with the first of them
+
+    // tournament tree over the slots or null if the table has few slots
+    // the leaf of slot s is at position leafCount + s and the root is at position 1
+    // each position stores the slot with the best route below it or -1 if there is none
+    private int[] tournament = null;
+    private int leafCount = 0;
+
+    // routes of the neighbors without a slot
+    private final Map<Node, Route> detachedRoutes = new HashMap<>();
 
     private Route selectedRoute = InvalidRoute.invalidRoute();
     private Node selectedNeighbour = null;
+    private int selectedSlot = -1;  // slot of the selected neighbour or -1 if it has no slot
 
     // flag to indicate if a new route was selected after the last time it is checked
     private boolean selectedNewRoute = false;
 
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates an empty route table.
+     */
+    public RouteTable() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty route table with room for the given number of slots. The table grows if a link
+     * with a higher slot is used.
+     *
+     * @param slotCount number of slots to allocate.
+     */
+    public RouteTable(int slotCount) {
+        routes = new Route[slotCount];
+        neighbours = new Node[slotCount];
+        buildTournament();
+    }
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Public Interface
@@ -55,26 +108,67 @@ public class RouteTable {
     }
 
     /**
-     * Sets the route for an out-neighbor. If the out-neighbor does not exist in the table, it will be
-     * added and assigned to the new route. Calling this method may update the selected route.
+     * Sets the route learned through a link. The out-neighbor is the target of the link. If the link has
+     * a slot the route is stored in that slot, otherwise this is the same as calling setRoute with the
+     * target of the link. Calling this method may update the selected route.
+     *
+     * @param link  link through which the route was learned.
+     * @param route route to be set.
+     */
+    public void setRoute(Link link, Route route) {
+        int slot = link.getSlot();
+
+        if (slot < 0) {
+            setRoute(link.getTarget(), route);
+            return;
+        }
+
+        selectedNewRoute = false;   // mark no change by default - it is update if there is a new selection
+
+        if (slot >= routes.length) {
+            int capacity = Math.max(slot + 1, routes.length * 2);
+            routes = Arrays.copyOf(routes, capacity);
+            neighbours = Arrays.copyOf(neighbours, capacity);
+            buildTournament();
+        }
+
+        routes[slot] = route;
+        neighbours[slot] = link.getTarget();
+        slotCount = Math.max(slotCount, slot + 1);
+        owner = link.getSource();
+        updateTournament(slot);
+
+        if (slot == selectedSlot) {
+            // the selected route is no longer valid
+            // re-select the best route
+            reselect();
+            selectedNewRoute = true;
+
+        } else if (route.compareTo(selectedRoute) < 0) {
+            select(route, link.getTarget(), slot);
+        }
+    }
+
+    /**
+     * Sets the route for an out-neighbor without a slot. If the out-neighbor does not exist in the table,
+     * it will be added and assigned to the new route. Calling this method may update the selected route.
+     * Routes learned through links with a slot must be set with setRoute(Link, Route).
      *
      * @param neighbor out-neighbor to update route for.
      * @param route route to be set.
      */
     public void setRoute(Node neighbor, Route route) {
         selectedNewRoute = false;   // mark no change by default - it is update if there is a new selection
-        routes.put(neighbor, route);
+        detachedRoutes.put(neighbor, route);
 
-        if (neighbor.equals(selectedNeighbour)) {
+        if (selectedSlot < 0 && neighbor.equals(selectedNeighbour)) {
             // the selected route is no longer valid
             // re-select the best route
             reselect();
             selectedNewRoute = true;
 
         } else if (route.compareTo(selectedRoute) < 0) {
-            selectedRoute = route;
-            selectedNeighbour = neighbor;
-            selectedNewRoute = true;
+            select(route, neighbor, -1);
         }
 
     }
@@ -90,17 +184,51 @@ public class RouteTable {
 
     /**
      * Returns the route associated with the given out-neighbor. If the out-neighbor does not exist in
-     * the table it will be returned invalid route.
+     * the table it will be returned invalid route. The slot of a neighbor is given by the link through
+     * which the table's router learns from it. Only neighbors that are not the routers of the topology, but
+     * equal to them, need a scan over the slots.
      *
      * @param neighbor out-neighbor to get route.
      * @return route associated with the given neighbor.
      */
     public Route getRoute(Node neighbor) {
-        Route route = routes.get(neighbor);
+        Route route = detachedRoutes.get(neighbor);
+
+        if (route == null && owner != null) {
+            Link link = neighbor instanceof Router ? ((Router) neighbor).getInLink(owner) : null;
+
+            if (link != null && link.getSlot() >= 0) {
+                return getRoute(link);
+            }
+
+            for (int slot = 0; route == null && slot < slotCount; slot++) {
+                if (neighbor.equals(neighbours[slot])) {
+                    route = routes[slot];
+                }
+            }
+        }
 
         return route == null ? InvalidRoute.invalidRoute() : route;
     }
 
+    /**
+     * Returns the route learned through the given link. If no route was learned through the link it
+     * returns the invalid route.
+     *
+     * @param link link to get route for.
+     * @return route learned through the given link.
+     */
+    public Route getRoute(Link link) {
+        int slot = link.getSlot();
+
+        if (slot < 0) {
+            return getRoute(link.getTarget());
+        }
+
+        Route route = slot < slotCount ? routes[slot] : null;
+        return route == null ? InvalidRoute.invalidRoute() : route;
+    }
+
     /**
      * Returns the currently selected route. If ignore neighbor is not null it will select the best route
      * associated with any out-neighbor exception the ignored neighbor.
@@ -113,7 +241,28 @@ public class RouteTable {
         if (ignoredNeighbor == null || !ignoredNeighbor.equals(selectedNeighbour)) {
             return selectedRoute;
         } else {
-            return getBestRoute(ignoredNeighbor);
+            return getBestRoute(-1, ignoredNeighbor);
+        }
+    }
+
+    /**
+     * Returns the best route learned through any link except the given one. If the link has no slot this
+     * is the same as calling getAlternativeRoute with the target of the link.
+     *
+     * @param ignoredLink link to be ignored.
+     * @return best route not learned through the ignored link.
+     */
+    public Route getAlternativeRoute(Link ignoredLink) {
+        int slot = ignoredLink.getSlot();
+
+        if (slot < 0) {
+            return getAlternativeRoute(ignoredLink.getTarget());
+        }
+
+        if (slot != selectedSlot) {
+            return selectedRoute;
+        } else {
+            return getBestRoute(slot, null);
         }
     }
 
@@ -121,9 +270,15 @@ public class RouteTable {
      * Resets the route table to the initial conditions.
      */
     public void reset() {
-        routes.clear();
+        Arrays.fill(routes, 0, slotCount, null);
+        Arrays.fill(neighbours, 0, slotCount, null);
+        slotCount = 0;
+        if (tournament != null) Arrays.fill(tournament, -1);
+        detachedRoutes.clear();
+        owner = null;
         selectedNewRoute = false;
         selectedNeighbour = null;
+        selectedSlot = -1;
         selectedRoute = InvalidRoute.invalidRoute();
     }
 
@@ -134,13 +289,13 @@ public class RouteTable {
 
         RouteTable that = (RouteTable) o;
 
-        return routes.equals(that.routes);
+        return getRoutes().equals(that.getRoutes());
 
     }
 
     @Override
     public int hashCode() {
-        return routes.hashCode();
+        return getRoutes().hashCode();
     }
 
     @Override
@@ -157,39 +312,88 @@ public class RouteTable {
      *
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
+    /**
+     * Returns a map with the routes of all neighbors in the table, with or without a slot.
+     */
+    private Map<Node, Route> getRoutes() {
+        Map<Node, Route> allRoutes = new HashMap<>(detachedRoutes);
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (neighbours[slot] != null) {
+                allRoutes.put(neighbours[slot], routes[slot]);
+            }
+        }
+
+        return allRoutes;
+    }
 
     private TextTable getPrintableTable() {
         String[] columns = {"Neighbors", "Routes"};
 
+        Map<Node, Route> allRoutes = getRoutes();
+
         // create table with N rows and 2 columns
         // N is the number of neighbors
-        String[][] table = new String[routes.size()][2];
+        String[][] table = new String[allRoutes.size()][2];
 
-        final Iterator<Integer> entryIndex = IntStream.range(0, routes.size()).iterator();
-        routes.entrySet().forEach(entry -> {
-            Integer index = entryIndex.next();
+        int index = 0;
+        for (Map.Entry<Node, Route> entry : allRoutes.entrySet()) {
             table[index][0] = entry.getKey().toString();
             table[index][1] = entry.getValue().toString();
-        });
+            index++;
+        }
 
         return new TextTable(columns, table);
     }
 
     /**
-     * Returns the currently best route. If ignored neighbor is not null it will return the best route
-     * associated with any out-neighbor exception the ignored neighbor.
+     * Sets the given route as the selected route.
+     */
+    private void select(Route route, Node neighbour, int slot) {
+        selectedRoute = route;
+        selectedNeighbour = neighbour;
+        selectedSlot = slot;
+        selectedNewRoute = true;
+    }
+
+    /**
+     * Returns the currently best route ignoring the route in the ignored slot and the route of the ignored
+     * neighbor. Any of them can be disabled by using -1 as the ignored slot or null as the ignored neighbor.
      *
+     * @param ignoredSlot      slot to be ignored.
      * @param ignoredNeighbour out-neighbor to be ignored.
      * @return currently best route for the destination.
      */
-    private Route getBestRoute(Node ignoredNeighbour) {
+    private Route getBestRoute(int ignoredSlot, Node ignoredNeighbour) {
         Route bestRoute = InvalidRoute.invalidRoute();
+        Node bestNeighbour = null;
 
-        for (Node neighbour : routes.keySet()) {
-            Route route = getRoute(neighbour);
+        if (ignoredNeighbour == null) {
+            int bestSlot = getBestSlot(ignoredSlot);
+            if (bestSlot >= 0) {
+                bestRoute = routes[bestSlot];
+                bestNeighbour = neighbours[bestSlot];
+            }
+
+        } else {
+            for (int slot = 0; slot < slotCount; slot++) {
+                Route route = routes[slot];
+
+                if (route != null && slot != ignoredSlot && !ignoredNeighbour.equals(neighbours[slot])
+                        && isPreferred(route, neighbours[slot], bestRoute, bestNeighbour)) {
+                    bestRoute = route;
+                    bestNeighbour = neighbours[slot];
+                }
+            }
+        }
 
-            if (!neighbour.equals(ignoredNeighbour) && bestRoute.compareTo(route) > 0) {
-                bestRoute = route;
+        if (!detachedRoutes.isEmpty()) {
+            for (Map.Entry<Node, Route> entry : detachedRoutes.entrySet()) {
+                if (!entry.getKey().equals(ignoredNeighbour)
+                        && isPreferred(entry.getValue(), entry.getKey(), bestRoute, bestNeighbour)) {
+                    bestRoute = entry.getValue();
+                    bestNeighbour = entry.getKey();
+                }
             }
         }
 
@@ -204,16 +408,118 @@ public class RouteTable {
 
         selectedRoute = InvalidRoute.invalidRoute();
         selectedNeighbour = null;
-        for (Node neighbour : routes.keySet()) {
-            Route neighbourRoute = getRoute(neighbour);
+        selectedSlot = getBestSlot(-1);
+
+        if (selectedSlot >= 0) {
+            selectedRoute = routes[selectedSlot];
+            selectedNeighbour = neighbours[selectedSlot];
+        }
+
+        if (!detachedRoutes.isEmpty()) {
+            for (Map.Entry<Node, Route> entry : detachedRoutes.entrySet()) {
+                Route neighbourRoute = entry.getValue();
 
-            if (selectedRoute.compareTo(neighbourRoute) > 0) {
-                // update
-                selectedRoute = neighbourRoute;
-                selectedNeighbour = neighbour;
+                if (isPreferred(neighbourRoute, entry.getKey(), selectedRoute, selectedNeighbour)) {
+                    // update
+                    selectedRoute = neighbourRoute;
+                    selectedNeighbour = entry.getKey();
+                    selectedSlot = -1;
+                }
             }
         }
 
     }
 
+    /**
+     * Returns the slot with the best valid route, ignoring the given slot. Among slots with equally good
+     * routes it returns the one of the neighbor with the lowest ID.
+     *
+     * @param ignoredSlot slot to be ignored or -1 to consider all slots.
+     * @return the slot with the best valid route or -1 if no slot has a valid route.
+     */
+    private int getBestSlot(int ignoredSlot) {
+        int bestSlot = -1;
+
+        if (tournament != null) {
+            if (ignoredSlot < 0) {
+                bestSlot = tournament[1];
+            } else {
+                // the best slot is the best among the siblings of the nodes in the path of the ignored leaf
+                for (int position = leafCount + ignoredSlot; position > 1; position >>= 1) {
+                    bestSlot = winner(bestSlot, tournament[position ^ 1]);
+                }
+            }
+
+            return bestSlot >= 0 && InvalidRoute.invalidRoute().compareTo(routes[bestSlot]) > 0 ? bestSlot : -1;
+        }
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (routes[slot] != null && slot != ignoredSlot
+                    && (bestSlot < 0 || winner(slot, bestSlot) == slot)) {
+                bestSlot = slot;
+            }
+        }
+
+        return bestSlot >= 0 && InvalidRoute.invalidRoute().compareTo(routes[bestSlot]) > 0 ? bestSlot : -1;
+    }
+
+    /**
+     * Returns the slot with the best route among the two given slots. On a tie it returns the slot of the
+     * neighbor with the lowest ID. A slot of -1 stands for no slot.
+     */
+    private int winner(int slot, int otherSlot) {
+        if (slot < 0) return otherSlot;
+        if (otherSlot < 0) return slot;
+
+        return isPreferred(routes[slot], neighbours[slot], routes[otherSlot], neighbours[otherSlot])
+                ? slot : otherSlot;
+    }
+
+    /**
+     * Checks if a route is preferred to another route: its attribute is preferred or, on a tie, it was
+     * learned from the neighbor with the lowest ID. The other neighbor is null if the other route was not
+     * learned from any neighbor.
+     */
+    private static boolean isPreferred(Route route, Node neighbour, Route otherRoute, Node otherNeighbour) {
+        int comparison = route.compareTo(otherRoute);
+
+        return comparison < 0 || (comparison == 0 && otherNeighbour != null
+                && neighbour.getId() < otherNeighbour.getId());
+    }
+
+    /**
+     * Builds the tournament tree over the slots if the table has enough slots for it to pay off.
+     */
+    private void buildTournament() {
+        if (routes.length <= TOURNAMENT_THRESHOLD) return;
+
+        leafCount = Integer.highestOneBit(routes.length);
+        if (leafCount < routes.length) leafCount <<= 1;
+
+        tournament = new int[2 * leafCount];
+        Arrays.fill(tournament, -1);
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (routes[slot] != null) tournament[leafCount + slot] = slot;
+        }
+
+        for (int position = leafCount - 1; position >= 1; position--) {
+            tournament[position] = winner(tournament[2 * position], tournament[2 * position + 1]);
+        }
+    }
+
+    /**
+     * Updates the tournament tree after changing the route of the given slot.
+     */
+    private void updateTournament(int slot) {
+        if (tournament == null) return;
+
+        int position = leafCount + slot;
+        tournament[position] = slot;
+
+        for (position >>= 1; position >= 1; position >>= 1) {
+            tournament[position] = winner(tournament[2 * position], tournament[2 * position + 1]);
+        }
+    }
+
 }
@@ -10,11 +10,10 @@ import java.util.Map;
 
 /**
  * A router is an high-level abstraction of a BGP speaker. along with links, the router is one 
- * of the most basic components of a topology. A router contains information about its current state, such 
- * as the current routes available to the destination and the its current selected route. It is based on a 
- * node and uses its ID as the AS number. Besides state, a router keeps track of its current available
- * connections, storing the links with all of its neighbors. Each router is associated with a protocol that
- * is used to process incoming messages. 
+ * of the most basic components of a topology. It is based on a node and uses its ID as the AS number. A
+ * router keeps track of its current available connections, storing the links with all of its neighbors.
+ * Each router is associated with a protocol that is used to process incoming messages. The state of the
+ * router during a simulation, such as its route table and MRAI timer, is kept in the simulation context.
  */
 public class Router extends Node implements Destination {
 
@@ -25,10 +24,11 @@ public class Router extends Node implements Destination {
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
     private Topology topology = null;    // topology to which the router belongs to
+    private int index = -1;              // index of the router in the topology
+    private int slotCount = 0;           // number of slots assigned to links with this router as source
     private final Map<Router, Link> inLinks;
-    private RouteTable table = new RouteTable();
 
-    private final MRAITimer mraiTimer;
+    private int MRAI;
     private Detection detection;    // detection method deployed by the router
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
@@ -47,7 +47,7 @@ public class Router extends Node implements Destination {
     public Router(int id, int MRAI, Detection detection) {
         super(id);
         inLinks = new HashMap<>();
-        this.mraiTimer = new MRAITimer(this, MRAI);
+        this.MRAI = MRAI;
         this.detection = detection;
     }
 
@@ -60,7 +60,8 @@ public class Router extends Node implements Destination {
     public Router(Router router) {
         super(router.getId());
         this.inLinks = new HashMap<>(router.inLinks);
-        this.mraiTimer = new MRAITimer(this, router.getMRAITimer().getMRAI());
+        this.slotCount = router.slotCount;
+        this.MRAI = router.getMRAI();
         this.detection = router.getDetection();
     }
 
@@ -79,6 +80,26 @@ public class Router extends Node implements Destination {
         this.topology = topology;
     }
 
+    /**
+     * Returns the index of the router in its topology. Indexes are assigned by the topology when the router
+     * is added to it and are dense, starting at 0. A router not belonging to any topology has index -1.
+     *
+     * @return the index of the router in its topology or -1 if it does not belong to a topology.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the number of route table slots assigned to the links having this router as source. These
+     * are the links through which the router learns routes.
+     *
+     * @return the number of route table slots of the router.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
     /**
      * Returns the detection method deployed by the router.
      *
@@ -126,12 +147,21 @@ public class Router extends Node implements Destination {
     }
 
     /**
-     * Returns the MRAI timer associated with the router.
+     * Returns the MRAI value used by the router.
+     *
+     * @return the MRAI value used by the router.
+     */
+    public int getMRAI() {
+        return MRAI;
+    }
+
+    /**
+     * Sets the MRAI value to be used by the router.
      *
-     * @return the MRAI timer associated with the router.
+     * @param MRAI value to set as MRAI.
      */
-    public MRAITimer getMRAITimer() {
-        return mraiTimer;
+    public void setMRAI(int MRAI) {
+        this.MRAI = MRAI;
     }
 
     /**
@@ -141,39 +171,51 @@ public class Router extends Node implements Destination {
      *
      * @param neighbor  router to add as neighbor.
      * @param label     label to model the relationship with the neighbor or the cost of the link to it.
+     * @return the new link with the neighbor.
      */
-    public void addInNeighbor(Router neighbor, Label label) {
+    @Override
+    public Link addInNeighbor(Router neighbor, Label label) {
         // adds a new in-link to the router
-        inLinks.put(neighbor, new Link(neighbor, this, label));
-    }
+        Link link = new Link(neighbor, this, label);
+        inLinks.put(neighbor, link);
 
-    /**
-     * Returns the route table of the router in its current state.
-     *
-     * @return the route table of the router in its current state.
-     */
-    public RouteTable getTable() {
-        return table;
+        return link;
     }
 
     /**
-     * Sets the self route for the destination router.
+     * Sets the self route for the destination router in the given simulation context.
      *
-     * @param selfRoute  self route to set.
+     * @param context   simulation context where to set the self route.
+     * @param selfRoute self route to set.
      */
     @Override
-    public void setSelfRoute(Route selfRoute) {
-        table.setRoute(this, selfRoute);
+    public void setSelfRoute(SimulationContext context, Route selfRoute) {
+        context.getTable(this).setRoute(this, selfRoute);
     }
 
     /**
      * Calls the routers protocol process method to process the incoming message.
      *
+     * @param context   simulation context of the simulation being executed.
      * @param message   message to be processed.
      * @param exporter  exporter used to export a message if necessary.
      */
-    public void process(Message message, Exporter exporter) {
-        topology.getProtocol().process(message, exporter);
+    public void process(SimulationContext context, Message message, Exporter exporter) {
+        topology.getProtocol().process(context, message, exporter);
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Package Interface - used by the topology to index its routers and assign slots to their links
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    int nextSlot() {
+        return slotCount++;
     }
 
     @Override
@@ -0,0 +1,291 @@
+package core;
+
+import core.events.EventNotifier;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The simulation context holds all the state that changes while simulating a topology: the route tables
+ * and MRAI timers of the routers and the state of the links. It also holds the event notifier used to
+ * notify events occurring during the simulation. Keeping this state out of the topology means the topology
+ * is never changed by a simulation, which allows multiple simulations to run over the same topology at the
+ * same time as long as each one uses its own context.
+ *
+ * The state of routers and links belonging to a topology is kept in arrays indexed by their topology
+ * indexes. Elements without an index (for instance, anycast destinations) are kept in maps instead.
+ *
+ * Resetting the context takes constant time for the elements of a topology. Their state is stamped with
+ * the generation in which it was last set and each reset starts a new generation. State from a previous
+ * generation is reset when it is accessed (tables and timers) or read as the default (links).
+ */
+public class SimulationContext {
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private final EventNotifier eventNotifier;
+    private final StateHash stateHash = new StateHash();
+
+    // state of the elements indexed by the topology
+    private RouteTable[] tables = new RouteTable[0];
+    private MRAITimer[] timers = new MRAITimer[0];
+
+    // generation in which each table and timer was last reset or created
+    private int routerGeneration = 1;
+    private int[] tableGenerations = new int[0];
+    private int[] timerGenerations = new int[0];
+
+    // a link is turned off if it was turned off in the current generation
+    private int linkGeneration = 1;
+    private int[] turnedOffGenerations = new int[0];
+
+    // state of the elements not belonging to any topology
+    private final Map<Router, RouteTable> detachedTables = new HashMap<>();
+    private final Map<Router, MRAITimer> detachedTimers = new HashMap<>();
+    private final Set<Link> detachedTurnedOffLinks = new HashSet<>();
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates a new context notifying events through a new event notifier without any listeners.
+     */
+    public SimulationContext() {
+        this(new EventNotifier());
+    }
+
+    /**
+     * Creates a new context notifying events through the given event notifier.
+     *
+     * @param eventNotifier notifier used to notify the events of the simulation.
+     */
+    public SimulationContext(EventNotifier eventNotifier) {
+        this.eventNotifier = eventNotifier;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Returns the event notifier used to notify the events of the simulation.
+     *
+     * @return the event notifier used to notify the events of the simulation.
+     */
+    public EventNotifier getEventNotifier() {
+        return eventNotifier;
+    }
+
+    /**
+     * Returns the hash of the global state of the simulation. The protocol, the exporter and the engine
+     * update it as they change the state, but only while it is enabled.
+     *
+     * @return the hash of the global state of the simulation.
+     */
+    public StateHash getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Returns the route table of the given router in this context. The table is created empty the first
+     * time it is requested.
+     *
+     * @param router router to get route table for.
+     * @return the route table of the router.
+     */
+    public RouteTable getTable(Router router) {
+        int index = router.getIndex();
+
+        if (index < 0) {
+            return detachedTables.computeIfAbsent(router, key -> new RouteTable());
+        }
+
+        if (index >= tables.length) {
+            tables = Arrays.copyOf(tables, capacity(tables.length, index));
+            tableGenerations = Arrays.copyOf(tableGenerations, tables.length);
+        }
+
+        RouteTable table = tables[index];
+        if (table == null) {
+            table = new RouteTable(router.getSlotCount());
+            tables[index] = table;
+            tableGenerations[index] = routerGeneration;
+
+        } else if (tableGenerations[index] != routerGeneration) {
+            // the table was last used before the routers were reset
+            table.reset();
+            tableGenerations[index] = routerGeneration;
+        }
+
+        return table;
+    }
+
+    /**
+     * Returns the MRAI timer of the given router in this context. The timer is created, with the router's
+     * MRAI value, the first time it is requested.
+     *
+     * @param router router to get MRAI timer for.
+     * @return the MRAI timer of the router.
+     */
+    public MRAITimer getMRAITimer(Router router) {
+        int index = router.getIndex();
+
+        if (index < 0) {
+            return detachedTimers.computeIfAbsent(router, key -> new MRAITimer(key, key.getMRAI()));
+        }
+
+        if (index >= timers.length) {
+            timers = Arrays.copyOf(timers, capacity(timers.length, index));
+            timerGenerations = Arrays.copyOf(timerGenerations, timers.length);
+        }
+
+        MRAITimer timer = timers[index];
+        if (timer == null) {
+            timer = new MRAITimer(router, router.getMRAI());
+            timers[index] = timer;
+            timerGenerations[index] = routerGeneration;
+
+        } else if (timerGenerations[index] != routerGeneration) {
+            // the timer was last used before the routers were reset
+            resetTimer(timer);
+            timerGenerations[index] = routerGeneration;
+        }
+
+        return timer;
+    }
+
+    /**
+     * Checks if the link is turned off. By default all links are turned on.
+     *
+     * @param link link to check.
+     * @return true if the link is turned off and false otherwise.
+     */
+    public boolean isTurnedOff(Link link) {
+        int index = link.getIndex();
+
+        if (index < 0) {
+            return detachedTurnedOffLinks.contains(link);
+        }
+
+        return index < turnedOffGenerations.length && turnedOffGenerations[index] == linkGeneration;
+    }
+
+    /**
+     * Turns on or off the link. When a link is turned off the routes exported through it are considered
+     * invalid.
+     *
+     * @param link      link to turn on or off.
+     * @param turnedOff true to turn off and false to turn on.
+     */
+    public void setTurnedOff(Link link, boolean turnedOff) {
+        int index = link.getIndex();
+
+        if (stateHash.isEnabled() && isTurnedOff(link) != turnedOff) {
+            stateHash.turn(link, turnedOff);
+        }
+
+        if (index < 0) {
+            if (turnedOff) {
+                detachedTurnedOffLinks.add(link);
+            } else {
+                detachedTurnedOffLinks.remove(link);
+            }
+
+            return;
+        }
+
+        if (index >= turnedOffGenerations.length) {
+            int capacity = capacity(turnedOffGenerations.length, index);
+            turnedOffGenerations = Arrays.copyOf(turnedOffGenerations, capacity);
+        }
+
+        turnedOffGenerations[index] = turnedOff ? linkGeneration : 0;
+    }
+
+    /**
+     * Resets the state of all routers: clears their route tables and MRAI timers. The state of the links
+     * is kept. The tables and timers of the routers of a topology are cleared only when they are accessed
+     * again, which means this takes constant time.
+     */
+    public void resetRouters() {
+        routerGeneration++;
+
+        if (routerGeneration == Integer.MAX_VALUE) {
+            // generations are about to wrap around: clear everything now and start over
+            for (int index = 0; index < tables.length; index++) {
+                if (tables[index] != null) tables[index].reset();
+            }
+
+            for (int index = 0; index < timers.length; index++) {
+                if (timers[index] != null) resetTimer(timers[index]);
+            }
+
+            routerGeneration = 1;
+            Arrays.fill(tableGenerations, routerGeneration);
+            Arrays.fill(timerGenerations, routerGeneration);
+        }
+
+        detachedTables.clear();
+        detachedTimers.clear();
+        stateHash.resetRouters();
+    }
+
+    /**
+     * Turns on all links. This takes constant time for the links of a topology.
+     */
+    public void resetLinks() {
+        linkGeneration++;
+
+        if (linkGeneration == Integer.MAX_VALUE) {
+            // generations are about to wrap around: start over with all links turned on
+            linkGeneration = 1;
+            Arrays.fill(turnedOffGenerations, 0);
+        }
+
+        detachedTurnedOffLinks.clear();
+        stateHash.resetLinks();
+    }
+
+    /**
+     * Resets the state of all routers and links.
+     */
+    public void reset() {
+        resetRouters();
+        resetLinks();
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Clears the timer and updates it with the current MRAI value of its owner, since it might have
+     * changed since the timer was created.
+     */
+    private static void resetTimer(MRAITimer timer) {
+        timer.clear();
+        timer.setMRAI(timer.getOwner().getMRAI());
+    }
+
+    /**
+     * Returns the new capacity for an array that must be able to store the given index.
+     */
+    private static int capacity(int currentCapacity, int index) {
+        return Math.max(index + 1, currentCapacity * 2);
+    }
+
+}
@@ -0,0 +1,200 @@
+package core;
+
+import java.util.PriorityQueue;
+
+import static core.InvalidAttribute.invalidAttr;
+
+/**
+ * Computes the stable state a simulation converges to without simulating any message. This only works for
+ * monotone policies: policies where extending an attribute through any label never gives a more preferred
+ * attribute. This is the case of the shortest path policy with non-negative lengths and of the Gao-Rexford
+ * policy, but not of the siblings policy. For these policies, the stable state is unique up to ties between
+ * routes with the same attribute and path length, and it can be computed with a generalized Dijkstra's
+ * algorithm: routers are settled in order of preference of their routes and each router selects the best
+ * route among the routes exported by the routers settled before it.
+ *
+ * The engine may converge to any of the routes that tie for a router, depending on the order of the
+ * messages. The solver always picks the route learned from the neighbour with the lowest topology index.
+ *
+ * The solver writes the stable state to the route tables of a simulation context, as if the engine had
+ * simulated the destination. Links turned off in the context are not used, which allows computing the
+ * stable state after some links fail.
+ */
+public class StableStateSolver {
+
+    /**
+     * Route learned by the source of a link from the target of the link. Candidates are ordered by
+     * preference of their routes, ties going to the candidate learned from the target with the lowest index.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final Link link;
+        private final Route route;
+
+        private Candidate(Link link, Route route) {
+            this.link = link;
+            this.route = route;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int comparison = route.compareTo(other.route);
+            if (comparison != 0) return comparison;
+
+            // anycast destinations do not belong to the topology and have index -1
+            return Integer.compare(link.getTarget().getIndex(), other.link.getTarget().getIndex());
+        }
+
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Computes the stable state of the given topology for the given destination and stores it in the given
+     * context. Each router's route table ends up with the routes exported by its out-neighbours in the
+     * stable state and selects the route of the stable state. Routers without any route to the destination
+     * keep their tables empty.
+     *
+     * @param topology    topology to solve.
+     * @param destination destination to solve for.
+     * @param context     context where to store the stable state.
+     * @throws IllegalArgumentException if the policy of the topology is found not to be monotone.
+     */
+    public void solve(Topology topology, Destination destination, SimulationContext context) {
+        Router[] routers = new Router[topology.getRouters().size()];   // routers by index
+        for (Router router : topology.getRouters()) {
+            routers[router.getIndex()] = router;
+        }
+
+        int routerCount = routers.length;
+        Route[] selectedRoutes = new Route[routerCount];    // null until the router is settled
+        Link[] selectedLinks = new Link[routerCount];
+
+        Route selfRoute = Route.newSelfRoute(topology.getPolicy());
+        destination.setSelfRoute(context, selfRoute);
+
+        int destinationIndex = indexOf(destination, routers);
+        if (destinationIndex >= 0) {
+            selectedRoutes[destinationIndex] = selfRoute;
+        }
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        for (Link link : destination.getInLinks()) {
+            offer(candidates, context, link, selfRoute);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate candidate = candidates.poll();
+            int router = candidate.link.getSource().getIndex();
+
+            if (selectedRoutes[router] != null) {
+                continue;   // the router was settled with a route at least as good
+            }
+
+            selectedRoutes[router] = candidate.route;
+            selectedLinks[router] = candidate.link;
+
+            for (Link link : routers[router].getInLinks()) {
+                if (selectedRoutes[link.getSource().getIndex()] == null) {
+                    offer(candidates, context, link, candidate.route);
+                }
+            }
+        }
+
+        // the selected routes are stored first: the tables only replace them by strictly better routes
+        for (int router = 0; router < routerCount; router++) {
+            if (selectedLinks[router] != null) {
+                context.getTable(routers[router]).setRoute(selectedLinks[router], selectedRoutes[router]);
+            }
+        }
+
+        // then the routes learned from all other out-neighbours
+        if (destinationIndex < 0) {
+            for (Link link : destination.getInLinks()) {
+                storeLearnedRoute(context, link, selfRoute, selectedLinks);
+            }
+        }
+
+        for (int router = 0; router < routerCount; router++) {
+            if (selectedRoutes[router] == null) continue;
+
+            for (Link link : routers[router].getInLinks()) {
+                storeLearnedRoute(context, link, selectedRoutes[router], selectedLinks);
+            }
+        }
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private static void offer(PriorityQueue<Candidate> candidates, SimulationContext context, Link link,
+                              Route exportedRoute) {
+
+        Route route = learn(context, link, exportedRoute);
+        if (route != null) {
+            candidates.add(new Candidate(link, route));
+        }
+    }
+
+    private static void storeLearnedRoute(SimulationContext context, Link link, Route exportedRoute,
+                                          Link[] selectedLinks) {
+
+        Router router = link.getSource();
+        if (link == selectedLinks[router.getIndex()]) return;   // stored already
+
+        Route route = learn(context, link, exportedRoute);
+        if (route != null) {
+            context.getTable(router).setRoute(link, route);
+        }
+    }
+
+    /**
+     * Returns the route learned by the source of the link when the target exports the given route, the same
+     * way the protocol would. Returns null if the route is not learned: the link is turned off, the label
+     * does not extend the attribute, or the route would form a loop.
+     */
+    private static Route learn(SimulationContext context, Link link, Route exportedRoute) {
+
+        if (context.isTurnedOff(link)) {
+            return null;
+        }
+
+        Attribute attribute = link.getLabel().extend(link, exportedRoute.getAttribute());
+        if (attribute == invalidAttr() || exportedRoute.getPath().contains(link.getSource())) {
+            return null;
+        }
+
+        if (attribute.compareTo(exportedRoute.getAttribute()) < 0) {
+            throw new IllegalArgumentException(String.format("policy is not monotone: %s extends %s to %s",
+                    link, exportedRoute.getAttribute(), attribute));
+        }
+
+        Path path = Path.copy(exportedRoute.getPath());
+        path.add(link.getTarget());
+
+        return new Route(attribute, path);
+    }
+
+    /**
+     * Returns the index of the destination among the given routers or -1 if it is not one of them.
+     */
+    private static int indexOf(Destination destination, Router[] routers) {
+
+        if (destination instanceof Router) {
+            int index = ((Router) destination).getIndex();
+            if (index >= 0 && index < routers.length && routers[index] == destination) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+}
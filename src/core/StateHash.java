@@ -0,0 +1,182 @@
+package core;
+
+import static core.InvalidRoute.invalidRoute;
+
+/**
+ * Hash of the global state of a simulation, updated incrementally as the state changes. The state is given
+ * by the routes selected by the routers, the routes held by the MRAI timers to be exported when they
+ * expire, the routes in flight through each link, and the links turned off. The times at which messages
+ * arrive and timers expire are not part of the state, since they depend on the random delays.
+ *
+ * Each element of the state contributes a 64-bit term and the hash is the sum of all terms, in the spirit of
+ * Zobrist hashing. Since the sum does not depend on the order of the terms, adding or removing an element
+ * takes constant time and the same state always has the same hash, regardless of how it was reached. Using a
+ * sum instead of an exclusive or keeps the count of identical messages in flight through the same link.
+ * Paths contribute the hash code they cache, so the term of a route does not depend on the path length.
+ *
+ * The hash is only updated while it is enabled, which means it costs nothing to simulations that do not
+ * use it.
+ */
+public class StateHash {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // tags distinguishing the kinds of elements of the state
+    private static final long SELECTED = 1;
+    private static final long PENDING = 2;
+    private static final long IN_FLIGHT = 3;
+    private static final long TURNED_OFF = 4;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private boolean enabled = false;
+    private long routersHash = 0;   // selected routes, routes held by timers and routes in flight
+    private long linksHash = 0;     // links turned off
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Checks if the hash is being updated.
+     *
+     * @return true if the hash is being updated and false otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables updating the hash. The hash must be enabled while the state is still the initial
+     * state, otherwise it will not match the state.
+     *
+     * @param enabled true to update the hash or false to stop updating it.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the hash of the current state.
+     *
+     * @return the hash of the current state.
+     */
+    public long getValue() {
+        return routersHash + mix(linksHash + GOLDEN_GAMMA);
+    }
+
+    /**
+     * Updates the hash when a router changes its selected route.
+     *
+     * @param router        router selecting a new route.
+     * @param previousRoute route selected before.
+     * @param selectedRoute route selected now.
+     */
+    public void select(Router router, Route previousRoute, Route selectedRoute) {
+        if (!enabled) return;
+        // routers start without any selected route, which is the same as having selected the invalid route
+        routersHash += term(SELECTED, router.getId(), selectedRoute == invalidRoute() ? null : selectedRoute)
+                - term(SELECTED, router.getId(), previousRoute == invalidRoute() ? null : previousRoute);
+    }
+
+    /**
+     * Updates the hash when the route held by a router's MRAI timer changes.
+     *
+     * @param router        owner of the timer.
+     * @param previousRoute route held by the timer before or null if it held no route.
+     * @param route         route held by the timer now or null if it holds no route.
+     */
+    public void hold(Router router, Route previousRoute, Route route) {
+        if (!enabled) return;
+        routersHash += term(PENDING, router.getId(), route) - term(PENDING, router.getId(), previousRoute);
+    }
+
+    /**
+     * Updates the hash when a route is sent through a link.
+     *
+     * @param link  link traversed by the route.
+     * @param route route sent.
+     */
+    public void send(Link link, Route route) {
+        if (!enabled) return;
+        routersHash += term(IN_FLIGHT, linkKey(link), route);
+    }
+
+    /**
+     * Updates the hash when a route sent through a link arrives.
+     *
+     * @param link  link traversed by the route.
+     * @param route route that arrived.
+     */
+    public void deliver(Link link, Route route) {
+        if (!enabled) return;
+        routersHash -= term(IN_FLIGHT, linkKey(link), route);
+    }
+
+    /**
+     * Updates the hash when a link is turned off or on. Must only be called if the state of the link
+     * actually changes.
+     *
+     * @param link      link turned off or on.
+     * @param turnedOff true if the link was turned off and false if it was turned on.
+     */
+    public void turn(Link link, boolean turnedOff) {
+        if (!enabled) return;
+        long term = mix(TURNED_OFF * GOLDEN_GAMMA + mix(linkKey(link)));
+        linksHash += turnedOff ? term : -term;
+    }
+
+    /**
+     * Resets the part of the hash given by the routers and the routes in flight, keeping the links turned
+     * off.
+     */
+    public void resetRouters() {
+        routersHash = 0;
+    }
+
+    /**
+     * Resets the part of the hash given by the links turned off.
+     */
+    public void resetLinks() {
+        linksHash = 0;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Returns the term of an element of the state. Elements without a route contribute 0, which is the
+     * contribution they have in the initial state. The invalid route (a withdrawal) contributes the term of
+     * the element alone.
+     */
+    private static long term(long tag, long key, Route route) {
+        if (route == null) return 0;
+
+        long hash = mix(tag * GOLDEN_GAMMA + mix(key));
+        if (route == invalidRoute()) return hash;
+
+        hash = mix(hash + route.getAttribute().hashCode());
+        return mix(hash + route.getPath().size() * GOLDEN_GAMMA + route.getPath().hashCode());
+    }
+
+    private static long linkKey(Link link) {
+        return ((long) link.getSource().getId() << 32) | (link.getTarget().getId() & 0xFFFFFFFFL);
+    }
+
+    private static long mix(long value) {
+        // finalizer of the SplitMix64 generator
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+}
@@ -25,6 +25,7 @@ public final class Topology {
     private final Policy policy;
     private Protocol protocol;
     private final Map<Integer, Router> routers = new HashMap<>();
+    private int linkIndexCount = 0;     // number of link indexes assigned so far
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -150,14 +151,17 @@ public final class Topology {
 
     /**
      * Adds a router to the topology. If the router already exists in the topology it returns false,
-     * otherwise, it returns true.
+     * otherwise, it returns true. The router is assigned the next available router index.
      *
      * @param router router to be added to the topology.
      * @return true if the router was added or false if the router already existed.
      */
     public boolean addRouter(Router router) {
         boolean added = routers.putIfAbsent(router.getId(), router) == null;
-        if (added) router.setTopology(this);
+        if (added) {
+            router.setTopology(this);
+            router.setIndex(routers.size() - 1);
+        }
 
         return added;
     }
@@ -186,8 +190,7 @@ public final class Topology {
             throw new RouterNotFoundException(String.format("router with ID '%d' does not exist", invalidId));
         }
 
-        // link routers
-        targetRouter.addInNeighbor(sourceRouter, label);
+        addLink(sourceRouter, targetRouter, label);
     }
 
     /**
@@ -204,8 +207,24 @@ public final class Topology {
         addRouter(sourceRouter);    // ensure both routers belong to the topology
         addRouter(targetRouter);    // ensure both routers belong to the topology
 
-        // link routers
-        targetRouter.addInNeighbor(sourceRouter, label);
+        addLink(sourceRouter, targetRouter, label);
+    }
+
+    /**
+     * Links the two routers and assigns an index and a slot in the source router to the new link. A link
+     * replacing a previous one keeps the index and slot of the previous link.
+     */
+    private void addLink(Router sourceRouter, Router targetRouter, Label label) {
+        Link previousLink = targetRouter.getInLink(sourceRouter);
+        Link link = targetRouter.addInNeighbor(sourceRouter, label);
+
+        if (previousLink != null && previousLink.getIndex() >= 0) {
+            link.setIndex(previousLink.getIndex());
+            link.setSlot(previousLink.getSlot());
+        } else {
+            link.setIndex(linkIndexCount++);
+            link.setSlot(sourceRouter.nextSlot());
+        }
     }
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
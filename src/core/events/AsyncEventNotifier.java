@@ -0,0 +1,325 @@
+package core.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event notifier that delivers the events of each message (arrival, import, learn, select, export,
+ * advertisement and detect events) to the listeners in a separate consumer thread. The simulation thread
+ * only stores the event in a pre-allocated ring buffer and increments a sequence number. The consumer
+ * thread drains the buffer and delivers the events to the listeners in the same order they were notified.
+ *
+ * Start, terminate, threshold reached and end events are delivered in the simulation thread after all
+ * previous events were delivered, since listeners of these events may interact with the simulation (for
+ * instance, adding messages to the scheduler when the simulation terminates) or read the data collected by
+ * other listeners. The consumer thread is started by the start event and stops after the end event. Events
+ * notified outside of a simulation are delivered in the thread notifying them.
+ *
+ * When the buffer is full the simulation thread either waits for the consumer to free some space or drops
+ * the event, depending on the back-pressure policy. Listeners must be registered before the simulation
+ * starts and are called by a single consumer thread, so they do not need to be thread-safe.
+ */
+public class AsyncEventNotifier extends EventNotifier {
+
+    /**
+     * Defines what happens when an event is notified and the buffer is full.
+     */
+    public enum BackPressure {
+        BLOCK,      // the simulation thread waits for space in the buffer - no event is lost
+        DROP        // the event is discarded - use only for listeners that can miss events
+    }
+
+    // time to wait while the buffer is full or empty
+    private static final long WAIT_NANOS = 1000;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private final SimulationEvent[] buffer;
+    private final int mask;     // position of sequence s in the buffer is given by 's & mask'
+    private final BackPressure backPressure;
+
+    // sequence numbers of the last event published by the simulation thread and the last event delivered
+    // by the consumer thread - only the simulation thread writes the first and only the consumer the second
+    private final AtomicLong published = new AtomicLong(-1);
+    private final AtomicLong delivered = new AtomicLong(-1);
+
+    private volatile Thread consumer = null;
+    private volatile boolean running = false;
+    private volatile Throwable failure = null;  // first exception thrown by a listener in the consumer
+    private long droppedCount = 0;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates a new asynchronous event notifier with a buffer for at least the given number of events.
+     * The simulation thread waits when the buffer is full.
+     *
+     * @param capacity minimum number of events the buffer can hold.
+     */
+    public AsyncEventNotifier(int capacity) {
+        this(capacity, BackPressure.BLOCK);
+    }
+
+    /**
+     * Creates a new asynchronous event notifier with a buffer for at least the given number of events. The
+     * capacity is rounded up to a power of 2.
+     *
+     * @param capacity     minimum number of events the buffer can hold.
+     * @param backPressure what to do when an event is notified and the buffer is full.
+     */
+    public AsyncEventNotifier(int capacity, BackPressure backPressure) {
+
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: got " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+
+        this.buffer = new SimulationEvent[size];
+        this.mask = size - 1;
+        this.backPressure = backPressure;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     *
+     * @return the number of events dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Waits until all events notified so far were delivered to the listeners. If a listener threw an
+     * exception in the consumer thread, that exception is rethrown here.
+     */
+    public void flush() {
+        long last = published.get();
+
+        while (delivered.get() < last && consumer != null) {
+            checkFailure();
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+
+        checkFailure();
+    }
+
+    @Override
+    public void notifyStartEvent(StartEvent event) {
+        flush();
+        super.notifyStartEvent(event);
+        startConsumer();
+    }
+
+    @Override
+    public void notifyEndEvent(EndEvent event) {
+        flush();
+        stopConsumer();
+        super.notifyEndEvent(event);
+    }
+
+    @Override
+    public void notifyTerminateEvent(TerminateEvent event) {
+        flush();
+        super.notifyTerminateEvent(event);
+    }
+
+    @Override
+    public void notifyThresholdReachedEvent(ThresholdReachedEvent event) {
+        flush();
+        super.notifyThresholdReachedEvent(event);
+    }
+
+    @Override
+    public void notifyOscillationEvent(OscillationEvent event) {
+        flush();
+        super.notifyOscillationEvent(event);
+    }
+
+    @Override
+    public void notifyBudgetExceededEvent(BudgetExceededEvent event) {
+        flush();
+        super.notifyBudgetExceededEvent(event);
+    }
+
+    @Override
+    public void notifyArrivalEvent(ArrivalEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void notifyImportEvent(ImportEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void notifyLearnEvent(LearnEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void notifySelectEvent(SelectEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void notifyExportEvent(ExportEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void notifyAdvertisementEvent(AdvertisementEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void notifyDetectEvent(DetectEvent event) {
+        publish(event);
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Stores the event in the buffer to be delivered by the consumer thread. If the consumer is not running
+     * the event is delivered right away.
+     */
+    private void publish(SimulationEvent event) {
+
+        if (consumer == null) {
+            deliver(event);
+            return;
+        }
+
+        long sequence = published.get() + 1;
+        while (sequence - delivered.get() > buffer.length) {
+            // the buffer is full
+            if (backPressure == BackPressure.DROP) {
+                droppedCount++;
+                return;
+            }
+
+            checkFailure();
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+
+        buffer[(int) sequence & mask] = event;
+        published.lazySet(sequence);    // makes the event visible to the consumer
+    }
+
+    /**
+     * Delivers the events in the buffer until the consumer is stopped and the buffer is empty.
+     */
+    private void consume() {
+        long sequence = delivered.get();
+
+        while (running || sequence < published.get()) {
+            long last = published.get();
+
+            if (sequence == last) {
+                LockSupport.parkNanos(WAIT_NANOS);
+                continue;
+            }
+
+            while (sequence < last) {
+                sequence++;
+
+                int position = (int) sequence & mask;
+                SimulationEvent event = buffer[position];
+                buffer[position] = null;    // do not keep the event alive
+
+                try {
+                    if (failure == null) deliver(event);
+                } catch (RuntimeException | Error e) {
+                    failure = e;
+                }
+
+                delivered.lazySet(sequence);
+            }
+        }
+    }
+
+    /**
+     * Delivers the event to the listeners of its type.
+     */
+    private void deliver(SimulationEvent event) {
+
+        if (event instanceof ExportEvent) {
+            super.notifyExportEvent((ExportEvent) event);
+        } else if (event instanceof ArrivalEvent) {
+            super.notifyArrivalEvent((ArrivalEvent) event);
+        } else if (event instanceof ImportEvent) {
+            super.notifyImportEvent((ImportEvent) event);
+        } else if (event instanceof LearnEvent) {
+            super.notifyLearnEvent((LearnEvent) event);
+        } else if (event instanceof SelectEvent) {
+            super.notifySelectEvent((SelectEvent) event);
+        } else if (event instanceof AdvertisementEvent) {
+            super.notifyAdvertisementEvent((AdvertisementEvent) event);
+        } else if (event instanceof DetectEvent) {
+            super.notifyDetectEvent((DetectEvent) event);
+        } else {
+            throw new IllegalArgumentException("event can not be delivered asynchronously: " + event);
+        }
+    }
+
+    private void startConsumer() {
+        if (consumer != null) return;   // the previous simulation did not end
+
+        running = true;
+        Thread thread = new Thread(this::consume, "event-consumer");
+        thread.setDaemon(true);
+        thread.start();
+        consumer = thread;
+    }
+
+    private void stopConsumer() {
+        Thread thread = consumer;
+        if (thread == null) return;
+
+        running = false;
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        consumer = null;
+        checkFailure();
+    }
+
+    /**
+     * Rethrows the exception thrown by a listener in the consumer thread, if any.
+     */
+    private void checkFailure() {
+        Throwable throwable = failure;
+        if (throwable == null) return;
+
+        failure = null;
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        } else {
+            throw (RuntimeException) throwable;
+        }
+    }
+
+}
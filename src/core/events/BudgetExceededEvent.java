@@ -0,0 +1,64 @@
+package core.events;
+
+/**
+ * Budget exceeded events are generated when a simulation uses up one of its budgets: the number of
+ * messages processed, the wall-clock time spent or the growth of the heap. The simulation is aborted right
+ * after the event.
+ */
+public class BudgetExceededEvent extends AbstractSimulationEvent {
+
+    /**
+     * Budgets that can be assigned to a simulation.
+     */
+    public enum Budget {
+        MESSAGES("Messages"), WALL_TIME("Wall Time"), HEAP("Heap");
+
+        private final String label;
+
+        Budget(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Budget budget;
+    private final long limit;
+
+    public BudgetExceededEvent(int time, Budget budget, long limit) {
+        super(time);
+        this.budget = budget;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the budget that was exceeded.
+     *
+     * @return the budget that was exceeded.
+     */
+    public Budget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the limit of the exceeded budget: a number of messages, milliseconds or bytes, depending on the
+     * budget.
+     *
+     * @return the limit of the exceeded budget.
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetExceededEvent{" +
+                "budget=" + budget +
+                ", limit=" + limit +
+                '}';
+    }
+
+}
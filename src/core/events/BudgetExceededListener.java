@@ -0,0 +1,17 @@
+package core.events;
+
+/**
+ * Listener interface for receiving budget exceeded events. The class that is interested in processing a
+ * budget exceeded event implements this interface, and the object created with that class is registered
+ * with a component, using the component's addBudgetExceededListener method. When the budget exceeded event
+ * occurs, that object's onBudgetExceeded() method is invoked.
+ */
+public interface BudgetExceededListener extends SimulationEventListener {
+
+    /**
+     * Invoked when a budget exceeded event occurs.
+     *
+     * @param event budget exceeded event that occurred.
+     */
+    void onBudgetExceeded(BudgetExceededEvent event);
+}
@@ -5,15 +5,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * The event notifier is a singleton class that is used to notify registered listeners of simulation
- * events. Listeners should register to receive notifications of occurring events. Any component can use
- * the notifier to notify an event.
+ * The event notifier is used to notify registered listeners of simulation events. Listeners should register
+ * to receive notifications of occurring events. Any component can use the notifier to notify an event.
+ * There is no global notifier: each simulation context owns its notifier, which is passed to the protocol
+ * and the exporter through the context. Simulations running at the same time use different contexts, and
+ * therefore their listeners and events never mix. A notifier is not meant to be shared between threads.
  */
 public class EventNotifier {
 
-    // single instance of teh notifier
-    private static final EventNotifier NOTIFIER = new EventNotifier();
-
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Lists with the registered listeners. There is one list for each type of event.
@@ -31,6 +30,8 @@ public class EventNotifier {
     private List<DetectListener> detectListeners = new ArrayList<>();
     private List<TerminateListener> terminateListeners = new ArrayList<>();
     private List<ThresholdReachedListener> thresholdReachedListeners = new ArrayList<>();
+    private List<OscillationListener> oscillationListeners = new ArrayList<>();
+    private List<BudgetExceededListener> budgetExceededListeners = new ArrayList<>();
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -38,16 +39,10 @@ public class EventNotifier {
      *
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
-    private EventNotifier() { } // use factory method!
-
     /**
-     * Gives access to the event notifier.
-     *
-     * @return the event notifier.
+     * Creates a new event notifier without any registered listeners.
      */
-    public static EventNotifier eventNotifier() {
-        return NOTIFIER;
-    }
+    public EventNotifier() { }
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -87,6 +82,16 @@ public class EventNotifier {
         remove(startListeners, listener);
     }
 
+    /**
+     * Checks if there is any start listener registered. Components should check this before creating
+     * a start event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one start listener registered and false otherwise.
+     */
+    public boolean hasStartListeners() {
+        return !startListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a start event  by invoking their onStarted() method.
      *
@@ -121,6 +126,16 @@ public class EventNotifier {
         remove(endListeners, listener);
     }
 
+    /**
+     * Checks if there is any end listener registered. Components should check this before creating
+     * an end event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one end listener registered and false otherwise.
+     */
+    public boolean hasEndListeners() {
+        return !endListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a end event  by invoking their onEnded() method.
      *
@@ -155,6 +170,16 @@ public class EventNotifier {
         remove(arrivalListeners, listener);
     }
 
+    /**
+     * Checks if there is any arrival listener registered. Components should check this before creating
+     * an arrival event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one arrival listener registered and false otherwise.
+     */
+    public boolean hasArrivalListeners() {
+        return !arrivalListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a import event  by invoking their onArrival() method.
      *
@@ -189,6 +214,16 @@ public class EventNotifier {
         remove(importListeners, listener);
     }
 
+    /**
+     * Checks if there is any import listener registered. Components should check this before creating
+     * an import event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one import listener registered and false otherwise.
+     */
+    public boolean hasImportListeners() {
+        return !importListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a import event  by invoking their onImported() method.
      *
@@ -223,6 +258,16 @@ public class EventNotifier {
         remove(learnListeners, listener);
     }
 
+    /**
+     * Checks if there is any learn listener registered. Components should check this before creating
+     * a learn event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one learn listener registered and false otherwise.
+     */
+    public boolean hasLearnListeners() {
+        return !learnListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a learn event  by invoking their onLearned() method.
      *
@@ -257,6 +302,16 @@ public class EventNotifier {
         remove(selectListeners, listener);
     }
 
+    /**
+     * Checks if there is any select listener registered. Components should check this before creating
+     * a select event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one select listener registered and false otherwise.
+     */
+    public boolean hasSelectListeners() {
+        return !selectListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a select event  by invoking their onSelected() method.
      *
@@ -291,6 +346,16 @@ public class EventNotifier {
         remove(exportListeners, listener);
     }
 
+    /**
+     * Checks if there is any export listener registered. Components should check this before creating
+     * an export event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one export listener registered and false otherwise.
+     */
+    public boolean hasExportListeners() {
+        return !exportListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a export event  by invoking their onExported() method.
      *
@@ -325,6 +390,16 @@ public class EventNotifier {
         remove(advertisementListeners, listener);
     }
 
+    /**
+     * Checks if there is any advertisement listener registered. Components should check this before creating
+     * an advertisement event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one advertisement listener registered and false otherwise.
+     */
+    public boolean hasAdvertisementListeners() {
+        return !advertisementListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a advertisement event  by invoking their onAdvertised() method.
      *
@@ -359,6 +434,16 @@ public class EventNotifier {
         remove(detectListeners, listener);
     }
 
+    /**
+     * Checks if there is any detect listener registered. Components should check this before creating
+     * a detect event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one detect listener registered and false otherwise.
+     */
+    public boolean hasDetectListeners() {
+        return !detectListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a detect event  by invoking their onDetected() method.
      *
@@ -393,6 +478,16 @@ public class EventNotifier {
         remove(terminateListeners, listener);
     }
 
+    /**
+     * Checks if there is any terminate listener registered. Components should check this before creating
+     * a terminate event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one terminate listener registered and false otherwise.
+     */
+    public boolean hasTerminateListeners() {
+        return !terminateListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a terminate event  by invoking their onTerminated() method.
      *
@@ -427,6 +522,16 @@ public class EventNotifier {
         remove(thresholdReachedListeners, listener);
     }
 
+    /**
+     * Checks if there is any threshold reached listener registered. Components should check this before creating
+     * a threshold reached event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one threshold reached listener registered and false otherwise.
+     */
+    public boolean hasThresholdReachedListeners() {
+        return !thresholdReachedListeners.isEmpty();
+    }
+
     /**
      * Notifies all registered listeners of a threshold reached event  by invoking their onThresholdReached() method.
      *
@@ -437,6 +542,95 @@ public class EventNotifier {
         thresholdReachedListeners.forEach(listener -> listener.onThresholdReached(event));
     }
 
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Oscillation Event
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Registers a new oscillation listener.
+     *
+     * @param listener oscillation listener to register.
+     */
+    public void addOscillationListener(OscillationListener listener) {
+        add(oscillationListeners, listener);
+    }
+
+    /**
+     * Unregisters a new oscillation listener.
+     *
+     * @param listener oscillation listener to unregister.
+     */
+    public void removeOscillationListener(OscillationListener listener) {
+        remove(oscillationListeners, listener);
+    }
+
+    /**
+     * Checks if there is any oscillation listener registered. Components should check this before creating
+     * an oscillation event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one oscillation listener registered and false otherwise.
+     */
+    public boolean hasOscillationListeners() {
+        return !oscillationListeners.isEmpty();
+    }
+
+    /**
+     * Notifies all registered listeners of an oscillation event by invoking their onOscillation() method.
+     *
+     * @param event event to notify.
+     */
+    public void notifyOscillationEvent(OscillationEvent event) {
+        // events are immutable so the same event object can be passed to all listeners
+        oscillationListeners.forEach(listener -> listener.onOscillation(event));
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Budget Exceeded Event
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Registers a new budget exceeded listener.
+     *
+     * @param listener budget exceeded listener to register.
+     */
+    public void addBudgetExceededListener(BudgetExceededListener listener) {
+        add(budgetExceededListeners, listener);
+    }
+
+    /**
+     * Unregisters a new budget exceeded listener.
+     *
+     * @param listener budget exceeded listener to unregister.
+     */
+    public void removeBudgetExceededListener(BudgetExceededListener listener) {
+        remove(budgetExceededListeners, listener);
+    }
+
+    /**
+     * Checks if there is any budget exceeded listener registered. Components should check this before
+     * creating a budget exceeded event, to avoid creating events that no listener consumes.
+     *
+     * @return true if there is at least one budget exceeded listener registered and false otherwise.
+     */
+    public boolean hasBudgetExceededListeners() {
+        return !budgetExceededListeners.isEmpty();
+    }
+
+    /**
+     * Notifies all registered listeners of a budget exceeded event by invoking their onBudgetExceeded()
+     * method.
+     *
+     * @param event event to notify.
+     */
+    public void notifyBudgetExceededEvent(BudgetExceededEvent event) {
+        // events are immutable so the same event object can be passed to all listeners
+        budgetExceededListeners.forEach(listener -> listener.onBudgetExceeded(event));
+    }
+
     /**
      * Removes all listeners from the event notifier.
      */
@@ -452,6 +646,8 @@ public class EventNotifier {
         detectListeners.clear();
         terminateListeners.clear();
         thresholdReachedListeners.clear();
+        oscillationListeners.clear();
+        budgetExceededListeners.clear();
     }
 
 }
@@ -0,0 +1,44 @@
+package core.events;
+
+/**
+ * Oscillation events are generated when the global state of the simulation repeats at a checkpoint as many
+ * times as allowed. The protocol is then considered to be oscillating and the simulation stops.
+ */
+public class OscillationEvent extends AbstractSimulationEvent {
+
+    private final int firstTime;
+    private final long stateHash;
+
+    public OscillationEvent(int time, int firstTime, long stateHash) {
+        super(time);
+        this.firstTime = firstTime;
+        this.stateHash = stateHash;
+    }
+
+    /**
+     * Returns the time of the first checkpoint at which the repeated state was recorded.
+     *
+     * @return the time of the first checkpoint at which the repeated state was recorded.
+     */
+    public int getFirstTime() {
+        return firstTime;
+    }
+
+    /**
+     * Returns the hash of the repeated state.
+     *
+     * @return the hash of the repeated state.
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    @Override
+    public String toString() {
+        return "OscillationEvent{" +
+                "firstTime=" + firstTime +
+                ", stateHash=" + stateHash +
+                '}';
+    }
+
+}
@@ -0,0 +1,17 @@
+package core.events;
+
+/**
+ * Listener interface for receiving oscillation events. The class that is interested in processing an
+ * oscillation event implements this interface, and the object created with that class is registered with a
+ * component, using the component's addOscillationListener method. When the oscillation event occurs, that
+ * object's onOscillation() method is invoked.
+ */
+public interface OscillationListener extends SimulationEventListener {
+
+    /**
+     * Invoked when an oscillation event occurs.
+     *
+     * @param event oscillation event that occurred.
+     */
+    void onOscillation(OscillationEvent event);
+}
@@ -19,6 +19,16 @@ public class StartEvent extends AbstractSimulationEvent {
         seed = scheduler.getSeed();
     }
 
+    /**
+     * Creates a start event with the given seed. Used to re-create start events of previous simulations.
+     *
+     * @param seed seed used for the simulation instance or null if there is no seed available.
+     */
+    public StartEvent(int time, Long seed) {
+        super(time);
+        this.seed = seed;
+    }
+
     /**
      * Returns the seed used for the started simulation instance if the simulation uses random delays, otherwise the
      * returned value is null.
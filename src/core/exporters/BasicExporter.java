@@ -2,13 +2,12 @@ package core.exporters;
 
 import core.*;
 import core.events.AdvertisementEvent;
+import core.events.EventNotifier;
 import core.events.ExportEvent;
 import core.schedulers.Scheduler;
 
 import java.util.Collection;
 
-import static core.events.EventNotifier.eventNotifier;
-
 
 /**
  * Basic implementation of an exporter.
@@ -39,19 +38,21 @@ public class BasicExporter implements Exporter {
     /**
      * Exports the given message. The message arrival time must be the current time.
      *
+     * @param context           simulation context holding the state of the routers.
      * @param exportingRouter   router exporting the route.
      * @param route             route to export.
      * @param currentTime       current simulation time.
      */
     @Override
-    public void export(Router exportingRouter, Route route, int currentTime) {
-        MRAITimer timer = exportingRouter.getMRAITimer();
+    public void export(SimulationContext context, Router exportingRouter, Route route, int currentTime) {
+        MRAITimer timer = context.getMRAITimer(exportingRouter);
 
         if (timer.isEnabled()) {
+            context.getStateHash().hold(exportingRouter, timer.getExportRoute(), route);
             timer.setExportRoute(route);
 
         } else {
-            exportToNeighbors(exportingRouter, route, currentTime);
+            exportToNeighbors(context, exportingRouter, route, currentTime);
 
             // set a timer
             timer.reset(currentTime);
@@ -63,51 +64,61 @@ public class BasicExporter implements Exporter {
     /**
      * Exports the self route for the given destination to all of its in-neighbors.
      *
+     * @param context     simulation context holding the state of the routers.
      * @param destination destination to export self routes for.
      * @param policy      policy used to get the self route.
      */
     @Override
-    public void export(Destination destination, Policy policy) {
+    public void export(SimulationContext context, Destination destination, Policy policy) {
         Route selfRoute = Route.newSelfRoute(policy);
-        destination.setSelfRoute(selfRoute);
+        destination.setSelfRoute(context, selfRoute);
 
-        destination.getInLinks().forEach(link -> export(link, selfRoute, 0));
+        destination.getInLinks().forEach(link -> export(context, link, selfRoute, 0));
     }
 
     /**
      * Takes a collection of timers and exports the route associated with the timer to all
      * neighbors of the owner of the timer.
      *
-     * @param timers collection with the timers to export.
+     * @param context   simulation context holding the state of the routers.
+     * @param timers    collection with the timers to export.
      */
     @Override
-    public void export(Collection<MRAITimer> timers) {
+    public void export(SimulationContext context, Collection<MRAITimer> timers) {
 
         for (MRAITimer timer : timers) {
             // after expiring, the timer is disabled
             timer.setEnabled(false);
 
             if (timer.hasExportableRoute()) {
-                export(timer.getOwner(), timer.getExportRoute(), timer.getExpirationTime());
+                context.getStateHash().hold(timer.getOwner(), timer.getExportRoute(), null);
+                export(context, timer.getOwner(), timer.getExportRoute(), timer.getExpirationTime());
             }
         }
     }
 
-    protected void exportToNeighbors(Router exportingRouter, Route route, int exportTime) {
+    protected void exportToNeighbors(SimulationContext context, Router exportingRouter, Route route,
+                                     int exportTime) {
 
         for (Link link : exportingRouter.getInLinks()) {
-            export(link, route, exportTime);
+            export(context, link, route, exportTime);
         }
 
-        eventNotifier().notifyAdvertisementEvent(new AdvertisementEvent(exportTime,
-                exportingRouter, route));
+        EventNotifier eventNotifier = context.getEventNotifier();
+        if (eventNotifier.hasAdvertisementListeners()) {
+            eventNotifier.notifyAdvertisementEvent(new AdvertisementEvent(exportTime, exportingRouter, route));
+        }
     }
 
-    protected void export(Link exportLink, Route route, int exportTime) {
+    protected void export(SimulationContext context, Link exportLink, Route route, int exportTime) {
         // add the route to the scheduler with the given export time
-        scheduler.schedule(new Message(exportTime, exportLink, route));
+        scheduler.schedule(exportTime, exportLink, route);
+        context.getStateHash().send(exportLink, route);
 
-        eventNotifier().notifyExportEvent(new ExportEvent(exportTime, exportLink, route));
+        EventNotifier eventNotifier = context.getEventNotifier();
+        if (eventNotifier.hasExportListeners()) {
+            eventNotifier.notifyExportEvent(new ExportEvent(exportTime, exportLink, route));
+        }
     }
 
 }
@@ -22,25 +22,28 @@ public interface Exporter {
      * Exports the given message. This consists of exporting a message to all of the in-neighbors of the
      * target router of the message.
      *
+     * @param context           simulation context holding the state of the routers.
      * @param exportingRouter   router exporting the route.
      * @param route             route to export.
      * @param currentTime       current simulation time.
      */
-    void export(Router exportingRouter, Route route, int currentTime);
+    void export(SimulationContext context, Router exportingRouter, Route route, int currentTime);
 
     /**
      * Exports the self route for the given destination to all of its in-neighbors.
      *
+     * @param context       simulation context holding the state of the routers.
      * @param destination   destination to export self routes for.
      * @param policy        policy used to get the self route.
      */
-    void export(Destination destination, Policy policy);
+    void export(SimulationContext context, Destination destination, Policy policy);
 
     /**
      * Takes a collection of timers and exports the route associated with the timer to all
      * neighbors of the owner of the timer.
      *
-     * @param timers collection with the timers to export.
+     * @param context   simulation context holding the state of the routers.
+     * @param timers    collection with the timers to export.
      */
-    void export(Collection<MRAITimer> timers);
+    void export(SimulationContext context, Collection<MRAITimer> timers);
 }
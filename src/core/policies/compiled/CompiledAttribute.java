@@ -0,0 +1,86 @@
+package core.policies.compiled;
+
+import core.Attribute;
+
+import static core.InvalidAttribute.invalidAttr;
+
+/**
+ * Attribute of a compiled policy. Wraps an attribute of the original policy. Attributes of the compiled
+ * domain are interned by their policy, while the others get a new wrapper every time they are created.
+ *
+ * Attributes in the domain enumerated when the policy was compiled have an ID, which indexes the extension
+ * tables of the compiled labels, and a rank, which gives their preference order. Comparing two of them
+ * compares their ranks. Attributes outside the domain have neither and are compared using the original
+ * attributes.
+ */
+public final class CompiledAttribute implements Attribute {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int NONE = -1;     // ID and rank of attributes outside the compiled domain
+
+    private final Attribute base;
+    final int id;
+    final int rank;
+
+    CompiledAttribute(Attribute base, int id, int rank) {
+        this.base = base;
+        this.id = id;
+        this.rank = rank;
+    }
+
+    /**
+     * Returns the attribute of the original policy.
+     *
+     * @return the attribute of the original policy.
+     */
+    public Attribute getBase() {
+        return base;
+    }
+
+    /**
+     * Compares the attributes using their ranks if both belong to the compiled domain, or using the
+     * original attributes otherwise. The invalid attribute is less preferable than any compiled attribute.
+     */
+    @Override
+    public int compareTo(Attribute attribute) {
+        if (attribute == invalidAttr()) return -1;
+
+        CompiledAttribute other = (CompiledAttribute) attribute;
+        if (rank != NONE && other.rank != NONE) {
+            return rank - other.rank;
+        }
+
+        return base.compareTo(other.base);
+    }
+
+    /**
+     * Two compiled attributes are equal if their original attributes are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof CompiledAttribute)) return false;
+
+        return base.equals(((CompiledAttribute) other).base);
+    }
+
+    @Override
+    public int hashCode() {
+        return base.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return base.toString();
+    }
+
+    /**
+     * Compiled attributes are serialized as their original attributes, since IDs and ranks are only valid
+     * for the policy that compiled them.
+     */
+    private Object writeReplace() {
+        return base;
+    }
+
+}
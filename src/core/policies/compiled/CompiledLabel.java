@@ -0,0 +1,82 @@
+package core.policies.compiled;
+
+import core.Attribute;
+import core.Label;
+import core.Link;
+
+import static core.InvalidAttribute.invalidAttr;
+
+/**
+ * Label of a compiled policy. Wraps a label of the original policy. Once the policy is compiled, the label
+ * holds a table with the ID of the extension of each attribute of the compiled domain, which means that
+ * extending those attributes is an array load. Other attributes are extended with the original label and
+ * wrapped by the policy.
+ */
+public final class CompiledLabel implements Label {
+
+    static final int INVALID = -1;          // the extension is the invalid attribute
+    static final int NOT_COMPILED = -2;     // the extension is outside the compiled domain
+
+    private final Label base;
+    private final CompiledPolicy policy;
+
+    // ID of the extension of each attribute of the compiled domain indexed by attribute ID
+    private int[] extensions = new int[0];
+
+    CompiledLabel(Label base, CompiledPolicy policy) {
+        this.base = base;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the label of the original policy.
+     *
+     * @return the label of the original policy.
+     */
+    public Label getBase() {
+        return base;
+    }
+
+    @Override
+    public Attribute extend(Link link, Attribute attribute) {
+        if (attribute == invalidAttr()) return invalidAttr();
+
+        CompiledAttribute compiledAttribute = (CompiledAttribute) attribute;
+        int id = compiledAttribute.id;
+
+        if (id >= 0 && id < extensions.length) {
+            int extension = extensions[id];
+
+            if (extension >= 0) return policy.getAttribute(extension);
+            if (extension == INVALID) return invalidAttr();
+        }
+
+        return policy.intern(base.extend(link, compiledAttribute.getBase()));
+    }
+
+    /**
+     * Two compiled labels are equal if their original labels are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof CompiledLabel)) return false;
+
+        return base.equals(((CompiledLabel) other).base);
+    }
+
+    @Override
+    public int hashCode() {
+        return base.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return base.toString();
+    }
+
+    void setExtensions(int[] extensions) {
+        this.extensions = extensions;
+    }
+
+}
@@ -0,0 +1,280 @@
+package core.policies.compiled;
+
+import core.Attribute;
+import core.Label;
+import core.Policy;
+import io.topologyreaders.exceptions.InvalidPolicyTagException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static core.InvalidAttribute.invalidAttr;
+
+/**
+ * Wraps a policy and compiles its labels and attributes into dense lookup tables. The labels are created as
+ * usual while the topology is read. Compiling the policy afterwards enumerates the attributes reachable
+ * from the self attribute through those labels, assigns each attribute an ID and a rank, and gives each
+ * label a table with the extension of every enumerated attribute. Extending an enumerated attribute is then
+ * an array load and comparing two of them compares two integers.
+ *
+ * The enumeration stops once the domain reaches a limit, which bounds the tables of policies with an
+ * unbounded domain, such as the shortest path lengths or the sibling hop counts. Attributes outside the
+ * domain still work: they are extended with the original labels and compared with the original attributes.
+ * They are wrapped every time they are created and never kept by the policy, since simulations may create
+ * any number of them.
+ *
+ * Compiling assumes the extension of an attribute only depends on the label and not on the link being
+ * traversed, which holds for all policies of the simulator. Labels are extended without any link while
+ * compiling. If a label fails without the link, the policy is left uncompiled, or that label is, if it was
+ * created after compiling.
+ *
+ * Compiling only pays off for policies with expensive labels, such as the siblings policy. The Gao-Rexford
+ * and Peer+ labels are table-driven already and are faster without compiling, and the shortest path policy
+ * gains nothing from it. Topology readers only compile policies when asked to. See
+ * PolicyCompilationBenchmark in the benchmarks to compare both for each policy.
+ */
+public class CompiledPolicy implements Policy {
+
+    // maximum number of attributes to enumerate
+    private static final int MAX_DOMAIN_SIZE = 1 << 12;
+    // maximum number of entries of all extension tables combined
+    private static final int MAX_TABLE_ENTRIES = 1 << 20;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private final Policy base;
+
+    // labels created so far indexed by their original labels
+    private final Map<Label, CompiledLabel> labels = new LinkedHashMap<>();
+
+    // attributes of the compiled domain indexed by their original attributes - read during simulations
+    private final Map<Attribute, CompiledAttribute> attributes = new ConcurrentHashMap<>();
+
+    // attributes of the compiled domain indexed by ID
+    private CompiledAttribute[] domain = new CompiledAttribute[0];
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates a compiled policy wrapping the given policy. The policy is not compiled until compile() is
+     * called.
+     *
+     * @param base policy to wrap.
+     */
+    public CompiledPolicy(Policy base) {
+        this.base = base;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Returns the wrapped policy.
+     *
+     * @return the wrapped policy.
+     */
+    public Policy getBase() {
+        return base;
+    }
+
+    /**
+     * Returns the number of attributes in the compiled domain.
+     *
+     * @return the number of attributes in the compiled domain or 0 if the policy was not compiled.
+     */
+    public int getDomainSize() {
+        return domain.length;
+    }
+
+    @Override
+    public Attribute createSelf() {
+        return intern(base.createSelf());
+    }
+
+    /**
+     * Creates a label using the wrapped policy. Equal labels of the wrapped policy share the same compiled
+     * label. Labels created after compiling the policy are compiled right away, unless they fail to extend
+     * attributes without a link.
+     */
+    @Override
+    public synchronized Label createLabel(String tag) throws InvalidPolicyTagException {
+        Label label = base.createLabel(tag);
+
+        CompiledLabel compiledLabel = labels.get(label);
+        if (compiledLabel == null) {
+            compiledLabel = new CompiledLabel(label, this);
+
+            try {
+                compiledLabel.setExtensions(extensions(label, indexByBase(domain)));
+            } catch (RuntimeException e) {
+                // the label needs the link: it extends every attribute with the original label
+            }
+
+            labels.put(label, compiledLabel);
+        }
+
+        return compiledLabel;
+    }
+
+    /**
+     * Compiles the labels created so far. Should be called once all labels of the topology are created and
+     * before simulating, since attributes created before are not compiled. Leaves the policy uncompiled if
+     * any label fails to extend an attribute without a link.
+     */
+    public synchronized void compile() {
+        int limit = Math.min(MAX_DOMAIN_SIZE, MAX_TABLE_ENTRIES / Math.max(1, labels.size()));
+        compile(Math.max(1, limit));
+    }
+
+    /**
+     * Returns a string with the name of the wrapped policy.
+     *
+     * @return the name of the wrapped policy.
+     */
+    @Override
+    public String toString() {
+        return base.toString();
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Package Interface - used by the compiled labels
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Compiles the labels created so far, enumerating at most the given number of attributes.
+     */
+    synchronized void compile(int maxDomainSize) {
+
+        // enumerate the domain in breadth-first order: attributes closer to the self attribute come first
+        List<Attribute> enumerated = new ArrayList<>();
+        Map<Attribute, Integer> ids = new HashMap<>();
+        enumerated.add(base.createSelf());
+        ids.put(enumerated.get(0), 0);
+
+        Map<CompiledLabel, int[]> tables = new HashMap<>();
+        try {
+            for (int next = 0; next < enumerated.size() && enumerated.size() < maxDomainSize; next++) {
+                for (Label label : labels.keySet()) {
+                    Attribute extension = label.extend(null, enumerated.get(next));
+
+                    if (extension != invalidAttr() && !ids.containsKey(extension)
+                            && enumerated.size() < maxDomainSize) {
+                        ids.put(extension, enumerated.size());
+                        enumerated.add(extension);
+                    }
+                }
+            }
+
+            for (CompiledLabel label : labels.values()) {
+                tables.put(label, extensions(label.getBase(), ids));
+            }
+
+        } catch (RuntimeException e) {
+            // some label needs the link to extend attributes: the policy is left as it was
+            return;
+        }
+
+        // equally preferred attributes get the same rank
+        Integer[] order = new Integer[enumerated.size()];
+        for (int id = 0; id < order.length; id++) {
+            order[id] = id;
+        }
+        Arrays.sort(order, Comparator.comparing(enumerated::get));
+
+        int[] ranks = new int[order.length];
+        for (int i = 1; i < order.length; i++) {
+            int comparison = enumerated.get(order[i]).compareTo(enumerated.get(order[i - 1]));
+            ranks[order[i]] = ranks[order[i - 1]] + (comparison == 0 ? 0 : 1);
+        }
+
+        attributes.clear();
+        CompiledAttribute[] compiledDomain = new CompiledAttribute[enumerated.size()];
+        for (int id = 0; id < compiledDomain.length; id++) {
+            compiledDomain[id] = new CompiledAttribute(enumerated.get(id), id, ranks[id]);
+            attributes.put(enumerated.get(id), compiledDomain[id]);
+        }
+
+        for (Map.Entry<CompiledLabel, int[]> entry : tables.entrySet()) {
+            entry.getKey().setExtensions(entry.getValue());
+        }
+
+        domain = compiledDomain;
+    }
+
+    /**
+     * Returns the attribute of the compiled domain with the given ID.
+     */
+    CompiledAttribute getAttribute(int id) {
+        return domain[id];
+    }
+
+    /**
+     * Returns the compiled attribute of the given original attribute. Attributes outside the compiled domain
+     * are wrapped in a new compiled attribute, which the policy does not keep. The invalid attribute is not
+     * wrapped.
+     */
+    Attribute intern(Attribute attribute) {
+        if (attribute == invalidAttr()) return invalidAttr();
+
+        CompiledAttribute compiledAttribute = attributes.get(attribute);
+        if (compiledAttribute == null) {
+            return new CompiledAttribute(attribute, CompiledAttribute.NONE, CompiledAttribute.NONE);
+        }
+
+        return compiledAttribute;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Returns the extension table of the given label over the domain with the given IDs.
+     */
+    private int[] extensions(Label label, Map<Attribute, Integer> ids) {
+        int[] extensions = new int[ids.size()];
+
+        for (Map.Entry<Attribute, Integer> entry : ids.entrySet()) {
+            Attribute extension = label.extend(null, entry.getKey());
+
+            if (extension == invalidAttr()) {
+                extensions[entry.getValue()] = CompiledLabel.INVALID;
+            } else {
+                extensions[entry.getValue()] = ids.getOrDefault(extension, CompiledLabel.NOT_COMPILED);
+            }
+        }
+
+        return extensions;
+    }
+
+    private static Map<Attribute, Integer> indexByBase(CompiledAttribute[] domain) {
+        Map<Attribute, Integer> ids = new HashMap<>();
+        for (CompiledAttribute attribute : domain) {
+            ids.put(attribute.getBase(), attribute.id);
+        }
+
+        return ids;
+    }
+
+}
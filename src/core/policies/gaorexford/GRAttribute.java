@@ -8,11 +8,17 @@ import static core.InvalidAttribute.invalidAttr;
  * The GR attribute implements the attributes for the Gao-Rexford routing policy.
  * Each attribute is implemented as using a single instance.
  *
+ * Each attribute carries a rank, the ordinal of its value, and the labels extend attributes by looking up
+ * ranks in a table. Routes still hold the attribute instances and are processed by the generic protocol:
+ * there is no separate engine for Gao-Rexford routes.
+ *
  * Implementation note: GRAttribute was suppose to be an enum, however, due to the type conflict between the
  * Comparable interface implemented by the enum type and the attribute interface.
  */
 public class GRAttribute implements Attribute {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * This dictates the possible values of each attribute. The order with which the values are defined
      * defines the comparison order of the attribute values. For instance, a peer attribute is greater than
@@ -27,6 +33,9 @@ public class GRAttribute implements Attribute {
 
     final Value value;  // value assigned to the attribute
 
+    // rank of the attribute: the ordinal of its value - comparing ranks is cheaper than comparing values
+    final byte rank;
+
     // Attribute instances - For each attribute (self, customer, peer, provider) an unique instance is
     // created and assigned the respective value
     private static final Attribute SELF = new GRAttribute(Value.Self);
@@ -34,9 +43,16 @@ public class GRAttribute implements Attribute {
     private static final Attribute PEER = new GRAttribute(Value.Peer);
     private static final Attribute PROVIDER = new GRAttribute(Value.Provider);
 
+    // rank given to the invalid attribute in extension tables - it is below every valid attribute
+    static final byte INVALID_RANK = (byte) Value.values().length;
+
+    // attribute instances indexed by rank, including the invalid attribute
+    private static final Attribute[] BY_RANK = {SELF, CUSTOMER, PEER, PROVIDER, invalidAttr()};
+
     // use the factory methods to create each attribute instance
     private GRAttribute(Value value) {
         this.value = value;
+        this.rank = (byte) value.ordinal();
     }
 
     /**
@@ -71,6 +87,26 @@ public class GRAttribute implements Attribute {
         return PROVIDER;
     }
 
+    /**
+     * Returns the attribute with the given rank. The invalid rank maps to the invalid attribute.
+     *
+     * @param rank rank of the attribute.
+     * @return the attribute with the given rank.
+     */
+    static Attribute ofRank(int rank) {
+        return BY_RANK[rank];
+    }
+
+    /**
+     * Returns the rank of the given attribute or the invalid rank if the attribute is invalid.
+     *
+     * @param attribute attribute to get rank for.
+     * @return the rank of the attribute.
+     */
+    static byte rankOf(Attribute attribute) {
+        return attribute == invalidAttr() ? INVALID_RANK : ((GRAttribute) attribute).rank;
+    }
+
     /**
      * Compares the attributes according to the order defined in the Value enum type. It also supports
      * comparing to invalid attributes. If the given attribute is invalid then it returns an negative value
@@ -84,8 +120,7 @@ public class GRAttribute implements Attribute {
     public int compareTo(Attribute attribute) {
         if (attribute == invalidAttr()) return -1;
 
-        GRAttribute other = (GRAttribute) attribute;
-        return value.compareTo(other.value);
+        return rank - ((GRAttribute) attribute).rank;
     }
 
     @Override
@@ -93,12 +128,19 @@ public class GRAttribute implements Attribute {
         if (!(other instanceof GRAttribute)) return false;
 
         GRAttribute otherAttribute = (GRAttribute) other;
-        return other != invalidAttr() && value.equals(otherAttribute.value);
+        return other != invalidAttr() && rank == otherAttribute.rank;
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return rank;
+    }
+
+    /**
+     * Keeps a single instance of each attribute when attributes are deserialized.
+     */
+    private Object readResolve() {
+        return ofRank(rank);
     }
 
 }
@@ -5,8 +5,6 @@ import core.Label;
 import core.Link;
 import core.policies.gaorexford.GRAttribute.*;
 
-import java.util.EnumMap;
-
 import static core.InvalidAttribute.invalidAttr;
 import static core.policies.gaorexford.GRAttribute.*;
 
@@ -16,15 +14,17 @@ public enum GRLabel implements Label {
     Peer(peer(), peer(), invalidAttr(), invalidAttr()),
     Provider(provider(), provider(), provider(), provider());
 
-    private final EnumMap<GRAttribute.Value, Attribute> map = new EnumMap<>(GRAttribute.Value.class);
+    // rank of the extended attribute indexed by the rank of the attribute being extended
+    private final byte[] extensions;
 
     GRLabel(Attribute selfMapValue, Attribute customerMapValue, Attribute peerMapValue,
             Attribute providerValue) {
 
-        map.put(Value.Self, selfMapValue);
-        map.put(Value.Customer, customerMapValue);
-        map.put(Value.Peer, peerMapValue);
-        map.put(Value.Provider, providerValue);
+        extensions = new byte[Value.values().length];
+        extensions[Value.Self.ordinal()] = rankOf(selfMapValue);
+        extensions[Value.Customer.ordinal()] = rankOf(customerMapValue);
+        extensions[Value.Peer.ordinal()] = rankOf(peerMapValue);
+        extensions[Value.Provider.ordinal()] = rankOf(providerValue);
     }
 
     public static Label customerLabel() {
@@ -43,8 +43,7 @@ public enum GRLabel implements Label {
     public Attribute extend(Link link, Attribute attribute) {
         if (attribute == invalidAttr()) return invalidAttr();
 
-        GRAttribute gaoRexfordAttribute = (GRAttribute) attribute;
-        return map.getOrDefault(gaoRexfordAttribute.value, invalidAttr());
+        return ofRank(extensions[((GRAttribute) attribute).rank]);
     }
 
 }
@@ -8,12 +8,16 @@ import static core.InvalidAttribute.invalidAttr;
  * The Peer+ attribute implements the attributes for the Peer+ routing policy.
  * Each attribute is implemented as using a single instance.
  *
+ * Attributes are compared by rank, the ordinal of their values, and the Peer+ labels map ranks to ranks.
+ *
  * Implementation note: PeerPlusAttribute was suppose to be an enum, however, due to the type conflict between
  * the
  * Comparable interface implemented by the enum type and the attribute interface.
  */
 public class PeerPlusAttribute implements Attribute {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * This dictates the possible values of each attribute. The order with which the values are defined
      * defines the comparison order of the attribute values. For instance, a peer attribute is greater than
@@ -54,6 +58,9 @@ public class PeerPlusAttribute implements Attribute {
 
     final Value value;  // value assigned to the attribute
 
+    // rank of the attribute: the ordinal of its value - comparing ranks is cheaper than comparing values
+    final byte rank;
+
     // Attribute instances - For each attribute (self, customer, peer, provider) an unique instance is
     // created and assigned the respective value
     private static final Attribute SELF = new PeerPlusAttribute(Value.Self);
@@ -62,9 +69,16 @@ public class PeerPlusAttribute implements Attribute {
     private static final Attribute PEER = new PeerPlusAttribute(Value.Peer);
     private static final Attribute PROVIDER = new PeerPlusAttribute(Value.Provider);
 
+    // rank given to the invalid attribute in extension tables - it is below every valid attribute
+    static final byte INVALID_RANK = (byte) Value.values().length;
+
+    // attribute instances indexed by rank, including the invalid attribute
+    private static final Attribute[] BY_RANK = {SELF, PEERPLUS, CUSTOMER, PEER, PROVIDER, invalidAttr()};
+
     // use the factory methods to create each attribute instance
     private PeerPlusAttribute(Value value) {
         this.value = value;
+        this.rank = (byte) value.ordinal();
     }
 
     /**
@@ -107,6 +121,26 @@ public class PeerPlusAttribute implements Attribute {
         return PROVIDER;
     }
 
+    /**
+     * Returns the attribute with the given rank. The invalid rank maps to the invalid attribute.
+     *
+     * @param rank rank of the attribute.
+     * @return the attribute with the given rank.
+     */
+    static Attribute ofRank(int rank) {
+        return BY_RANK[rank];
+    }
+
+    /**
+     * Returns the rank of the given attribute or the invalid rank if the attribute is invalid.
+     *
+     * @param attribute attribute to get rank for.
+     * @return the rank of the attribute.
+     */
+    static byte rankOf(Attribute attribute) {
+        return attribute == invalidAttr() ? INVALID_RANK : ((PeerPlusAttribute) attribute).rank;
+    }
+
     /**
      * Compares the attributes according to the order defined in the Value enum type. It also supports
      * comparing to invalid attributes. If the given attribute is invalid then it returns an negative value
@@ -120,8 +154,7 @@ public class PeerPlusAttribute implements Attribute {
     public int compareTo(Attribute attribute) {
         if (attribute == invalidAttr()) return -1;
 
-        PeerPlusAttribute other = (PeerPlusAttribute) attribute;
-        return value.compareTo(other.value);
+        return rank - ((PeerPlusAttribute) attribute).rank;
     }
 
     @Override
@@ -129,12 +162,12 @@ public class PeerPlusAttribute implements Attribute {
         if (!(other instanceof PeerPlusAttribute)) return false;
 
         PeerPlusAttribute otherAttribute = (PeerPlusAttribute) other;
-        return other != invalidAttr() && value.equals(otherAttribute.value);
+        return other != invalidAttr() && rank == otherAttribute.rank;
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return rank;
     }
 
     @Override
@@ -142,4 +175,11 @@ public class PeerPlusAttribute implements Attribute {
         return value.toString();
     }
 
+    /**
+     * Keeps a single instance of each attribute when attributes are deserialized.
+     */
+    private Object readResolve() {
+        return ofRank(rank);
+    }
+
 }
@@ -5,8 +5,6 @@ import core.Label;
 import core.Link;
 import core.policies.peerplus.PeerPlusAttribute.*;
 
-import java.util.EnumMap;
-
 import static core.InvalidAttribute.invalidAttr;
 import static core.policies.peerplus.PeerPlusAttribute.*;
 
@@ -17,16 +15,18 @@ public enum PeerPlusLabel implements Label {
     Peer(peer(), peer(), peer(), invalidAttr(), invalidAttr()),
     Provider(provider(), provider(), provider(), provider(), provider());
 
-    private final EnumMap<Value, Attribute> map = new EnumMap<>(Value.class);
+    // rank of the extended attribute indexed by the rank of the attribute being extended
+    private final byte[] extensions;
 
     PeerPlusLabel(Attribute selfMapValue, Attribute peerplusMapValue, Attribute customerMapValue,
                   Attribute peerMapValue, Attribute providerValue) {
 
-        map.put(Value.Self, selfMapValue);
-        map.put(Value.PeerPlus, peerplusMapValue);
-        map.put(Value.Customer, customerMapValue);
-        map.put(Value.Peer, peerMapValue);
-        map.put(Value.Provider, providerValue);
+        extensions = new byte[Value.values().length];
+        extensions[Value.Self.ordinal()] = rankOf(selfMapValue);
+        extensions[Value.PeerPlus.ordinal()] = rankOf(peerplusMapValue);
+        extensions[Value.Customer.ordinal()] = rankOf(customerMapValue);
+        extensions[Value.Peer.ordinal()] = rankOf(peerMapValue);
+        extensions[Value.Provider.ordinal()] = rankOf(providerValue);
     }
 
     public static Label peerplusLabel() {
@@ -49,8 +49,7 @@ public enum PeerPlusLabel implements Label {
     public Attribute extend(Link link, Attribute attribute) {
         if (attribute == invalidAttr()) return invalidAttr();
 
-        PeerPlusAttribute peerplusAttribute = (PeerPlusAttribute) attribute;
-        return map.get(peerplusAttribute.value);
+        return ofRank(extensions[((PeerPlusAttribute) attribute).rank]);
     }
 
 }
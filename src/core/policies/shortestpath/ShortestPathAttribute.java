@@ -9,6 +9,8 @@ import core.InvalidAttribute;
  */
 public class ShortestPathAttribute implements Attribute {
 
+    private static final long serialVersionUID = 1L;
+
     private int length;
 
     /**
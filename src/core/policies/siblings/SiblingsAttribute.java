@@ -6,6 +6,8 @@ import core.policies.gaorexford.GRAttribute;
 
 public class SiblingsAttribute implements Attribute {
 
+    private static final long serialVersionUID = 1L;
+
     final Attribute attribute;
     final int hopCount;   // number of sibling hops
 
@@ -26,36 +26,49 @@ public class SSBGPProtocol implements Protocol {
     /**
      * Processes a message that arrives at the given router.
      *
+     * @param context  simulation context holding the state of the routers and links.
      * @param message  message to process.
      * @param exporter exporter used to export a route.
      */
     @Override
-    public final void process(Message message, Exporter exporter) {
+    public final void process(SimulationContext context, Message message, Exporter exporter) {
         int time = message.getArrivalTime();
         Link link = message.getTraversedLink();
+        EventNotifier eventNotifier = context.getEventNotifier();
 
-        EventNotifier.eventNotifier().notifyArrivalEvent(new ArrivalEvent(time, message.getRoute(), link));
+        // events are only created when there is some listener for them
+        if (eventNotifier.hasArrivalListeners()) {
+            eventNotifier.notifyArrivalEvent(new ArrivalEvent(time, message.getRoute(), link));
+        }
 
-        Route importedRoute = importRoute(message.getRoute(), link);
-        EventNotifier.eventNotifier().notifyImportEvent(new ImportEvent(time, importedRoute, link));
+        Route importedRoute = importRoute(context, message.getRoute(), link);
+        if (eventNotifier.hasImportListeners()) {
+            eventNotifier.notifyImportEvent(new ImportEvent(time, importedRoute, link));
+        }
 
-        Route learnedRoute = learn(link, importedRoute, time);
-        EventNotifier.eventNotifier().notifyLearnEvent(new LearnEvent(time, link, learnedRoute));
+        Route learnedRoute = learn(context, link, importedRoute, time);
+        if (eventNotifier.hasLearnListeners()) {
+            eventNotifier.notifyLearnEvent(new LearnEvent(time, link, learnedRoute));
+        }
 
         Router router = link.getSource();
+        RouteTable table = context.getTable(router);
 
         // store the previously selected route
-        Route previousSelectedRoute = router.getTable().getSelectedRoute();
+        Route previousSelectedRoute = table.getSelectedRoute();
 
-        router.getTable().setRoute(link.getTarget(), learnedRoute);
+        table.setRoute(link, learnedRoute);
 
-        if (router.getTable().selectedNewRoute()) { // checks if the selected route changed
-            Route newSelectedRoute = router.getTable().getSelectedRoute();
+        if (table.selectedNewRoute()) { // checks if the selected route changed
+            Route newSelectedRoute = table.getSelectedRoute();
+            context.getStateHash().select(router, previousSelectedRoute, newSelectedRoute);
 
-            EventNotifier.eventNotifier().notifySelectEvent(
-                    new SelectEvent(time, router, previousSelectedRoute, newSelectedRoute));
+            if (eventNotifier.hasSelectListeners()) {
+                eventNotifier.notifySelectEvent(
+                        new SelectEvent(time, router, previousSelectedRoute, newSelectedRoute));
+            }
 
-            exporter.export(router, newSelectedRoute, time);
+            exporter.export(context, router, newSelectedRoute, time);
         }
 
     }
@@ -63,11 +76,14 @@ public class SSBGPProtocol implements Protocol {
     /**
      * Imports the route received from the given link. This is the first step in the 'process' execution.
      *
+     * @param context   simulation context holding the state of the links.
+     * @param route     route received.
+     * @param link      link from which the route was received.
      * @return the imported route.
      */
-    public Route importRoute(Route route, Link link) {
+    public Route importRoute(SimulationContext context, Route route, Link link) {
 
-        if (link.isTurnedOff()) {
+        if (context.isTurnedOff(link)) {
             return InvalidRoute.invalidRoute();
         }
 
@@ -90,12 +106,13 @@ public class SSBGPProtocol implements Protocol {
      * If so, then it turns the link off. If the route does not constitute a loop then it returns the same
      * route as the imported route.
      *
+     * @param context       simulation context holding the state of the routers and links.
      * @param link          link from which the route was received.
      * @param importedRoute imported route.
      * @param currentTime   arrival time of the processed message.
      * @return an invalid route if detected a loop or the imported route if did not detect a loop.
      */
-    public Route learn(Link link, Route importedRoute, int currentTime) {
+    public Route learn(SimulationContext context, Link link, Route importedRoute, int currentTime) {
         Router learningRouter = link.getSource();
         Route learnedRoute = importedRoute;
 
@@ -103,13 +120,16 @@ public class SSBGPProtocol implements Protocol {
             // detected a loop
 
             // select the best route learned from all out-neighbours except the exporting neighbors
-            Route alternativeRoute = learningRouter.getTable().getAlternativeRoute(link.getTarget());
+            Route alternativeRoute = context.getTable(learningRouter).getAlternativeRoute(link);
 
             if (learningRouter.getDetection().isPolicyConflict(link, importedRoute, alternativeRoute)) {
-                link.setTurnedOff(true);
+                context.setTurnedOff(link, true);
 
-                EventNotifier.eventNotifier().notifyDetectEvent(
-                        new DetectEvent(currentTime, link, importedRoute, alternativeRoute));
+                EventNotifier eventNotifier = context.getEventNotifier();
+                if (eventNotifier.hasDetectListeners()) {
+                    eventNotifier.notifyDetectEvent(
+                            new DetectEvent(currentTime, link, importedRoute, alternativeRoute));
+                }
             }
 
             learnedRoute = InvalidRoute.invalidRoute();
@@ -1,12 +1,11 @@
 package core.schedulers;
 
+import core.Link;
 import core.MRAITimer;
 import core.Message;
+import core.Route;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.PriorityQueue;
+import java.util.*;
 
 /**
  * Implements some of the common operations of the scheduler that are the same for most scheduler
@@ -14,19 +13,40 @@ import java.util.PriorityQueue;
  */
 public abstract class AbstractScheduler implements Scheduler {
 
-    // The priority queue is used to schedule the messages using their arrival times to
+    // The message queue is used to schedule the messages using their arrival times to
     // define the priority of the messages. Messages with lower arrival times have higher priority.
-    private final PriorityQueue<Message> queue = new PriorityQueue<>();
+    private final MessageQueue queue;
 
-    // priority queue to schedule timers - timers are scheduled based on their expiration time
-    private final PriorityQueue<MRAITimer> timerQueue = new PriorityQueue<>((o1, o2) -> {
-        int comparison = o1.getExpirationTime() - o2.getExpirationTime();
-        if (comparison == 0) {
-            comparison = o1.getOwner().getId() - o2.getOwner().getId();
-        }
+    // contents of the messages in the queue, which only stores their handles
+    private final MessagePool messages = new MessagePool();
+    private final Message deliveredMessage = new Message(0, null, null);  // reused for all messages
+
+    // timing wheel to schedule timers - timers are scheduled based on their expiration time
+    private final TimerWheel timers = new TimerWheel();
 
-        return comparison;
-    });
+    // stores the arrival time of the last message sent through each link
+    // links belonging to a topology are looked up by index, the others (anycast destination links) by key
+    // an arrival time set before the last clear has a stale generation and reads as 0
+    private int[] lastArrivalTimes = new int[0];
+    private int[] lastArrivalGenerations = new int[0];
+    private int arrivalGeneration = 1;
+    private final Map<Link, Integer> detachedLastArrivalTimes = new HashMap<>();
+
+    /**
+     * Creates a scheduler storing the messages in a heap.
+     */
+    protected AbstractScheduler() {
+        this(new HeapMessageQueue());
+    }
+
+    /**
+     * Creates a scheduler storing the messages in the given message queue.
+     *
+     * @param queue queue where to store the messages.
+     */
+    protected AbstractScheduler(MessageQueue queue) {
+        this.queue = queue;
+    }
 
     /**
      * Adds a new message to the scheduler. The time of the message should correspond to the time at which
@@ -39,15 +59,21 @@ public abstract class AbstractScheduler implements Scheduler {
      */
     @Override
     public void schedule(Message message) {
-        int arrivalTimeWithDelay = message.getArrivalTime() + delay();
-        int lastMessageArrivalTime = message.getTraversedLink().getLastArrivalTime();
-
-        // the message must arrive after the last message sent through the same link
-        int messagesArrivalTime = Integer.max(arrivalTimeWithDelay, lastMessageArrivalTime + 1);
-        message.setArrivalTime(messagesArrivalTime);
-        message.getTraversedLink().setLastArrivalTime(messagesArrivalTime);
+        int arrivalTime = enqueue(message.getArrivalTime(), message.getTraversedLink(), message.getRoute());
+        message.setArrivalTime(arrivalTime);
+    }
 
-        queue.offer(message);
+    /**
+     * Adds a new message to the scheduler without creating a message object. Works exactly like
+     * schedule(Message).
+     *
+     * @param time  time at which the message is sent.
+     * @param link  link traversed by the message.
+     * @param route route carried by the message.
+     */
+    @Override
+    public void schedule(int time, Link link, Route route) {
+        enqueue(time, link, route);
     }
 
     /**
@@ -58,18 +84,27 @@ public abstract class AbstractScheduler implements Scheduler {
      */
     @Override
     public void schedule(MRAITimer timer) {
-        timerQueue.offer(timer);
+        timers.add(timer);
     }
 
     /**
      * Returns the next message in the scheduler. If the scheduler contains no more message then null is
      * returned.
      *
+     * The returned message object is reused by the next call to this method.
+     *
      * @return the next message in the scheduler or null if there is no messages.
      */
     @Override
     public Message nextMessage() {
-        return queue.poll();
+        int arrivalTime = queue.peekArrivalTime();
+        int message = queue.poll();
+        if (message == MessageQueue.NONE) return null;
+
+        deliveredMessage.set(arrivalTime, messages.getLink(message), messages.getRoute(message));
+        messages.remove(message);
+
+        return deliveredMessage;
     }
 
     /**
@@ -89,24 +124,17 @@ public abstract class AbstractScheduler implements Scheduler {
      * The scheduler keeps a list of all timers that expire while time progresses. When the
      * current time reaches the expiration time of a timer, this timer is put on a list. This
      * list is the one returned by this method. After calling this method the list is cleared.
+     * <p>
+     * The returned collection is a view reused by the next call to this method.
      *
      * @return collection with all the timers that have expired since the construction of the
      * scheduler or the last time this method was called.
      */
     @Override
     public Collection<MRAITimer> getExpiredTimers() {
-        List<MRAITimer> expiredTimers = new ArrayList<>();
-
-        int currentTime = getTime();
-
-        MRAITimer timer = timerQueue.peek();
-        while (timer != null && timer.hasExpired(currentTime)) {
-            expiredTimers.add(timer);
-            timerQueue.poll();  // remove the expired timer from the queue
-            timer = timerQueue.peek();  // move to the next timer in the queue
-        }
-
-        return expiredTimers;
+        // the earliest expiration time is cached by the wheel: this is a single comparison when no timer
+        // has expired, which is the case for almost all messages
+        return timers.expire(getTime());
     }
 
     /**
@@ -119,24 +147,26 @@ public abstract class AbstractScheduler implements Scheduler {
     public int getTime() {
 
         // look into the the next message without removing it from the queue
-        Message message = queue.peek();
-
-        if (message == null) {
-            // the scheduler is empty
-            return Integer.MAX_VALUE;
-        } else {
-            return message.getArrivalTime();
-        }
-
+        // if the scheduler is empty this is Integer.MAX_VALUE
+        return queue.peekArrivalTime();
     }
 
     /**
-     * Clears all messages from the scheduler.
+     * Clears all messages from the scheduler and the arrival times of the links.
      */
     @Override
     public void clear() {
         queue.clear();
-        timerQueue.clear();
+        messages.clear();
+        deliveredMessage.set(0, null, null);
+        timers.clear();
+        detachedLastArrivalTimes.clear();
+
+        if (++arrivalGeneration == Integer.MAX_VALUE) {
+            // generations are about to wrap around: clear the stamps now and start over
+            Arrays.fill(lastArrivalGenerations, 0);
+            arrivalGeneration = 1;
+        }
     }
 
     /**
@@ -155,4 +185,76 @@ public abstract class AbstractScheduler implements Scheduler {
      */
     protected abstract int delay();
 
+    /**
+     * Returns the delay of a message sent through the given link. Subclasses may override this method to
+     * generate delays that depend on the link. By default, it returns the value of delay().
+     *
+     * @param link link traversed by the message.
+     * @return delay of the message.
+     */
+    protected int delay(Link link) {
+        return delay();
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Stores a message in the queue with the arrival time given by the delay and the link's last arrival
+     * time and returns that arrival time.
+     */
+    private int enqueue(int time, Link link, Route route) {
+        int arrivalTimeWithDelay = time + delay(link);
+        int lastMessageArrivalTime = getLastArrivalTime(link);
+
+        // the message must arrive after the last message sent through the same link
+        int messagesArrivalTime = Integer.max(arrivalTimeWithDelay, lastMessageArrivalTime + 1);
+        setLastArrivalTime(link, messagesArrivalTime);
+
+        queue.offer(messagesArrivalTime, messages.add(link, route), link);
+        return messagesArrivalTime;
+    }
+
+    /**
+     * Returns the arrival time of the last message sent through the given link. If no message was sent
+     * through the link it returns 0.
+     */
+    private int getLastArrivalTime(Link link) {
+        int index = link.getIndex();
+
+        if (index < 0) {
+            return detachedLastArrivalTimes.getOrDefault(link, 0);
+        }
+
+        if (index >= lastArrivalTimes.length || lastArrivalGenerations[index] != arrivalGeneration) {
+            return 0;
+        }
+
+        return lastArrivalTimes[index];
+    }
+
+    /**
+     * Sets the arrival time of the last message sent through the given link.
+     */
+    private void setLastArrivalTime(Link link, int arrivalTime) {
+        int index = link.getIndex();
+
+        if (index < 0) {
+            detachedLastArrivalTimes.put(link, arrivalTime);
+            return;
+        }
+
+        if (index >= lastArrivalTimes.length) {
+            int capacity = Math.max(index + 1, lastArrivalTimes.length * 2);
+            lastArrivalTimes = Arrays.copyOf(lastArrivalTimes, capacity);
+            lastArrivalGenerations = Arrays.copyOf(lastArrivalGenerations, capacity);
+        }
+
+        lastArrivalTimes[index] = arrivalTime;
+        lastArrivalGenerations[index] = arrivalGeneration;
+    }
+
 }
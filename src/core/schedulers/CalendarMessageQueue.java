@@ -0,0 +1,204 @@
+package core.schedulers;
+
+import core.Link;
+
+import java.util.Arrays;
+
+/**
+ * Message queue based on a calendar of buckets, one for each unit of time. Arrival times are integers and
+ * messages are almost always scheduled a short time after the current time: the arrival time of the last
+ * message polled. Therefore, messages arriving at most bucketCount - 1 units of time after the current time
+ * are stored directly in the bucket of their arrival time, which takes constant time. The current time only
+ * moves forward, which means that polling messages takes amortized constant time.
+ *
+ * Messages arriving later are kept in a heap until the current time moves close enough to their arrival
+ * times. Then, they are moved to their buckets before any other message can be offered to those buckets.
+ * Each message is moved at most once. Messages arriving before the current time, which a scheduler never
+ * offers, are kept in a second heap and come out before all others.
+ *
+ * Messages with the same arrival time come out in the same order they were offered to the buckets. Messages
+ * moved from the heap come out before those offered directly to the same bucket. Each bucket is a linked
+ * list of message handles, linked through an array indexed by handle.
+ */
+public class CalendarMessageQueue implements MessageQueue {
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    // first and last message of each bucket
+    private final int[] heads;
+    private final int[] tails;
+    private final int mask;             // bucket of a time is given by 'time & mask'
+
+    // message following each message in its bucket, indexed by message handle
+    private int[] next = new int[16];
+
+    // all messages in the buckets have arrival times in the interval [currentTime, currentTime + heads.length)
+    private int currentTime = 0;
+    private int firstTime = 0;          // no message in the buckets arrives before this time
+    private int bucketedCount = 0;      // number of messages stored in the buckets
+
+    // messages arriving after the buckets' interval and messages arriving before the current time
+    private final HeapMessageQueue late = new HeapMessageQueue();
+    private final HeapMessageQueue early = new HeapMessageQueue();
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates a new calendar queue with at least the given number of buckets. The number of buckets is
+     * rounded up to a power of 2.
+     *
+     * @param bucketCount minimum number of buckets.
+     */
+    public CalendarMessageQueue(int bucketCount) {
+
+        if (bucketCount < 1 || bucketCount > (1 << 30)) {
+            throw new IllegalArgumentException("bucket count must be between 1 and 2^30: got " + bucketCount);
+        }
+
+        int capacity = Integer.highestOneBit(bucketCount);
+        if (capacity < bucketCount) capacity <<= 1;
+
+        heads = new int[capacity];
+        tails = new int[capacity];
+        Arrays.fill(heads, NONE);
+        mask = capacity - 1;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    @Override
+    public void offer(int arrivalTime, int message, Link link) {
+
+        if (bucketedCount == 0 && early.isEmpty()) {
+            // the buckets are empty: the interval can start at any time
+            moveTo(Math.min(arrivalTime, late.peekArrivalTime()));
+        }
+
+        if (arrivalTime < currentTime) {
+            early.offer(arrivalTime, message, link);
+
+        } else if ((long) arrivalTime - currentTime < heads.length) {
+            append(arrivalTime & mask, message);
+            bucketedCount++;
+            firstTime = Math.min(firstTime, arrivalTime);
+
+        } else {
+            late.offer(arrivalTime, message, link);
+        }
+    }
+
+    @Override
+    public int poll() {
+
+        if (!early.isEmpty()) {
+            return early.poll();
+        }
+
+        if (bucketedCount == 0) {
+            if (late.isEmpty()) return NONE;
+
+            moveTo(late.peekArrivalTime());
+        }
+
+        // the first message in the buckets is the first of the queue: it arrives at the new current time
+        int bucket = seekFirstTime() & mask;
+        int message = heads[bucket];
+
+        heads[bucket] = next[message];
+        bucketedCount--;
+        moveTo(firstTime);
+
+        return message;
+    }
+
+    @Override
+    public int peekArrivalTime() {
+
+        if (!early.isEmpty()) {
+            return early.peekArrivalTime();
+        }
+
+        return bucketedCount > 0 ? seekFirstTime() : late.peekArrivalTime();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bucketedCount == 0 && late.isEmpty() && early.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(heads, NONE);
+        late.clear();
+        early.clear();
+        bucketedCount = 0;
+        currentTime = 0;
+        firstTime = 0;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Adds a message to the end of the given bucket.
+     */
+    private void append(int bucket, int message) {
+        if (message >= next.length) {
+            next = Arrays.copyOf(next, Math.max(message + 1, next.length * 2));
+        }
+
+        next[message] = NONE;
+        if (heads[bucket] == NONE) {
+            heads[bucket] = message;
+        } else {
+            next[tails[bucket]] = message;
+        }
+        tails[bucket] = message;
+    }
+
+    /**
+     * Returns the arrival time of the first message in the buckets, which must not be empty. The time is
+     * kept to start the next search from it.
+     */
+    private int seekFirstTime() {
+        while (heads[firstTime & mask] == NONE) {
+            firstTime++;
+        }
+
+        return firstTime;
+    }
+
+    /**
+     * Moves the current time to the given time and moves the messages arriving in the new interval of the
+     * buckets from the heap to their buckets. The buckets must not have any message arriving before the
+     * given time. The heap keeps messages in arrival time order, which means that the messages moved to a
+     * bucket arrive there before any message offered to it afterwards.
+     */
+    private void moveTo(int time) {
+        if (bucketedCount == 0) firstTime = time;
+        currentTime = time;
+
+        while (!late.isEmpty() && (long) late.peekArrivalTime() - currentTime < heads.length) {
+            int arrivalTime = late.peekArrivalTime();
+            append(arrivalTime & mask, late.poll());
+            bucketedCount++;
+            firstTime = Math.min(firstTime, arrivalTime);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package core.schedulers;
+
+/**
+ * Random scheduler that stores its messages in a calendar queue instead of a heap. Delays are generated in
+ * the same way as in the RandomScheduler. Scheduling and polling messages take amortized constant time.
+ * Messages arriving at the same time are delivered in the order they were scheduled, which means that, for
+ * the same seed, the simulation results may differ from those obtained with the RandomScheduler.
+ */
+public class CalendarScheduler extends RandomScheduler {
+
+    // minimum number of buckets in the calendar queue
+    private static final int MIN_BUCKET_COUNT = 64;
+
+    /**
+     * Constructs a CalendarScheduler by assigning it a minimum and maximum delay for the messages.
+     *
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     */
+    public CalendarScheduler(int minDelay, int maxDelay) {
+        super(new CalendarMessageQueue(bucketCount(maxDelay)), minDelay, maxDelay);
+    }
+
+    /**
+     * Constructs a CalendarScheduler by assigning it a minimum and maximum delay for the messages.
+     * Forces the scheduler to use a specific initial seed to generate delays.
+     *
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     * @param seed     seed to be used by the delay generator
+     */
+    public CalendarScheduler(int minDelay, int maxDelay, long seed) {
+        super(new CalendarMessageQueue(bucketCount(maxDelay)), minDelay, maxDelay, seed);
+    }
+
+    /**
+     * Returns the number of buckets for the calendar queue. Messages are scheduled at most maxDelay units
+     * of time after being exported, the buckets cover twice that interval to leave room for messages
+     * exported after the current time (by MRAI timers) and messages delayed to keep links FIFO.
+     */
+    private static int bucketCount(int maxDelay) {
+        return (int) Math.min(1 << 20, Math.max(MIN_BUCKET_COUNT, 2L * ((long) maxDelay + 1)));
+    }
+
+}
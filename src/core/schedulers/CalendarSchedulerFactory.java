@@ -0,0 +1,30 @@
+package core.schedulers;
+
+/**
+ * Scheduler factory to encapsulate the creation of calendar schedulers.
+ */
+public class CalendarSchedulerFactory implements SchedulerFactory {
+
+    /**
+     * Creates a new CalendarScheduler instance.
+     *
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     * @param seed     seed to be used to generate delays or null to use a seed based on the current time.
+     * @return new CalendarScheduler instance.
+     */
+    @Override
+    public Scheduler getScheduler(int minDelay, int maxDelay, Long seed) {
+        if (seed == null) {
+            return new CalendarScheduler(minDelay, maxDelay);
+        } else {
+            return new CalendarScheduler(minDelay, maxDelay, seed);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "calendar";
+    }
+
+}
@@ -0,0 +1,116 @@
+package core.schedulers;
+
+import core.Link;
+
+import java.util.Arrays;
+
+/**
+ * Message queue based on a binary heap. Offering and polling messages takes logarithmic time. The heap
+ * is stored in two parallel arrays with the arrival times and handles of the messages. It is maintained
+ * with the same algorithm used by java.util.PriorityQueue, which means that messages with the same
+ * arrival time come out in the same order as in a priority queue of messages.
+ */
+public class HeapMessageQueue implements MessageQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    // Messages with lower arrival times have higher priority.
+    private int[] arrivalTimes = new int[INITIAL_CAPACITY];
+    private int[] messages = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    @Override
+    public void offer(int arrivalTime, int message, Link link) {
+        if (size == messages.length) {
+            arrivalTimes = Arrays.copyOf(arrivalTimes, size * 2);
+            messages = Arrays.copyOf(messages, size * 2);
+        }
+
+        // sift up
+        int position = size++;
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (arrivalTime >= arrivalTimes[parent]) break;
+
+            arrivalTimes[position] = arrivalTimes[parent];
+            messages[position] = messages[parent];
+            position = parent;
+        }
+
+        arrivalTimes[position] = arrivalTime;
+        messages[position] = message;
+    }
+
+    @Override
+    public int poll() {
+        if (size == 0) return NONE;
+
+        int first = messages[0];
+        int last = --size;
+
+        if (last > 0) {
+            siftDown(arrivalTimes[last], messages[last]);
+        }
+
+        return first;
+    }
+
+    @Override
+    public int peekArrivalTime() {
+        return size == 0 ? Integer.MAX_VALUE : arrivalTimes[0];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Places the given message, taken from the end of the heap, starting at the root.
+     */
+    private void siftDown(int arrivalTime, int message) {
+        int position = 0;
+        int half = size >>> 1;
+
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && arrivalTimes[child] > arrivalTimes[right]) {
+                child = right;
+            }
+
+            if (arrivalTime <= arrivalTimes[child]) break;
+
+            arrivalTimes[position] = arrivalTimes[child];
+            messages[position] = messages[child];
+            position = child;
+        }
+
+        arrivalTimes[position] = arrivalTime;
+        messages[position] = message;
+    }
+
+}
@@ -0,0 +1,46 @@
+package core.schedulers;
+
+/**
+ * Scheduler factory that creates schedulers with another factory and gives each link of those schedulers
+ * its own stream of delays. The other factory must create random schedulers.
+ */
+public class LinkDelaysSchedulerFactory implements SchedulerFactory {
+
+    private final SchedulerFactory schedulerFactory;
+
+    /**
+     * Creates a new factory based on the given factory.
+     *
+     * @param schedulerFactory factory used to create the schedulers.
+     */
+    public LinkDelaysSchedulerFactory(SchedulerFactory schedulerFactory) {
+        this.schedulerFactory = schedulerFactory;
+    }
+
+    /**
+     * Creates a new scheduler with the base factory and enables link delays.
+     *
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     * @param seed     seed to be used to generate delays or null to use a seed based on the current time.
+     * @return new scheduler instance with link delays.
+     * @throws IllegalStateException if the base factory does not create random schedulers.
+     */
+    @Override
+    public Scheduler getScheduler(int minDelay, int maxDelay, Long seed) {
+        Scheduler scheduler = schedulerFactory.getScheduler(minDelay, maxDelay, seed);
+
+        if (!(scheduler instanceof RandomScheduler)) {
+            throw new IllegalStateException("link delays are only supported by random schedulers");
+        }
+
+        ((RandomScheduler) scheduler).setLinkDelays(true);
+        return scheduler;
+    }
+
+    @Override
+    public String toString() {
+        return schedulerFactory + " with link delays";
+    }
+
+}
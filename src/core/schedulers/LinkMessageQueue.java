@@ -0,0 +1,241 @@
+package core.schedulers;
+
+import core.Link;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Message queue keeping a FIFO queue of messages for each link and a heap containing only the first message
+ * of each link with messages. The scheduler delivers the messages sent through each link in the order
+ * they were sent, which means that the first message of a link is always the one with the lowest arrival
+ * time. Therefore, the heap holds at most one entry per link and its size is bounded by the number of
+ * links with messages in transit, instead of the number of messages in transit.
+ *
+ * Links of a topology are identified by their indexes, the others (anycast destination links) are
+ * assigned identifiers when their first message is offered. The FIFO queues are linked lists of message
+ * handles stored in arrays. Links whose first messages arrive at the same time are ordered by identifier.
+ */
+public class LinkMessageQueue implements MessageQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    // arrival time of each message and message following it in its link, indexed by message handle
+    private int[] arrivalTimes = new int[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+
+    // first and last message of each link and position of the link in the heap, indexed by link ID
+    private int[] heads = newFilledArray(INITIAL_CAPACITY, NONE);
+    private int[] tails = new int[INITIAL_CAPACITY];
+    private int[] heapPositions = newFilledArray(INITIAL_CAPACITY, NONE);
+
+    // heap of link IDs ordered by the arrival time of their first messages
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int heapSize = 0;
+
+    // IDs of links not belonging to a topology - IDs of topology links are even and the others are odd
+    private final Map<Link, Integer> detachedLinkIds = new HashMap<>();
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    @Override
+    public void offer(int arrivalTime, int message, Link link) {
+        int linkId = linkId(link);
+        ensureMessageCapacity(message);
+        ensureLinkCapacity(linkId);
+
+        arrivalTimes[message] = arrivalTime;
+        next[message] = NONE;
+
+        int head = heads[linkId];
+        if (head == NONE) {
+            heads[linkId] = message;
+            tails[linkId] = message;
+            heapInsert(linkId);
+
+        } else if (arrivalTime >= arrivalTimes[tails[linkId]]) {
+            // this is always the case when messages are scheduled by the scheduler
+            next[tails[linkId]] = message;
+            tails[linkId] = message;
+
+        } else if (arrivalTime < arrivalTimes[head]) {
+            next[message] = head;
+            heads[linkId] = message;
+            siftUp(heapPositions[linkId], linkId);
+
+        } else {
+            // keep the link's queue ordered by arrival time
+            int previous = head;
+            while (arrivalTimes[next[previous]] <= arrivalTime) {
+                previous = next[previous];
+            }
+
+            next[message] = next[previous];
+            next[previous] = message;
+        }
+    }
+
+    @Override
+    public int poll() {
+        if (heapSize == 0) return NONE;
+
+        int linkId = heap[0];
+        int message = heads[linkId];
+        int following = next[message];
+        heads[linkId] = following;
+
+        if (following == NONE) {
+            heapRemoveFirst();
+        } else {
+            // the first message of the link arrives later now
+            siftDown(0, linkId);
+        }
+
+        return message;
+    }
+
+    @Override
+    public int peekArrivalTime() {
+        return heapSize == 0 ? Integer.MAX_VALUE : arrivalTimes[heads[heap[0]]];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < heapSize; i++) {
+            heads[heap[i]] = NONE;
+            heapPositions[heap[i]] = NONE;
+        }
+
+        heapSize = 0;
+        detachedLinkIds.clear();
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private int linkId(Link link) {
+        int index = link.getIndex();
+
+        if (index >= 0) {
+            return 2 * index;
+        }
+
+        Integer id = detachedLinkIds.get(link);
+        if (id == null) {
+            id = 2 * detachedLinkIds.size() + 1;
+            detachedLinkIds.put(link, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Checks if the first message of link1 comes out before the first message of link2.
+     */
+    private boolean precedes(int link1, int link2) {
+        int time1 = arrivalTimes[heads[link1]];
+        int time2 = arrivalTimes[heads[link2]];
+
+        return time1 < time2 || (time1 == time2 && link1 < link2);
+    }
+
+    private void heapInsert(int linkId) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+
+        siftUp(heapSize++, linkId);
+    }
+
+    private void heapRemoveFirst() {
+        heapPositions[heap[0]] = NONE;
+
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            siftDown(0, last);
+        }
+    }
+
+    private void siftUp(int position, int linkId) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!precedes(linkId, heap[parent])) break;
+
+            place(position, heap[parent]);
+            position = parent;
+        }
+
+        place(position, linkId);
+    }
+
+    private void siftDown(int position, int linkId) {
+        int half = heapSize >>> 1;
+
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < heapSize && precedes(heap[right], heap[child])) {
+                child = right;
+            }
+
+            if (!precedes(heap[child], linkId)) break;
+
+            place(position, heap[child]);
+            position = child;
+        }
+
+        place(position, linkId);
+    }
+
+    private void place(int position, int linkId) {
+        heap[position] = linkId;
+        heapPositions[linkId] = position;
+    }
+
+    private void ensureMessageCapacity(int message) {
+        if (message >= next.length) {
+            int capacity = Math.max(message + 1, next.length * 2);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+    }
+
+    private void ensureLinkCapacity(int linkId) {
+        if (linkId >= heads.length) {
+            int previousCapacity = heads.length;
+            int capacity = Math.max(linkId + 1, previousCapacity * 2);
+
+            heads = Arrays.copyOf(heads, capacity);
+            tails = Arrays.copyOf(tails, capacity);
+            heapPositions = Arrays.copyOf(heapPositions, capacity);
+            Arrays.fill(heads, previousCapacity, capacity, NONE);
+            Arrays.fill(heapPositions, previousCapacity, capacity, NONE);
+        }
+    }
+
+    private static int[] newFilledArray(int length, int value) {
+        int[] array = new int[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+}
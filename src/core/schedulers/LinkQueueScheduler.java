@@ -0,0 +1,35 @@
+package core.schedulers;
+
+/**
+ * Random scheduler that keeps a queue of messages for each link and a heap with only the first message of
+ * each link. Delays are generated in the same way as in the RandomScheduler. The heap is bounded by the
+ * number of links with messages in transit, which reduces the number of comparisons when many messages
+ * are in transit. Messages arriving at the same time through different links are delivered ordered by
+ * link, which means that, for the same seed, the simulation results may differ from those obtained with
+ * the RandomScheduler.
+ */
+public class LinkQueueScheduler extends RandomScheduler {
+
+    /**
+     * Constructs a LinkQueueScheduler by assigning it a minimum and maximum delay for the messages.
+     *
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     */
+    public LinkQueueScheduler(int minDelay, int maxDelay) {
+        super(new LinkMessageQueue(), minDelay, maxDelay);
+    }
+
+    /**
+     * Constructs a LinkQueueScheduler by assigning it a minimum and maximum delay for the messages.
+     * Forces the scheduler to use a specific initial seed to generate delays.
+     *
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     * @param seed     seed to be used by the delay generator
+     */
+    public LinkQueueScheduler(int minDelay, int maxDelay, long seed) {
+        super(new LinkMessageQueue(), minDelay, maxDelay, seed);
+    }
+
+}
@@ -0,0 +1,80 @@
+package core.schedulers;
+
+import core.Link;
+import core.Route;
+
+import java.util.Arrays;
+
+/**
+ * Stores the contents of the messages in transit in parallel arrays indexed by message handle. Handles of
+ * delivered messages are reused by new messages, which means that the pool stops growing once it holds
+ * as many messages as the maximum number of messages in transit at the same time.
+ */
+final class MessagePool {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Link[] links = new Link[INITIAL_CAPACITY];
+    private Route[] routes = new Route[INITIAL_CAPACITY];
+
+    private int[] freeHandles = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int handleCount = 0;    // number of handles assigned so far
+
+    /**
+     * Stores a new message and returns its handle.
+     *
+     * @param link  link traversed by the message.
+     * @param route route carried by the message.
+     * @return the handle of the new message.
+     */
+    int add(Link link, Route route) {
+        int message;
+
+        if (freeCount > 0) {
+            message = freeHandles[--freeCount];
+        } else {
+            if (handleCount == links.length) {
+                links = Arrays.copyOf(links, handleCount * 2);
+                routes = Arrays.copyOf(routes, handleCount * 2);
+                freeHandles = Arrays.copyOf(freeHandles, handleCount * 2);
+            }
+
+            message = handleCount++;
+        }
+
+        links[message] = link;
+        routes[message] = route;
+        return message;
+    }
+
+    Link getLink(int message) {
+        return links[message];
+    }
+
+    Route getRoute(int message) {
+        return routes[message];
+    }
+
+    /**
+     * Removes a message from the pool. Its handle may be assigned to a new message.
+     *
+     * @param message handle of the message to remove.
+     */
+    void remove(int message) {
+        links[message] = null;
+        routes[message] = null;
+        freeHandles[freeCount++] = message;
+    }
+
+    /**
+     * Removes all messages from the pool.
+     */
+    void clear() {
+        Arrays.fill(links, 0, handleCount, null);
+        Arrays.fill(routes, 0, handleCount, null);
+        freeCount = 0;
+        handleCount = 0;
+    }
+
+}
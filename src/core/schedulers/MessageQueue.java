@@ -0,0 +1,56 @@
+package core.schedulers;
+
+import core.Link;
+
+/**
+ * A message queue stores the messages of a scheduler ordered by their arrival times. Messages with lower
+ * arrival times come out first. The order of messages with the same arrival time depends on the
+ * implementation, but it must always be the same for the same sequence of operations.
+ *
+ * Messages are identified by non-negative handles assigned by the scheduler, which keeps the contents of
+ * each message. Queues only store the arrival time and the handle of each message, which avoids creating
+ * an object for each message in transit.
+ */
+public interface MessageQueue {
+
+    // handle returned when the queue is empty
+    int NONE = -1;
+
+    /**
+     * Adds a message sent through the given link to the queue. Queues that do not group messages by link
+     * ignore the link.
+     *
+     * @param arrivalTime arrival time of the message.
+     * @param message     handle of the message.
+     * @param link        link traversed by the message.
+     */
+    void offer(int arrivalTime, int message, Link link);
+
+    /**
+     * Removes the message with the lowest arrival time and returns its handle.
+     *
+     * @return the handle of the message with the lowest arrival time or NONE if the queue is empty.
+     */
+    int poll();
+
+    /**
+     * Returns the lowest arrival time of the messages in the queue without removing any message.
+     *
+     * @return the lowest arrival time of the messages in the queue or Integer.MAX_VALUE if the queue is
+     * empty.
+     */
+    int peekArrivalTime();
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return true if the queue has no messages and false otherwise.
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all messages from the queue.
+     */
+    void clear();
+
+}
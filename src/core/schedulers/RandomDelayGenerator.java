@@ -1,17 +1,31 @@
 package core.schedulers;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
- * Implements a random generator of delays.
+ * Implements a random generator of delays. Delays are generated in blocks by a splittable random generator,
+ * which does not synchronize like java.util.Random, and handed out from a buffer.
+ *
+ * The generator keeps a second stream, split from the first one, to generate the seeds used after each
+ * reset. Therefore, the sequence of seeds depends only on the initial seed and not on the number of delays
+ * generated.
  */
 public class RandomDelayGenerator {
 
-    private Random random = null;
+    // number of delays generated at a time
+    private static final int BLOCK_SIZE = 256;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SplittableRandom random = null;     // generates the delays
+    private SplittableRandom seeds = null;      // generates the seeds of resets
     private int min;
     private int max;
     private long currentSeed;
 
+    // delays are taken from this buffer and the buffer is refilled when all delays were taken
+    private final int[] delays = new int[BLOCK_SIZE];
+    private int nextDelayPosition = BLOCK_SIZE;
+
     /**
      * Creates a generator without any seed of delay limits.
      */
@@ -78,6 +92,7 @@ public class RandomDelayGenerator {
         }
 
         this.min = min;
+        nextDelayPosition = BLOCK_SIZE;     // delays in the buffer may be out of the new interval
     }
 
     /**
@@ -91,6 +106,7 @@ public class RandomDelayGenerator {
         }
 
         this.max = max;
+        nextDelayPosition = BLOCK_SIZE;     // delays in the buffer may be out of the new interval
     }
 
     /**
@@ -99,7 +115,29 @@ public class RandomDelayGenerator {
      * @return next delay value in the valid interval.
      */
     public int nextDelay() {
-        return random.nextInt(max - min + 1)  + min;
+        if (nextDelayPosition == BLOCK_SIZE) {
+            fillDelays();
+        }
+
+        return delays[nextDelayPosition++];
+    }
+
+    /**
+     * Returns the delay with the given sequence number in the stream with the given key. The delay depends
+     * only on the current seed, the key and the sequence number: it does not depend on the order in which
+     * delays are requested and does not change the state of the generator.
+     *
+     * @param streamKey key identifying the stream.
+     * @param sequence  sequence number of the delay in the stream.
+     * @return delay value in the valid interval.
+     */
+    public int delayOf(long streamKey, int sequence) {
+        long hash = mix(currentSeed ^ mix(streamKey + GOLDEN_GAMMA));
+        hash = mix(hash + (sequence + 1L) * GOLDEN_GAMMA);
+
+        // maps the 32 high bits of the hash into the interval
+        long bound = (long) max - min + 1;
+        return (int) (((hash >>> 32) * bound) >>> 32) + min;
     }
 
     /**
@@ -115,8 +153,7 @@ public class RandomDelayGenerator {
      * Starts a new random with a new seed.
      */
     public void reset() {
-        currentSeed = nextSeed();
-        random = new Random(currentSeed);
+        reset(seeds.nextLong());
     }
 
     /**
@@ -124,18 +161,29 @@ public class RandomDelayGenerator {
      */
     public void reset(long initialSeed) {
         currentSeed = initialSeed;
-        random = new Random(initialSeed);
+        random = new SplittableRandom(initialSeed);
+        seeds = random.split();
+        nextDelayPosition = BLOCK_SIZE;
+    }
+
+    // finalizer of the SplitMix64 generator: scrambles the bits of the given value
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
     }
 
     /**
-     * Returns the next seed for the random object. The first time it is called it returns the current time in
-     * milliseconds. In the following calls return the sim of the next long value in the random object with the
-     * current time in milliseconds. If the seed field is defined (not null) than it always returns the seed value.
-     *
-     * @return next seed for the random object.
+     * Fills the buffer with a new block of delays.
      */
-    private long nextSeed() {
-        return random.nextLong();
+    private void fillDelays() {
+        int bound = max - min + 1;
+
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            delays[i] = random.nextInt(bound) + min;
+        }
+
+        nextDelayPosition = 0;
     }
 
 }
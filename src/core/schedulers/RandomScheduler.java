@@ -1,5 +1,11 @@
 package core.schedulers;
 
+import core.Link;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Implementation of a scheduler where the delays are randomly uniformly distributed. It is based on the
  * RandomDelayGenerator implementation.
@@ -14,6 +20,14 @@ public class RandomScheduler extends AbstractScheduler {
 
     private final RandomDelayGenerator randomDelayGenerator;
 
+    // with link delays, each link has its own stream of delays and the number of messages sent through
+    // each link is kept - links belonging to a topology are looked up by index, the others by key
+    private boolean linkDelays = false;
+    private int[] linkSequences = new int[0];
+    private int[] sequenceGenerations = new int[0];     // sequences from before the last clear are stale
+    private int sequenceGeneration = 1;
+    private final Map<Link, Integer> detachedLinkSequences = new HashMap<>();
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Constructors
@@ -42,6 +56,32 @@ public class RandomScheduler extends AbstractScheduler {
         randomDelayGenerator = new RandomDelayGenerator(minDelay, maxDelay, seed);
     }
 
+    /**
+     * Constructs a RandomScheduler storing its messages in the given message queue.
+     *
+     * @param queue    queue where to store the messages.
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     */
+    protected RandomScheduler(MessageQueue queue, int minDelay, int maxDelay) {
+        super(queue);
+        randomDelayGenerator = new RandomDelayGenerator(minDelay, maxDelay);
+    }
+
+    /**
+     * Constructs a RandomScheduler storing its messages in the given message queue. Forces the scheduler to
+     * use a specific initial seed to generate delays.
+     *
+     * @param queue    queue where to store the messages.
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     * @param seed     seed to be used by the delay generator
+     */
+    protected RandomScheduler(MessageQueue queue, int minDelay, int maxDelay, long seed) {
+        super(queue);
+        randomDelayGenerator = new RandomDelayGenerator(minDelay, maxDelay, seed);
+    }
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Public Interface
@@ -75,6 +115,42 @@ public class RandomScheduler extends AbstractScheduler {
         return randomDelayGenerator.getSeed();
     }
 
+    /**
+     * Checks if each link has its own stream of delays.
+     *
+     * @return true if each link has its own stream of delays or false if all links share the same stream.
+     */
+    public boolean hasLinkDelays() {
+        return linkDelays;
+    }
+
+    /**
+     * Sets whether each link has its own stream of delays. With link delays, the delay of a message is
+     * given by the seed, the IDs of the routers connected by the link, and the number of messages sent
+     * through the link before. Therefore, the delays do not depend on the order in which the messages of
+     * different links are scheduled. Otherwise, all links share a single stream of delays.
+     *
+     * @param linkDelays true to give each link its own stream of delays.
+     */
+    public void setLinkDelays(boolean linkDelays) {
+        this.linkDelays = linkDelays;
+    }
+
+    /**
+     * Clears all messages from the scheduler and the number of messages sent through each link.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        detachedLinkSequences.clear();
+
+        if (++sequenceGeneration == Integer.MAX_VALUE) {
+            // generations are about to wrap around: clear the stamps now and start over
+            Arrays.fill(sequenceGenerations, 0);
+            sequenceGeneration = 1;
+        }
+    }
+
     /**
      * Clears all messages from the scheduler and resets the seed of the delay generator.
      */
@@ -84,6 +160,17 @@ public class RandomScheduler extends AbstractScheduler {
         randomDelayGenerator.reset();
     }
 
+    /**
+     * Clears all messages from the scheduler and starts generating delays from the given seed.
+     *
+     * @param seed seed to generate the delays of the next simulation.
+     */
+    @Override
+    public void reset(long seed) {
+        super.reset();
+        randomDelayGenerator.reset(seed);
+    }
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Implementation of the "delay" method
@@ -103,4 +190,54 @@ public class RandomScheduler extends AbstractScheduler {
         return randomDelayGenerator.nextDelay();
     }
 
+    /**
+     * Returns the delay of a message sent through the given link. With link delays, the delay is taken from
+     * the link's own stream. Otherwise, it is the next delay in the stream shared by all links.
+     *
+     * @param link link traversed by the message.
+     * @return delay value.
+     */
+    @Override
+    protected int delay(Link link) {
+        if (!linkDelays) {
+            return delay();
+        }
+
+        long linkKey = ((long) link.getSource().getId() << 32) | (link.getTarget().getId() & 0xFFFFFFFFL);
+        return randomDelayGenerator.delayOf(linkKey, nextSequence(link));
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Returns the number of messages sent through the link so far and increments it.
+     */
+    private int nextSequence(Link link) {
+        int index = link.getIndex();
+
+        if (index < 0) {
+            int sequence = detachedLinkSequences.getOrDefault(link, 0);
+            detachedLinkSequences.put(link, sequence + 1);
+            return sequence;
+        }
+
+        if (index >= linkSequences.length) {
+            int capacity = Math.max(index + 1, linkSequences.length * 2);
+            linkSequences = Arrays.copyOf(linkSequences, capacity);
+            sequenceGenerations = Arrays.copyOf(sequenceGenerations, capacity);
+        }
+
+        if (sequenceGenerations[index] != sequenceGeneration) {
+            // the link has not been used since the scheduler was cleared
+            linkSequences[index] = 0;
+            sequenceGenerations[index] = sequenceGeneration;
+        }
+
+        return linkSequences[index]++;
+    }
+
 }
@@ -0,0 +1,30 @@
+package core.schedulers;
+
+/**
+ * Scheduler factory to encapsulate the creation of random schedulers.
+ */
+public class RandomSchedulerFactory implements SchedulerFactory {
+
+    /**
+     * Creates a new RandomScheduler instance.
+     *
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     * @param seed     seed to be used to generate delays or null to use a seed based on the current time.
+     * @return new RandomScheduler instance.
+     */
+    @Override
+    public Scheduler getScheduler(int minDelay, int maxDelay, Long seed) {
+        if (seed == null) {
+            return new RandomScheduler(minDelay, maxDelay);
+        } else {
+            return new RandomScheduler(minDelay, maxDelay, seed);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "random";
+    }
+
+}
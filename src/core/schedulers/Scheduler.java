@@ -1,8 +1,10 @@
 package core.schedulers;
 
 
+import core.Link;
 import core.MRAITimer;
 import core.Message;
+import core.Route;
 
 import java.util.Collection;
 
@@ -18,6 +20,16 @@ public interface Scheduler {
      */
     void schedule(Message message);
 
+    /**
+     * Adds a new message to the scheduler without requiring a message object. Works exactly like
+     * schedule(Message).
+     *
+     * @param time  time at which the message is sent.
+     * @param link  link traversed by the message.
+     * @param route route carried by the message.
+     */
+    void schedule(int time, Link link, Route route);
+
     /**
      * Schedules an MRAI timer in the scheduler. When the MRAI timer expires it stored in a list
      * of expired timers that can be obtained when calling the getExpiredTimers() method.
@@ -28,7 +40,7 @@ public interface Scheduler {
 
     /**
      * Returns the next message in the scheduler. If the scheduler contains no more message then null is
-     * returned.
+     * returned. The returned message object may be reused by the next call to this method.
      *
      * @return the next message in the scheduler or null if there is no messages.
      */
@@ -56,6 +68,7 @@ public interface Scheduler {
      * The scheduler keeps a list of all timers that expire while time progresses. When the
      * current time reaches the expiration time of a timer, this timer is put on a list. This
      * list is the one returned by this method. After calling this method the list is cleared.
+     * The returned collection may be reused by the next call to this method.
      *
      * @return collection with all the timers that have expired since the construction of the
      * scheduler or the last time this method was called.
@@ -96,4 +109,12 @@ public interface Scheduler {
      */
     void reset();
 
+    /**
+     * Resets the scheduler like reset(), but the delays of the next simulation are generated from the given
+     * seed. Simulations run with the same seed get the same delays.
+     *
+     * @param seed seed to generate the delays of the next simulation.
+     */
+    void reset(long seed);
+
 }
@@ -0,0 +1,21 @@
+package core.schedulers;
+
+/**
+ * Scheduler factory creates schedulers based on the factory implementation. Each engine needs its own
+ * scheduler. Scheduler factories allow to pass the scheduler implementation as a parameter and create a
+ * new instance for each engine when necessary.
+ */
+public interface SchedulerFactory {
+
+    /**
+     * Creates a new scheduler instance. The type of scheduler instance returned depends on the factory
+     * implementation.
+     *
+     * @param minDelay minimum message delay.
+     * @param maxDelay maximum message delay.
+     * @param seed     seed to be used to generate delays or null to use a seed based on the current time.
+     * @return new scheduler instance.
+     */
+    Scheduler getScheduler(int minDelay, int maxDelay, Long seed);
+
+}
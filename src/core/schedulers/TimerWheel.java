@@ -0,0 +1,236 @@
+package core.schedulers;
+
+import core.MRAITimer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel storing MRAI timers by expiration time. The wheel has 6 levels of 64 slots,
+ * each level covering 6 more bits of the expiration time. A timer is stored in the level of the highest
+ * group of bits in which its expiration time differs from the current time of the wheel and in the slot
+ * given by that group of bits. Therefore, timers in level 0 are stored in the slot of their exact
+ * expiration time. When the current time moves to the first slot of a higher level, the timers in that slot
+ * are moved to lower levels.
+ *
+ * The earliest expiration time of all timers is cached, which allows checking if any timer expired with a
+ * single comparison. Expired timers are returned ordered by expiration time and owner ID, the same order
+ * used by a priority queue of timers.
+ */
+public class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVEL_COUNT = (Integer.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    // timers with the same expiration time are ordered by the ID of their owners
+    private static final Comparator<MRAITimer> TIMER_ORDER = (timer, other) -> {
+        int comparison = Integer.compare(timer.getExpirationTime(), other.getExpirationTime());
+        if (comparison == 0) {
+            comparison = Integer.compare(timer.getOwner().getId(), other.getOwner().getId());
+        }
+
+        return comparison;
+    };
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private final List<MRAITimer>[][] slots;
+    private final long[] occupied;      // bit i of level l is set if slot i of level l is not empty
+
+    // all timers in the wheel expire at or after the current time - except those scheduled in the past
+    private int currentTime = 0;
+    private int earliestExpiration = Integer.MAX_VALUE;
+    private int timerCount = 0;
+
+    // expired timers are stored in a list reused between calls
+    private final List<MRAITimer> expiredTimers = new ArrayList<>();
+    private final Collection<MRAITimer> expiredTimersView = Collections.unmodifiableList(expiredTimers);
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates a new empty timing wheel.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimerWheel() {
+        slots = (List<MRAITimer>[][]) new List[LEVEL_COUNT][SLOT_COUNT];
+        occupied = new long[LEVEL_COUNT];
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Adds a timer to the wheel. The timer's expiration time must not change while it is in the wheel.
+     *
+     * @param timer timer to add.
+     */
+    public void add(MRAITimer timer) {
+        insert(timer);
+        timerCount++;
+        earliestExpiration = Math.min(earliestExpiration, timer.getExpirationTime());
+    }
+
+    /**
+     * Returns the earliest expiration time of the timers in the wheel.
+     *
+     * @return the earliest expiration time of the timers in the wheel or Integer.MAX_VALUE if it is empty.
+     */
+    public int getEarliestExpiration() {
+        return earliestExpiration;
+    }
+
+    /**
+     * Checks if the wheel contains any timers.
+     *
+     * @return true if the wheel is empty or false otherwise.
+     */
+    public boolean isEmpty() {
+        return timerCount == 0;
+    }
+
+    /**
+     * Removes all timers expiring at or before the given time and returns them, ordered by expiration time
+     * and owner ID. The returned collection is a view that is reused by the next call to this method.
+     *
+     * @param time current time.
+     * @return view of the timers expiring at or before the given time.
+     */
+    public Collection<MRAITimer> expire(int time) {
+        expiredTimers.clear();
+
+        if (earliestExpiration > time) {
+            return expiredTimersView;
+        }
+
+        while (timerCount > 0) {
+            int level = lowestOccupiedLevel();
+            int slot = Long.numberOfTrailingZeros(occupied[level]);
+            int shift = level * SLOT_BITS;
+
+            // time at which the first slot starts - bits above the level are the same as the current time's
+            int slotStart = clearLowBits(currentTime, shift + SLOT_BITS) | (slot << shift);
+            if (Math.max(slotStart, earliestExpiration) > time) {
+                break;
+            }
+
+            List<MRAITimer> timers = slots[level][slot];
+            occupied[level] &= ~(1L << slot);
+            currentTime = Math.max(currentTime, slotStart);
+
+            if (level == 0) {
+                timers.sort(TIMER_ORDER);
+                expiredTimers.addAll(timers);
+                timerCount -= timers.size();
+                timers.clear();
+
+            } else {
+                // move the timers to the lower levels
+                for (MRAITimer timer : timers) {
+                    insert(timer);
+                }
+                timers.clear();
+            }
+
+            earliestExpiration = findEarliestExpiration();
+        }
+
+        return expiredTimersView;
+    }
+
+    /**
+     * Removes all timers from the wheel and sets the current time back to 0.
+     */
+    public void clear() {
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            long bits = occupied[level];
+
+            while (bits != 0) {
+                int slot = Long.numberOfTrailingZeros(bits);
+                slots[level][slot].clear();
+                bits &= bits - 1;
+            }
+
+            occupied[level] = 0;
+        }
+
+        expiredTimers.clear();
+        currentTime = 0;
+        earliestExpiration = Integer.MAX_VALUE;
+        timerCount = 0;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Stores the timer in the slot for its expiration time. Timers expiring before the current time are
+     * stored in the slot of the current time.
+     */
+    private void insert(MRAITimer timer) {
+        int expiration = Math.max(timer.getExpirationTime(), currentTime);
+
+        int differentBits = expiration ^ currentTime;
+        int level = differentBits == 0 ? 0 : (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(differentBits))
+                / SLOT_BITS;
+        int slot = (expiration >>> (level * SLOT_BITS)) & SLOT_MASK;
+
+        List<MRAITimer> timers = slots[level][slot];
+        if (timers == null) {
+            timers = new ArrayList<>();
+            slots[level][slot] = timers;
+        }
+
+        timers.add(timer);
+        occupied[level] |= 1L << slot;
+    }
+
+    private int lowestOccupiedLevel() {
+        int level = 0;
+        while (occupied[level] == 0) {
+            level++;
+        }
+
+        return level;
+    }
+
+    /**
+     * Finds the earliest expiration time. Only the first non-empty slot needs to be checked: all slots in
+     * lower levels are empty and the slots in higher levels start after it ends.
+     */
+    private int findEarliestExpiration() {
+        if (timerCount == 0) return Integer.MAX_VALUE;
+
+        int level = lowestOccupiedLevel();
+        int earliest = Integer.MAX_VALUE;
+        for (MRAITimer timer : slots[level][Long.numberOfTrailingZeros(occupied[level])]) {
+            earliest = Math.min(earliest, timer.getExpirationTime());
+        }
+
+        return earliest;
+    }
+
+    private static int clearLowBits(int value, int bitCount) {
+        return bitCount >= Integer.SIZE ? 0 : value & (-1 << bitCount);
+    }
+
+}
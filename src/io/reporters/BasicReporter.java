@@ -154,7 +154,8 @@ public class BasicReporter implements Reporter {
         printer.print(dataSet.getDetectingRoutersCount());
         printer.print(dataSet.getCutOffLinksCount());
         printer.print(dataSet.getFalsePositiveCount());
-        printer.print(dataSet.didProtocolTerminate() ? "Yes" : "No");
+        printer.print(terminationVerdict(dataSet));
+        printer.print(dataSet.getExceededBudget() != null ? dataSet.getExceededBudget() : "No");
     }
 
     private void printDetections(int simulationNumber, BasicDataset dataSet) throws IOException {
@@ -162,6 +163,15 @@ public class BasicReporter implements Reporter {
 
     }
 
+    /**
+     * Returns "Yes" if the protocol terminated, "Oscillating" if it was stopped for oscillating, and "No"
+     * otherwise.
+     */
+    static String terminationVerdict(BasicDataset dataset) {
+        if (dataset.didProtocolTerminate()) return "Yes";
+        return dataset.isOscillating() ? "Oscillating" : "No";
+    }
+
     private double averageLastTimes(Map<Router, Long> lastMessageTimes) {
         SummaryStatistics stats = new SummaryStatistics();
 
@@ -213,7 +223,8 @@ public class BasicReporter implements Reporter {
                 "Detecting Nodes",
                 "Detections",
                 "False Positives",
-                dataset.getDidProtocolTerminateLabel()
+                dataset.getDidProtocolTerminateLabel(),
+                dataset.getExceededBudgetLabel()
         };
     }
 
@@ -0,0 +1,118 @@
+package io.reporters;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import simulators.basic.BasicDataset;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Reports the runs of a comparison experiment. Each repetition simulates all configurations with the same
+ * delays and the first configuration is the baseline of the repetition. Every run is reported in its own row,
+ * which identifies the baseline run it is paired with and includes the differences between its counts and
+ * the counts of the baseline run. The differences of the baseline run itself are always 0.
+ */
+public class ComparisonReporter implements Reporter {
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private static final String[] HEADERS = {
+            "Run", "Repetition", "Configuration", "Paired Run", "Seed", "Time", "Messages", "Detections",
+            "False Positives", "Terminated", "Time Difference", "Messages Difference",
+            "Detections Difference", "False Positives Difference"
+    };
+
+    // directory where the report files are saved
+    private File reportDirectory;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Constructs a new comparison reporter. Uses the default report directory defined in the Reporter
+     * interface.
+     */
+    public ComparisonReporter() {
+        this.reportDirectory = REPORT_DIRECTORY;
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    public File getReportDirectory() {
+        return reportDirectory;
+    }
+
+    public void setReportDirectory(File reportDirectory) {
+        this.reportDirectory = reportDirectory;
+    }
+
+    /**
+     * Reports the runs of one repetition. Runs are numbered sequentially across repetitions: the run of
+     * configuration c in repetition r is run r * (number of configurations) + c.
+     *
+     * @param filename   name of the report file.
+     * @param repetition number of the repetition, starting at 0.
+     * @param labels     labels of the configurations, the first one being the baseline.
+     * @param datasets   data of the run of each configuration, in the same order as the labels.
+     * @throws IOException if fails to write to the report file.
+     */
+    public void report(String filename, int repetition, String[] labels, BasicDataset[] datasets)
+            throws IOException {
+
+        try (CSVPrinter printer = getDataFilePrinter(new File(reportDirectory, filename))) {
+
+            if (repetition == 0) {    // check if it is first repetition
+                printer.printRecord((Object[]) HEADERS);
+            }
+
+            int baselineRun = repetition * labels.length;
+            BasicDataset baseline = datasets[0];
+
+            for (int configuration = 0; configuration < labels.length; configuration++) {
+                BasicDataset dataset = datasets[configuration];
+
+                printer.printRecord(
+                        baselineRun + configuration,
+                        repetition,
+                        labels[configuration],
+                        baselineRun,
+                        dataset.getSimulationSeed(),
+                        dataset.getSimulationTime(),
+                        dataset.getTotalMessageCount(),
+                        dataset.getCutOffLinksCount(),
+                        dataset.getFalsePositiveCount(),
+                        BasicReporter.terminationVerdict(dataset),
+                        dataset.getSimulationTime() - baseline.getSimulationTime(),
+                        dataset.getTotalMessageCount() - baseline.getTotalMessageCount(),
+                        dataset.getCutOffLinksCount() - baseline.getCutOffLinksCount(),
+                        dataset.getFalsePositiveCount() - baseline.getFalsePositiveCount()
+                );
+            }
+        }
+
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private CSVPrinter getDataFilePrinter(File file) throws IOException {
+        return new CSVPrinter(new FileWriter(file, true), CSVFormat.EXCEL.withDelimiter(';'));
+    }
+
+}
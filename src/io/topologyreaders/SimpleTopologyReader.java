@@ -6,6 +6,7 @@ import core.Policy;
 import core.Router;
 import core.Topology;
 import core.exceptions.RouterNotFoundException;
+import core.policies.compiled.CompiledPolicy;
 import core.protocols.Detection;
 import io.topologyreaders.exceptions.InvalidPolicyTagException;
 import io.topologyreaders.exceptions.TopologyParseException;
@@ -20,19 +21,35 @@ import static core.protocols.SSBGPProtocol.ssBGPProtocol;
  * The simple topology starts with a line containing the routing policy: "policy=(policy_tag)"
  * Followed by multiple router lines: "router=(routerID)|(MRAI)|(Detection)"
  * Followed by multiple link lines: "link=(sourceID)|(targetID)|(label)"
+ *
+ * Optionally, the policy of the topology read is compiled (see CompiledPolicy) after reading all links.
  */
 public class SimpleTopologyReader implements TopologyReader {
 
     private final BufferedReader fileReader;    // file reader used to parse the file
+    private final boolean compilePolicy;        // true to compile the policy of the topology
 
     /**
-     * Creates a new SimpleTopologyReader, given the File to read from.
+     * Creates a new SimpleTopologyReader, given the File to read from. The policy of the topology is not
+     * compiled.
      *
      * @param file the file to read from
      * @throws FileNotFoundException if the file can not be open for reading
      */
     public SimpleTopologyReader(File file) throws FileNotFoundException {
+        this(file, false);
+    }
+
+    /**
+     * Creates a new SimpleTopologyReader, given the File to read from.
+     *
+     * @param file          the file to read from
+     * @param compilePolicy true to compile the policy of the topology into lookup tables
+     * @throws FileNotFoundException if the file can not be open for reading
+     */
+    public SimpleTopologyReader(File file, boolean compilePolicy) throws FileNotFoundException {
         fileReader = new BufferedReader(new FileReader(file));
+        this.compilePolicy = compilePolicy;
     }
 
     /**
@@ -46,6 +63,10 @@ public class SimpleTopologyReader implements TopologyReader {
         // policy is specified in the first line
         LineEntry policyEntry = parseLine(fileReader.readLine(), 1);
         Policy policy = PolicyTagger.getPolicy(policyEntry.values[0]);
+        if (compilePolicy) {
+            // the policy is compiled into lookup tables once all labels are known
+            policy = new CompiledPolicy(policy);
+        }
 
         Topology topology = new Topology(policy, ssBGPProtocol());
 
@@ -86,6 +107,10 @@ public class SimpleTopologyReader implements TopologyReader {
 
         }
 
+        if (policy instanceof CompiledPolicy) {
+            ((CompiledPolicy) policy).compile();
+        }
+
         return topology;
     }
 
@@ -8,6 +8,24 @@ import java.io.FileNotFoundException;
  */
 public class SimpleTopologyReaderFactory implements TopologyReaderFactory {
 
+    private final boolean compilePolicy;    // true if the readers compile the policies of the topologies
+
+    /**
+     * Creates a factory of readers that do not compile the policies of the topologies.
+     */
+    public SimpleTopologyReaderFactory() {
+        this(false);
+    }
+
+    /**
+     * Creates a factory of readers that may compile the policies of the topologies into lookup tables.
+     *
+     * @param compilePolicy true to compile the policies of the topologies read.
+     */
+    public SimpleTopologyReaderFactory(boolean compilePolicy) {
+        this.compilePolicy = compilePolicy;
+    }
+
     /**
      * Creates a new SimpleTopologyReader instance.
      *
@@ -17,7 +35,7 @@ public class SimpleTopologyReaderFactory implements TopologyReaderFactory {
      */
     @Override
     public TopologyReader getTopologyReader(File topologyFile) throws FileNotFoundException {
-        return new SimpleTopologyReader(topologyFile);
+        return new SimpleTopologyReader(topologyFile, compilePolicy);
     }
 
 }
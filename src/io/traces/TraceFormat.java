@@ -0,0 +1,60 @@
+package io.traces;
+
+/**
+ * Layout of the binary event traces written by the trace recorder. A trace starts with a header holding
+ * a magic number, the format version and the position of the footer, followed by one fixed-width record
+ * per event and by the footer. Each record is a sequence of integers in big-endian order:
+ *
+ *  - time instant of the event
+ *  - event type
+ *  - ID of the router generating the event
+ *  - ID of the neighbour router (the other end of the link) or -1
+ *  - topology index of the link or -1
+ *  - code of the attribute of the main route of the event or -1 if there is no route
+ *  - code of the attribute of the other route of the event (previous selected route of select events and
+ *    alternative route of detect events) or -1 if there is no other route
+ *
+ * Start events store the seed in the router and neighbour fields and 1 in the attribute field if there
+ * is a seed. Threshold reached events store the threshold in the other attribute field. Oscillation events
+ * store the hash of the repeated state in the router and neighbour fields and the time at which the state
+ * was first recorded in the other attribute field. Budget exceeded events store the limit in the router and
+ * neighbour fields and the ordinal of the budget in the attribute field.
+ *
+ * The footer holds two Java-serialized objects: the list of recorded attributes, indexed by their codes,
+ * and an int[][] with the cycle of each detect event, in the order of the detect records. A cycle holds the
+ * IDs of the routers of the learned route's path, from its start up to and including the detecting router.
+ * The footer position is 0 until the recorder is closed.
+ */
+final class TraceFormat {
+
+    private TraceFormat() {}    // only contains constants
+
+    static final int MAGIC = 0x42475054;    // "BGPT"
+    static final int VERSION = 3;
+    static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    static final int FOOTER_POSITION_OFFSET = 2 * Integer.BYTES;
+
+    static final int FIELD_COUNT = 7;
+    static final int RECORD_SIZE = FIELD_COUNT * Integer.BYTES;
+
+    // number of records mapped at a time
+    static final int REGION_RECORDS = 1 << 16;
+
+    static final int NO_VALUE = -1;
+
+    // event types
+    static final int START = 0;
+    static final int END = 1;
+    static final int TERMINATE = 2;
+    static final int THRESHOLD_REACHED = 3;
+    static final int ARRIVAL = 4;
+    static final int IMPORT = 5;
+    static final int LEARN = 6;
+    static final int SELECT = 7;
+    static final int EXPORT = 8;
+    static final int ADVERTISEMENT = 9;
+    static final int DETECT = 10;
+    static final int OSCILLATION = 11;
+    static final int BUDGET_EXCEEDED = 12;
+
+}
@@ -0,0 +1,317 @@
+package io.traces;
+
+import core.*;
+import core.events.*;
+import core.events.BudgetExceededEvent.Budget;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import static core.InvalidAttribute.invalidAttr;
+import static core.InvalidRoute.invalidRoute;
+import static io.traces.TraceFormat.*;
+
+/**
+ * Replays the events of a trace written by a trace recorder. The events are re-created from the records in
+ * the trace and notified, in the order they were recorded, to the listeners registered with an event
+ * notifier. This allows analysing the events of a simulation without running it again.
+ *
+ * Routers and links are looked up in the topology used by the recorded simulations and attributes in the
+ * dictionary stored in the trace. Routes are re-created with the recorded attributes and empty paths, since
+ * paths are not recorded, except for the learned routes of detect events: their paths hold the recorded
+ * cycle, from the start of the path up to the detecting router, so that getCycle() returns the same cycle
+ * as in the simulation. Listeners needing other paths can not be fed from a trace. Links to destinations
+ * that do not belong to the topology are replayed as null.
+ */
+public class TraceReader {
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private final File traceFile;
+    private final Topology topology;
+    private final Link[] links;     // links of the topology indexed by their indexes
+
+    // dictionary and cycles stored in the footer of the trace being replayed
+    private List<Attribute> attributes;
+    private int[][] cycles;
+    private int nextCycle;
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates a new trace reader.
+     *
+     * @param traceFile file containing the trace.
+     * @param topology  topology used by the recorded simulations.
+     */
+    public TraceReader(File traceFile, Topology topology) {
+        this.traceFile = traceFile;
+        this.topology = topology;
+
+        int linkCount = 0;
+        for (Link link : topology.getLinks()) {
+            linkCount = Math.max(linkCount, link.getIndex() + 1);
+        }
+
+        this.links = new Link[linkCount];
+        for (Link link : topology.getLinks()) {
+            if (link.getIndex() >= 0) {
+                links[link.getIndex()] = link;
+            }
+        }
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Notifies all events in the trace to the listeners registered with the given event notifier. Events of
+     * types without listeners are skipped without being created.
+     *
+     * @param eventNotifier event notifier to notify the events to.
+     * @return the number of records read.
+     * @throws IOException if the trace can not be read or is not a valid trace.
+     */
+    public long replay(EventNotifier eventNotifier) throws IOException {
+
+        try (RandomAccessFile file = new RandomAccessFile(traceFile, "r")) {
+            FileChannel channel = file.getChannel();
+            long size = channel.size();
+
+            if (size < HEADER_SIZE) {
+                throw new IOException("invalid trace file size: " + size + " bytes");
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("not a trace file: " + traceFile);
+            }
+
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported trace version: " + version);
+            }
+
+            long footerPosition = header.getLong();
+            if (footerPosition == 0) {
+                throw new IOException("trace was not closed by the recorder: " + traceFile);
+            }
+
+            if (footerPosition < HEADER_SIZE || footerPosition > size
+                    || (footerPosition - HEADER_SIZE) % RECORD_SIZE != 0) {
+                throw new IOException("invalid trace footer position: " + footerPosition);
+            }
+
+            readFooter(channel, footerPosition);
+
+            long recordCount = 0;
+            long position = HEADER_SIZE;
+            while (position < footerPosition) {
+                long regionSize = Math.min(footerPosition - position, (long) REGION_RECORDS * RECORD_SIZE);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+
+                while (region.hasRemaining()) {
+                    notify(eventNotifier, region.getInt(), region.getInt(), region.getInt(), region.getInt(),
+                            region.getInt(), region.getInt(), region.getInt());
+                    recordCount++;
+                }
+
+                position += regionSize;
+            }
+
+            return recordCount;
+        }
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Reads the dictionary of attributes and the cycles of the detect events from the footer of the trace.
+     */
+    @SuppressWarnings("unchecked")
+    private void readFooter(FileChannel channel, long footerPosition) throws IOException {
+        // the stream is not closed because that would close the channel
+        ObjectInputStream footer = new ObjectInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel.position(footerPosition))));
+
+        try {
+            attributes = (List<Attribute>) footer.readObject();
+            cycles = (int[][]) footer.readObject();
+            nextCycle = 0;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("invalid trace footer: " + e.getMessage(), e);
+        }
+    }
+
+    private void notify(EventNotifier eventNotifier, int time, int type, int router, int neighbour, int link,
+                        int attribute, int otherAttribute) throws IOException {
+
+        switch (type) {
+            case START:
+                if (eventNotifier.hasStartListeners()) {
+                    Long seed = attribute == NO_VALUE ? null
+                            : ((long) router << 32) | (neighbour & 0xFFFFFFFFL);
+                    eventNotifier.notifyStartEvent(new StartEvent(time, seed));
+                }
+                break;
+
+            case END:
+                if (eventNotifier.hasEndListeners()) {
+                    eventNotifier.notifyEndEvent(new EndEvent(time));
+                }
+                break;
+
+            case TERMINATE:
+                if (eventNotifier.hasTerminateListeners()) {
+                    eventNotifier.notifyTerminateEvent(new TerminateEvent(time));
+                }
+                break;
+
+            case THRESHOLD_REACHED:
+                if (eventNotifier.hasThresholdReachedListeners()) {
+                    eventNotifier.notifyThresholdReachedEvent(new ThresholdReachedEvent(time, otherAttribute));
+                }
+                break;
+
+            case OSCILLATION:
+                if (eventNotifier.hasOscillationListeners()) {
+                    long state = ((long) router << 32) | (neighbour & 0xFFFFFFFFL);
+                    eventNotifier.notifyOscillationEvent(new OscillationEvent(time, otherAttribute, state));
+                }
+                break;
+
+            case BUDGET_EXCEEDED:
+                if (eventNotifier.hasBudgetExceededListeners()) {
+                    long limit = ((long) router << 32) | (neighbour & 0xFFFFFFFFL);
+                    Budget budget = Budget.values()[attribute];
+                    eventNotifier.notifyBudgetExceededEvent(new BudgetExceededEvent(time, budget, limit));
+                }
+                break;
+
+            case ARRIVAL:
+                if (eventNotifier.hasArrivalListeners()) {
+                    eventNotifier.notifyArrivalEvent(
+                            new ArrivalEvent(time, route(attribute), link(router, neighbour, link)));
+                }
+                break;
+
+            case IMPORT:
+                if (eventNotifier.hasImportListeners()) {
+                    eventNotifier.notifyImportEvent(
+                            new ImportEvent(time, route(attribute), link(router, neighbour, link)));
+                }
+                break;
+
+            case LEARN:
+                if (eventNotifier.hasLearnListeners()) {
+                    eventNotifier.notifyLearnEvent(
+                            new LearnEvent(time, link(router, neighbour, link), route(attribute)));
+                }
+                break;
+
+            case SELECT:
+                if (eventNotifier.hasSelectListeners()) {
+                    eventNotifier.notifySelectEvent(new SelectEvent(time, topology.getRouter(router),
+                            route(otherAttribute), route(attribute)));
+                }
+                break;
+
+            case EXPORT:
+                if (eventNotifier.hasExportListeners()) {
+                    eventNotifier.notifyExportEvent(
+                            new ExportEvent(time, link(router, neighbour, link), route(attribute)));
+                }
+                break;
+
+            case ADVERTISEMENT:
+                if (eventNotifier.hasAdvertisementListeners()) {
+                    eventNotifier.notifyAdvertisementEvent(
+                            new AdvertisementEvent(time, topology.getRouter(router), route(attribute)));
+                }
+                break;
+
+            case DETECT:
+                if (nextCycle >= cycles.length) {
+                    throw new IOException("trace has more detect events than recorded cycles");
+                }
+
+                int[] cycle = cycles[nextCycle++];
+                if (eventNotifier.hasDetectListeners()) {
+                    eventNotifier.notifyDetectEvent(new DetectEvent(time, link(router, neighbour, link),
+                            route(attribute, cycle), route(otherAttribute)));
+                }
+                break;
+
+            default:
+                throw new IOException("invalid event type in trace: " + type);
+        }
+    }
+
+    /**
+     * Looks up a link by its index or, for links without index, by its source and target routers.
+     */
+    private Link link(int source, int target, int index) {
+        if (index >= 0 && index < links.length && links[index] != null) {
+            return links[index];
+        }
+
+        Router targetRouter = topology.getRouter(target);
+        Router sourceRouter = topology.getRouter(source);
+        if (targetRouter == null || sourceRouter == null) return null;
+
+        return targetRouter.getInLink(sourceRouter);
+    }
+
+    /**
+     * Re-creates a route with the attribute with the given code and an empty path.
+     */
+    private Route route(int attributeCode) {
+        if (attributeCode == NO_VALUE) return null;
+
+        Attribute attribute = attributes.get(attributeCode);
+        return attribute == invalidAttr() ? invalidRoute() : new Route(attribute, new Path());
+    }
+
+    /**
+     * Re-creates a route with the attribute with the given code and a path with the routers with the given
+     * IDs.
+     */
+    private Route route(int attributeCode, int[] routerIds) throws IOException {
+        Route route = route(attributeCode);
+        if (route == null || route == invalidRoute()) return route;
+
+        Router[] routers = new Router[routerIds.length];
+        for (int i = 0; i < routers.length; i++) {
+            routers[i] = topology.getRouter(routerIds[i]);
+
+            if (routers[i] == null) {
+                throw new IOException("router of a detected cycle not in the topology: " + routerIds[i]);
+            }
+        }
+
+        return new Route(route.getAttribute(), new Path(routers));
+    }
+
+}
@@ -0,0 +1,301 @@
+package io.traces;
+
+import core.Attribute;
+import core.Link;
+import core.Path;
+import core.Route;
+import core.Router;
+import core.events.*;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+import static io.traces.TraceFormat.*;
+
+/**
+ * Records all events of the simulations notified by an event notifier to a binary trace file. Each event is
+ * written as a fixed-width record (see TraceFormat) to a memory-mapped region of the file, which avoids
+ * formatting and copying the events as the debugger does. Traces can be replayed with a trace reader.
+ *
+ * Routes are recorded by the code of their attributes. Codes are assigned to the attributes in the order
+ * in which they are first recorded. Closing the recorder writes the dictionary of attributes to the footer
+ * of the trace, which makes the trace self-contained. Paths are only recorded for detect events, up to the
+ * detecting router, which is the part of the path forming the cycle.
+ */
+public class TraceRecorder implements Closeable, StartListener, EndListener, TerminateListener,
+        ThresholdReachedListener, ArrivalListener, ImportListener, LearnListener, SelectListener,
+        ExportListener, AdvertisementListener, DetectListener, OscillationListener,
+        BudgetExceededListener {
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Fields
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    private final EventNotifier eventNotifier;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+
+    private MappedByteBuffer region;    // region of the file where the next records are written
+    private long position;              // position in the file of the next record
+    private long recordCount = 0;
+
+    // attributes are recorded by their codes - the code of an attribute is its index in the list
+    private final Map<Attribute, Integer> attributeCodes = new HashMap<>();
+    private final ArrayList<Attribute> attributes = new ArrayList<>();
+
+    // cycles of the detect events by order of detection - each holds the IDs of the routers in the cycle
+    private final List<int[]> cycles = new ArrayList<>();
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates a new trace recorder writing to the given file and registers it with the given event notifier
+     * to receive notifications of all events. If the file exists it is overwritten.
+     *
+     * @param traceFile     file to write the trace to.
+     * @param eventNotifier event notifier to register with.
+     * @throws IOException if the file can not be opened.
+     */
+    public TraceRecorder(File traceFile, EventNotifier eventNotifier) throws IOException {
+        this.file = new RandomAccessFile(traceFile, "rw");
+        this.channel = file.getChannel();
+        channel.truncate(0);
+
+        region = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + REGION_RECORDS * RECORD_SIZE);
+        region.putInt(MAGIC);
+        region.putInt(VERSION);
+        region.putLong(0);      // the footer position is only known once the recorder is closed
+        position = HEADER_SIZE;
+
+        this.eventNotifier = eventNotifier;
+        eventNotifier.addStartListener(this);
+        eventNotifier.addEndListener(this);
+        eventNotifier.addTerminateListener(this);
+        eventNotifier.addThresholdReachedListener(this);
+        eventNotifier.addOscillationListener(this);
+        eventNotifier.addBudgetExceededListener(this);
+        eventNotifier.addArrivalListener(this);
+        eventNotifier.addImportListener(this);
+        eventNotifier.addLearnListener(this);
+        eventNotifier.addSelectListener(this);
+        eventNotifier.addExportListener(this);
+        eventNotifier.addAdvertisementListener(this);
+        eventNotifier.addDetectListener(this);
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Public Interface
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Returns the number of events recorded so far.
+     *
+     * @return the number of events recorded so far.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Unregisters the recorder from the event notifier, writes the footer with the recorded attributes and
+     * cycles after the records written, and closes the trace file.
+     *
+     * @throws IOException if the footer can not be written or the file can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        eventNotifier.removeStartListener(this);
+        eventNotifier.removeEndListener(this);
+        eventNotifier.removeTerminateListener(this);
+        eventNotifier.removeThresholdReachedListener(this);
+        eventNotifier.removeOscillationListener(this);
+        eventNotifier.removeBudgetExceededListener(this);
+        eventNotifier.removeArrivalListener(this);
+        eventNotifier.removeImportListener(this);
+        eventNotifier.removeLearnListener(this);
+        eventNotifier.removeSelectListener(this);
+        eventNotifier.removeExportListener(this);
+        eventNotifier.removeAdvertisementListener(this);
+        eventNotifier.removeDetectListener(this);
+
+        region.force();
+        region = null;
+        channel.truncate(position);
+
+        try (ObjectOutputStream footer = new ObjectOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel.position(position))))) {
+            footer.writeObject(attributes);
+            footer.writeObject(cycles.toArray(new int[0][]));
+            footer.flush();
+
+            ByteBuffer footerPosition = ByteBuffer.allocate(Long.BYTES).putLong(0, position);
+            channel.write(footerPosition, FOOTER_POSITION_OFFSET);
+        } finally {
+            file.close();
+        }
+    }
+
+    @Override
+    public void onStarted(StartEvent event) {
+        Long seed = event.getSeed();
+
+        if (seed == null) {
+            write(event.getTimeInstant(), START, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE);
+        } else {
+            // the seed is split in two integers and the attribute field indicates there is a seed
+            write(event.getTimeInstant(), START, (int) (seed >>> 32), (int) seed.longValue(), NO_VALUE, 1,
+                    NO_VALUE);
+        }
+    }
+
+    @Override
+    public void onEnded(EndEvent event) {
+        write(event.getTimeInstant(), END, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE);
+    }
+
+    @Override
+    public void onTerminated(TerminateEvent event) {
+        write(event.getTimeInstant(), TERMINATE, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE);
+    }
+
+    @Override
+    public void onThresholdReached(ThresholdReachedEvent event) {
+        write(event.getTimeInstant(), THRESHOLD_REACHED, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE,
+                event.getThreshold());
+    }
+
+    @Override
+    public void onOscillation(OscillationEvent event) {
+        long state = event.getStateHash();
+        write(event.getTimeInstant(), OSCILLATION, (int) (state >>> 32), (int) state, NO_VALUE, NO_VALUE,
+                event.getFirstTime());
+    }
+
+    @Override
+    public void onBudgetExceeded(BudgetExceededEvent event) {
+        long limit = event.getLimit();
+        write(event.getTimeInstant(), BUDGET_EXCEEDED, (int) (limit >>> 32), (int) limit, NO_VALUE,
+                event.getBudget().ordinal(), NO_VALUE);
+    }
+
+    @Override
+    public void onArrival(ArrivalEvent event) {
+        write(event.getTimeInstant(), ARRIVAL, event.getLink(), event.getRoute(), null);
+    }
+
+    @Override
+    public void onImported(ImportEvent event) {
+        write(event.getTimeInstant(), IMPORT, event.getLink(), event.getRoute(), null);
+    }
+
+    @Override
+    public void onLearned(LearnEvent event) {
+        write(event.getTimeInstant(), LEARN, event.getLink(), event.getRoute(), null);
+    }
+
+    @Override
+    public void onSelected(SelectEvent event) {
+        write(event.getTimeInstant(), SELECT, event.getSelectingRouter().getId(), NO_VALUE, NO_VALUE,
+                code(event.getSelectedRoute()), code(event.getPreviousRoute()));
+    }
+
+    @Override
+    public void onExported(ExportEvent event) {
+        write(event.getTimeInstant(), EXPORT, event.getLink(), event.getRoute(), null);
+    }
+
+    @Override
+    public void onAdvertised(AdvertisementEvent event) {
+        write(event.getTimeInstant(), ADVERTISEMENT, event.getAdvertisingRouter().getId(), NO_VALUE, NO_VALUE,
+                code(event.getRoute()), NO_VALUE);
+    }
+
+    @Override
+    public void onDetected(DetectEvent event) {
+        write(event.getTimeInstant(), DETECT, event.getOutLink(), event.getLearnedRoute(),
+                event.getAlternativeRoute());
+
+        Path cycle = event.getLearnedRoute().getPath().getSubPathBefore(event.getDetectingRouter());
+        cycles.add(cycle == null ? new int[0] : cycle.stream().mapToInt(Router::getId).toArray());
+    }
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Private Helper Methods
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Writes a record of an event associated with a link. The source of the link is recorded as the router
+     * and the target as the neighbour.
+     */
+    private void write(int time, int type, Link link, Route route, Route otherRoute) {
+        if (link == null) {
+            write(time, type, NO_VALUE, NO_VALUE, NO_VALUE, code(route), code(otherRoute));
+        } else {
+            write(time, type, link.getSource().getId(), link.getTarget().getId(), link.getIndex(),
+                    code(route), code(otherRoute));
+        }
+    }
+
+    private void write(int time, int type, int router, int neighbour, int link, int attribute,
+                       int otherAttribute) {
+
+        if (region.remaining() < RECORD_SIZE) {
+            try {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, position, REGION_RECORDS * RECORD_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("failed to extend the trace file", e);
+            }
+        }
+
+        region.putInt(time);
+        region.putInt(type);
+        region.putInt(router);
+        region.putInt(neighbour);
+        region.putInt(link);
+        region.putInt(attribute);
+        region.putInt(otherAttribute);
+
+        position += RECORD_SIZE;
+        recordCount++;
+    }
+
+    /**
+     * Returns the code of the attribute of the given route, assigning a new code if the attribute was not
+     * recorded before.
+     */
+    private int code(Route route) {
+        if (route == null) return NO_VALUE;
+
+        Attribute attribute = route.getAttribute();
+        Integer code = attributeCodes.get(attribute);
+
+        if (code == null) {
+            code = attributes.size();
+            attributes.add(attribute);
+            attributeCodes.put(attribute, code);
+        }
+
+        return code;
+    }
+
+}
@@ -23,6 +23,22 @@ class BasicExecution extends Execution {
 
     @Override
     protected Experiment setupExperiment(Simulator simulator) {
+        return new BasicExperiment(
+                readDestination(simulator),
+                parameters.getRepetitionCount(),
+                new BasicSimulation(simulator),
+                parameters.getJobs()
+        );
+    }
+
+    /**
+     * Looks up the destination with the ID given in the parameters in the topology or, if it is not in the
+     * topology, in the anycast file.
+     *
+     * @param simulator simulator holding the topology.
+     * @return the destination with the ID given in the parameters.
+     */
+    protected Destination readDestination(Simulator simulator) {
 
         Topology topology = simulator.getTopology();
         int destinationId = parameters.getDestinationId();
@@ -57,11 +73,7 @@ class BasicExecution extends Execution {
 
         }
 
-        return new BasicExperiment(
-                destination,
-                parameters.getRepetitionCount(),
-                new BasicSimulation(simulator)
-        );
+        return destination;
     }
 
 }
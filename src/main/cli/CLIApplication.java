@@ -34,8 +34,12 @@ public class CLIApplication {
             application().progressHandler = new CLIProgressHandler();
 
             Execution execution;
-            if (parameters.getDestinationId() != null) {
+            if (parameters.getDestinationId() != null && parameters.isComparison()) {
+                execution = new ComparisonExecution(parameters);
+            } else if (parameters.getDestinationId() != null) {
                 execution = new BasicExecution(parameters);
+            } else if (parameters.isCampaign()) {
+                execution = new CampaignExecution(parameters);
             } else {
                 execution = new SequentialExecution(parameters);
             }
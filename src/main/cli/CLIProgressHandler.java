@@ -13,7 +13,8 @@ import java.util.List;
  */
 public class CLIProgressHandler implements ProgressHandler {
 
-    private long lastStartTime = System.currentTimeMillis();
+    // start times are kept per thread to measure the simulations running in parallel independently
+    private final ThreadLocal<Long> lastStartTime = ThreadLocal.withInitial(System::currentTimeMillis);
 
     /**
      * Invoked in the start of the execution.
@@ -117,14 +118,12 @@ public class CLIProgressHandler implements ProgressHandler {
         System.out.println(message);
 
         // store current time to measure execution time
-        lastStartTime = System.currentTimeMillis();
+        lastStartTime.set(System.currentTimeMillis());
     }
 
     private void printTimedFinishMessage(String message) {
-        System.out.print(message);
-
-        // store current time to measure execution time
-        System.out.println(String.format(": in %.02f seconds", (System.currentTimeMillis() - lastStartTime) / 1000.0));
+        System.out.println(message + String.format(": in %.02f seconds",
+                (System.currentTimeMillis() - lastStartTime.get()) / 1000.0));
     }
 
 }
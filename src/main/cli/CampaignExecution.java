@@ -0,0 +1,23 @@
+package main.cli;
+
+
+import simulators.CampaignExperiment;
+import simulators.Experiment;
+import simulators.Simulator;
+
+class CampaignExecution extends Execution {
+
+    public CampaignExecution(Parameters parameters) {
+        super(parameters);
+    }
+
+    @Override
+    protected Experiment setupExperiment(Simulator simulator) {
+        return new CampaignExperiment(
+                readDestinations(simulator),
+                parameters.getRepetitionCount(),
+                parameters.getJobs()
+        );
+    }
+
+}
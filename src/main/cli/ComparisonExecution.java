@@ -0,0 +1,24 @@
+package main.cli;
+
+import simulators.ComparisonExperiment;
+import simulators.ComparisonSimulation;
+import simulators.Experiment;
+import simulators.Simulator;
+
+class ComparisonExecution extends BasicExecution {
+
+    public ComparisonExecution(Parameters parameters) {
+        super(parameters);
+    }
+
+    @Override
+    protected Experiment setupExperiment(Simulator simulator) {
+        return new ComparisonExperiment(
+                readDestination(simulator),
+                parameters.getRepetitionCount(),
+                parameters.getConfigurations(),
+                new ComparisonSimulation(simulator)
+        );
+    }
+
+}
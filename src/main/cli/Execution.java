@@ -1,10 +1,20 @@
 package main.cli;
 
+import core.Destination;
+import core.Topology;
+import io.AnycastReader;
+import io.DestinationNotFoundException;
+import io.IntegerLineReader;
+import io.ParseException;
 import io.topologyreaders.exceptions.TopologyParseException;
 import simulators.Experiment;
 import simulators.Simulator;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static main.Application.application;
 
@@ -41,6 +51,7 @@ abstract class Execution {
             simulator = new Simulator(
                     parameters.getReaderFactory(),
                     parameters.getTopologyFile(),
+                    parameters.getSchedulerFactory(),
                     parameters.getMinDelay(),
                     parameters.getMaxDelay(),
                     parameters.getSeed(),
@@ -56,6 +67,26 @@ abstract class Execution {
             application().exitWithError();
         }
 
+        if (parameters.hasAsyncEvents()) {
+            simulator.setAsyncEvents(parameters.getEventBufferCapacity());
+        }
+
+        if (parameters.hasOscillationLimit()) {
+            simulator.setOscillationLimit(parameters.getOscillationLimit());
+        }
+
+        if (parameters.hasMessageBudget()) {
+            simulator.setMessageBudget(parameters.getMessageBudget());
+        }
+
+        if (parameters.hasWallTimeBudget()) {
+            simulator.setWallTimeBudget(parameters.getWallTimeBudget() * 1000L);
+        }
+
+        if (parameters.hasHeapBudget()) {
+            simulator.setHeapBudget(parameters.getHeapBudget() * 1024L * 1024L);
+        }
+
         if (parameters.hasForcedMRAI()) {
             simulator.setMRAI(parameters.forcedMRAI());
         }
@@ -69,4 +100,73 @@ abstract class Execution {
         return simulator;
     }
 
+    /**
+     * Reads the destinations listed in the destinations file. Destinations not found in the topology are
+     * looked up in the anycast file, if there is one.
+     *
+     * @param simulator simulator holding the topology.
+     * @return array with the destinations read.
+     */
+    protected Destination[] readDestinations(Simulator simulator) {
+
+        File destinationsFile = parameters.getDestinationsFile();
+
+        // load destinations file
+        List<Integer> destinationIds = null;
+        try (IntegerLineReader reader = new IntegerLineReader(destinationsFile)) {
+            destinationIds = reader.readValues();
+
+        } catch (IOException e) {
+            application().errorHandler.onDestinationsIOException(e);
+            application().exitWithError();
+
+        } catch (ParseException e) {
+            application().errorHandler.onDestinationsParseException(e);
+            application().exitWithError();
+        }
+
+        Topology topology = simulator.getTopology();
+        File anycastFile = parameters.getAnycastFile();
+
+        List<Destination> destinations = new ArrayList<>(destinationIds.size());
+        List<Integer> missingIds = new ArrayList<>(destinationIds.size());
+
+        // get destinations from IDs
+        for (Integer destinationId : destinationIds) {
+            Destination destination = topology.getRouter(destinationId);
+
+            if (destination == null) {
+                missingIds.add(destinationId);
+            } else {
+                destinations.add(destination);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            // destinations not found in the topology might be anycast destinations
+
+            if (anycastFile != null) { // check if we have an anycast file
+
+                try (AnycastReader reader = new AnycastReader(anycastFile, topology)) {
+                    Destination[] missingDestinations = reader.readThis(missingIds);
+                    Collections.addAll(destinations, missingDestinations);
+
+                } catch (DestinationNotFoundException e) {
+                    application().errorHandler.onDestinationNotFoundOnAnycastFile(e, anycastFile);
+                    application().exitWithError();
+
+                } catch (ParseException e) {
+                    application().errorHandler.onAnycastParseException(e);
+                    application().exitWithError();
+
+                } catch (IOException e) {
+                    application().errorHandler.onAnycastLoadIOException(e);
+                    application().exitWithError();
+                }
+            }
+        }
+
+        return destinations.toArray(new Destination[destinations.size()]);
+    }
+
 }
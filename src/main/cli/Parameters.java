@@ -1,9 +1,12 @@
 package main.cli;
 
 import core.protocols.Detection;
+import core.schedulers.RandomSchedulerFactory;
+import core.schedulers.SchedulerFactory;
 import io.topologyreaders.SimpleTopologyReaderFactory;
 import io.topologyreaders.TopologyReaderFactory;
 import org.apache.commons.cli.ParseException;
+import simulators.Configuration;
 
 import java.io.File;
 
@@ -21,6 +24,7 @@ public class Parameters {
 
     private final File topologyFile;
     private final TopologyReaderFactory readerFactory;
+    private final SchedulerFactory schedulerFactory;
     private final File reportDestination;
     private final File anycastFile;
     private final int minDelay;
@@ -34,6 +38,14 @@ public class Parameters {
     private final Integer forcedMRAI;
     private final Detection forcedDetection;
     private final int threshold;
+    private final boolean campaign;
+    private final int jobs;
+    private final int eventBufferCapacity;
+    private final Configuration[] configurations;
+    private final int oscillationLimit;
+    private final int messageBudget;
+    private final int wallTimeBudget;
+    private final int heapBudget;
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -44,13 +56,17 @@ public class Parameters {
     /**
      * Creates a new parameters object with all the necessary parameters set.
      */
-    private Parameters(File topologyFile, TopologyReaderFactory readerFactory, File reportDestination,
+    private Parameters(File topologyFile, TopologyReaderFactory readerFactory,
+                       SchedulerFactory schedulerFactory, File reportDestination,
                        File anycastFile, int minDelay, int maxDelay,
                        Integer destinationId, File destinationsFile, Integer repetitionCount, Integer permutationCount, Long seed,
-                       Long permutationSeed, Integer forcedMRAI, Detection forcedDetection, int threshold) {
+                       Long permutationSeed, Integer forcedMRAI, Detection forcedDetection, int threshold,
+                       boolean campaign, int jobs, int eventBufferCapacity, Configuration[] configurations,
+                       int oscillationLimit, int messageBudget, int wallTimeBudget, int heapBudget) {
 
         this.topologyFile = topologyFile;
         this.readerFactory = readerFactory;
+        this.schedulerFactory = schedulerFactory;
         this.reportDestination = reportDestination;
         this.anycastFile = anycastFile;
         this.minDelay = minDelay;
@@ -64,6 +80,14 @@ public class Parameters {
         this.forcedMRAI = forcedMRAI;
         this.forcedDetection = forcedDetection;
         this.threshold = threshold;
+        this.campaign = campaign;
+        this.jobs = jobs;
+        this.eventBufferCapacity = eventBufferCapacity;
+        this.configurations = configurations;
+        this.oscillationLimit = oscillationLimit;
+        this.messageBudget = messageBudget;
+        this.wallTimeBudget = wallTimeBudget;
+        this.heapBudget = heapBudget;
     }
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
@@ -80,6 +104,10 @@ public class Parameters {
         return readerFactory;
     }
 
+    public SchedulerFactory getSchedulerFactory() {
+        return schedulerFactory;
+    }
+
     public File getReportDestination() {
         return reportDestination;
     }
@@ -148,6 +176,68 @@ public class Parameters {
         return threshold;
     }
 
+    public boolean isCampaign() {
+        return campaign;
+    }
+
+    public int getJobs() {
+        return jobs;
+    }
+
+    public boolean hasAsyncEvents() {
+        return eventBufferCapacity > 0;
+    }
+
+    public int getEventBufferCapacity() {
+        return eventBufferCapacity;
+    }
+
+    public boolean isComparison() {
+        return configurations != null;
+    }
+
+    public Configuration[] getConfigurations() {
+        return configurations;
+    }
+
+    public boolean hasOscillationLimit() {
+        return oscillationLimit > 0;
+    }
+
+    public int getOscillationLimit() {
+        return oscillationLimit;
+    }
+
+    public boolean hasMessageBudget() {
+        return messageBudget > 0;
+    }
+
+    public int getMessageBudget() {
+        return messageBudget;
+    }
+
+    public boolean hasWallTimeBudget() {
+        return wallTimeBudget > 0;
+    }
+
+    /**
+     * Returns the wall-clock time budget of each simulation in seconds.
+     */
+    public int getWallTimeBudget() {
+        return wallTimeBudget;
+    }
+
+    public boolean hasHeapBudget() {
+        return heapBudget > 0;
+    }
+
+    /**
+     * Returns the heap budget of each simulation in megabytes.
+     */
+    public int getHeapBudget() {
+        return heapBudget;
+    }
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Builder
@@ -171,6 +261,7 @@ public class Parameters {
 
         // optional parameters
         private TopologyReaderFactory readerFactory = new SimpleTopologyReaderFactory();
+        private SchedulerFactory schedulerFactory = new RandomSchedulerFactory();
         private File anycastFile = null;
         private int minDelay = 0;
         private int maxDelay = 10;
@@ -183,6 +274,14 @@ public class Parameters {
         private Integer forcedMRAI = null;
         private Detection forcedDetection = null;
         private int threshold = Integer.MAX_VALUE;
+        private boolean campaign = false;
+        private int jobs = 1;
+        private int eventBufferCapacity = 0;
+        private Configuration[] configurations = null;
+        private int oscillationLimit = 0;
+        private int messageBudget = 0;
+        private int wallTimeBudget = 0;
+        private int heapBudget = 0;
 
         public Builder(File topologyFile, File reportDestination) {
             this.topologyFile = topologyFile;
@@ -200,6 +299,13 @@ public class Parameters {
             return this;
         }
 
+        public Builder schedulerFactory(SchedulerFactory schedulerFactory) {
+            if (schedulerFactory != null)
+                this.schedulerFactory = schedulerFactory;
+
+            return this;
+        }
+
         public Builder anycastFile(File anycastFile) {
             this.anycastFile = anycastFile;
             return this;
@@ -266,15 +372,93 @@ public class Parameters {
             return this;
         }
 
+        public Builder campaign(boolean campaign) {
+            this.campaign = campaign;
+            return this;
+        }
+
+        public Builder jobs(Integer jobs) {
+            if (jobs != null)
+                this.jobs = jobs;
+
+            return this;
+        }
+
+        public Builder eventBufferCapacity(Integer eventBufferCapacity) {
+            if (eventBufferCapacity != null)
+                this.eventBufferCapacity = eventBufferCapacity;
+
+            return this;
+        }
+
+        public Builder configurations(Configuration[] configurations) {
+            this.configurations = configurations;
+            return this;
+        }
+
+        public Builder oscillationLimit(Integer oscillationLimit) {
+            if (oscillationLimit != null)
+                this.oscillationLimit = oscillationLimit;
+
+            return this;
+        }
+
+        public Builder messageBudget(Integer messageBudget) {
+            if (messageBudget != null)
+                this.messageBudget = messageBudget;
+
+            return this;
+        }
+
+        public Builder wallTimeBudget(Integer wallTimeBudget) {
+            if (wallTimeBudget != null)
+                this.wallTimeBudget = wallTimeBudget;
+
+            return this;
+        }
+
+        public Builder heapBudget(Integer heapBudget) {
+            if (heapBudget != null)
+                this.heapBudget = heapBudget;
+
+            return this;
+        }
+
         public Parameters build() throws ParseException {
 
             if (destinationsFile == null && destinationId == null) {
                 throw new ParseException("Missing both the destinations file and the destination ID");
             }
 
-            return new Parameters(topologyFile, readerFactory, reportDestination,
+            if (campaign && destinationsFile == null) {
+                throw new ParseException("A campaign requires the destinations file");
+            }
+
+            if (jobs < 1) {
+                throw new ParseException("The number of jobs must be at least 1");
+            }
+
+            if (eventBufferCapacity < 0) {
+                throw new ParseException("The event buffer capacity can not be negative");
+            }
+
+            if (configurations != null && destinationId == null) {
+                throw new ParseException("A comparison requires the destination ID");
+            }
+
+            if (oscillationLimit < 0) {
+                throw new ParseException("The oscillation limit can not be negative");
+            }
+
+            if (messageBudget < 0 || wallTimeBudget < 0 || heapBudget < 0) {
+                throw new ParseException("The budgets can not be negative");
+            }
+
+            return new Parameters(topologyFile, readerFactory, schedulerFactory, reportDestination,
                     anycastFile, minDelay, maxDelay, destinationId, destinationsFile, repetitionCount,
-                    permutationCount, seed, permutationSeed, forcedMRAI, forcedDetection, threshold);
+                    permutationCount, seed, permutationSeed, forcedMRAI, forcedDetection, threshold,
+                    campaign, jobs, eventBufferCapacity, configurations, oscillationLimit, messageBudget,
+                    wallTimeBudget, heapBudget);
         }
 
     }
@@ -2,10 +2,16 @@ package main.cli;
 
 
 import core.protocols.Detection;
+import core.schedulers.CalendarSchedulerFactory;
+import core.schedulers.LinkDelaysSchedulerFactory;
+import core.schedulers.LinkQueueSchedulerFactory;
+import core.schedulers.RandomSchedulerFactory;
+import core.schedulers.SchedulerFactory;
 import io.topologyreaders.SimpleTopologyReaderFactory;
 import io.topologyreaders.TopologyReaderFactory;
 import io.topologyreaders.exceptions.TopologyParseException;
 import org.apache.commons.cli.*;
+import simulators.Configuration;
 
 import java.io.File;
 
@@ -35,6 +41,17 @@ public class ParametersCommandLineParser {
     private static final String MRAI = "MRAI";
     private static final String DETECTION = "detection";
     private static final String THRESHOLD = "threshold";
+    private static final String CAMPAIGN = "campaign";
+    private static final String JOBS = "jobs";
+    private static final String SCHEDULER = "scheduler";
+    private static final String ASYNC_EVENTS = "async-events";
+    private static final String LINK_DELAYS = "link-delays";
+    private static final String COMPARE = "compare";
+    private static final String OSCILLATION = "oscillation";
+    private static final String MAX_MESSAGES = "max-messages";
+    private static final String MAX_TIME = "max-time";
+    private static final String MAX_HEAP = "max-heap";
+    private static final String COMPILE_POLICY = "compile-policy";
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -61,6 +78,29 @@ public class ParametersCommandLineParser {
         options.addOption("MRAI", MRAI, true, "MRAI value to force");
         options.addOption("d", DETECTION, true, "detection method to force (D0 | D1 | D2)");
         options.addOption("th", THRESHOLD, true, "value for the threshold");
+        options.addOption("cmp", CAMPAIGN, false, "simulates each destination in the destinations file " +
+                "independently");
+        options.addOption("j", JOBS, true, "number of simulations to run in parallel");
+        options.addOption("sched", SCHEDULER, true, "scheduler implementation to use " +
+                "(random | calendar | links)");
+        options.addOption("ae", ASYNC_EVENTS, true, "delivers events to listeners in a separate thread " +
+                "using a buffer with the given capacity");
+        options.addOption("ld", LINK_DELAYS, false, "gives each link its own stream of delays, which " +
+                "makes delays independent of the order in which messages are processed");
+        options.addOption("cfg", COMPARE, true, "compares configurations with the same delays: " +
+                "comma-separated list of configurations, each a detection method, an MRAI value or both " +
+                "(e.g. D1,D2:30) - implies link delays");
+        options.addOption("osc", OSCILLATION, true, "stops simulations once their global state repeats " +
+                "the given number of times, reporting them as oscillating");
+        options.addOption("mm", MAX_MESSAGES, true, "aborts simulations after processing the given number " +
+                "of messages");
+        options.addOption("mt", MAX_TIME, true, "aborts simulations running for longer than the given " +
+                "number of seconds");
+        options.addOption("mh", MAX_HEAP, true, "aborts simulations once the used heap grows by the given " +
+                "number of megabytes");
+        options.addOption("cp", COMPILE_POLICY, false, "compiles the policy into lookup tables after " +
+                "reading the topology - faster for the siblings policy, slower for the Gao-Rexford and " +
+                "Peer+ policies and no faster for the shortest path policy");
     }
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
@@ -86,6 +126,7 @@ public class ParametersCommandLineParser {
 
         return new Parameters.Builder(topologyFile, reportDestination)
                 .readerFactory(getReader(commandLine))
+                .schedulerFactory(getSchedulerFactory(commandLine))
                 .anycastFile(getAnycastFile(commandLine))
                 .destinationId(getDestinationId(commandLine))
                 .destinationsFile(getDestinationsFile(commandLine))
@@ -98,6 +139,14 @@ public class ParametersCommandLineParser {
                 .forcedMRAI(getForcedMRAI(commandLine))
                 .forcedDetection(getForcedDetection(commandLine))
                 .threshold(getThreshold(commandLine))
+                .campaign(commandLine.hasOption(CAMPAIGN))
+                .jobs(getJobs(commandLine))
+                .eventBufferCapacity(getEventBufferCapacity(commandLine))
+                .configurations(getConfigurations(commandLine))
+                .oscillationLimit(getOscillationLimit(commandLine))
+                .messageBudget(getMessageBudget(commandLine))
+                .wallTimeBudget(getWallTimeBudget(commandLine))
+                .heapBudget(getHeapBudget(commandLine))
                 .build();
     }
 
@@ -141,13 +190,55 @@ public class ParametersCommandLineParser {
 
     /**
      * Obtains the input format of the topology file from the command line and returns the appropriate reader
-     * factory. This is an optional argument, by default returns the simple topology reader.
+     * factory. This is an optional argument, by default returns the simple topology reader. The readers
+     * compile the policy of the topology if the compile policy option is given.
      *
      * @param commandLine command line containing the parsed options.
      * @return reader factory instance.
      */
     private TopologyReaderFactory getReader(CommandLine commandLine) {
-        return new SimpleTopologyReaderFactory();
+        return new SimpleTopologyReaderFactory(commandLine.hasOption(COMPILE_POLICY));
+    }
+
+    /**
+     * Obtains the scheduler implementation from the command line and returns the appropriate scheduler
+     * factory. This is an optional argument, in case it is missing null will be returned. If link delays
+     * are enabled, or configurations are compared, the factory (or the default random scheduler factory)
+     * is wrapped to enable link delays.
+     *
+     * @param commandLine command line containing the parsed options.
+     * @return scheduler factory instance or null if the argument does not exist.
+     * @throws ParseException if the option is available but the argument value is not a valid scheduler.
+     */
+    private SchedulerFactory getSchedulerFactory(CommandLine commandLine) throws ParseException {
+        SchedulerFactory schedulerFactory = getBaseSchedulerFactory(commandLine);
+
+        if (commandLine.hasOption(LINK_DELAYS) || commandLine.hasOption(COMPARE)) {
+            return new LinkDelaysSchedulerFactory(
+                    schedulerFactory != null ? schedulerFactory : new RandomSchedulerFactory());
+        } else {
+            return schedulerFactory;
+        }
+    }
+
+    private SchedulerFactory getBaseSchedulerFactory(CommandLine commandLine) throws ParseException {
+
+        if (commandLine.hasOption(SCHEDULER)) {
+            switch (commandLine.getOptionValue(SCHEDULER)) {
+                case "random":
+                    return new RandomSchedulerFactory();
+                case "calendar":
+                    return new CalendarSchedulerFactory();
+                case "links":
+                    return new LinkQueueSchedulerFactory();
+                default:
+                    throw new ParseException(String.format("'%s' is not a valid scheduler",
+                            commandLine.getOptionValue(SCHEDULER)));
+            }
+
+        } else {
+            return null;
+        }
     }
 
     /**
@@ -356,6 +447,123 @@ public class ParametersCommandLineParser {
         return getOptionalIntegerParameter(commandLine, THRESHOLD, "threshold");
     }
 
+    /**
+     * Obtains the number of jobs from the command line. This is an optional argument, in case it is
+     * missing null will be returned.
+     *
+     * @param commandLine command line containing the parsed options.
+     * @return the parsed number of jobs or null if the argument does not exist.
+     * @throws ParseException if the option is available but the argument value is not a signed integer.
+     */
+    private Integer getJobs(CommandLine commandLine) throws ParseException {
+        return getOptionalIntegerParameter(commandLine, JOBS, "number of jobs");
+    }
+
+    /**
+     * Obtains the number of times the global state of a simulation must repeat for the simulation to be
+     * stopped as oscillating from the command line. This is an optional argument, in case it is missing null
+     * will be returned.
+     *
+     * @param commandLine command line containing the parsed options.
+     * @return the parsed oscillation limit or null if the argument does not exist.
+     * @throws ParseException if the option is available but the argument value is not a signed integer.
+     */
+    private Integer getOscillationLimit(CommandLine commandLine) throws ParseException {
+        return getOptionalIntegerParameter(commandLine, OSCILLATION, "oscillation limit");
+    }
+
+    /**
+     * Obtains the maximum number of messages each simulation may process from the command line. This is an
+     * optional argument, in case it is missing null will be returned.
+     *
+     * @param commandLine command line containing the parsed options.
+     * @return the parsed message budget or null if the argument does not exist.
+     * @throws ParseException if the option is available but the argument value is not a signed integer.
+     */
+    private Integer getMessageBudget(CommandLine commandLine) throws ParseException {
+        return getOptionalIntegerParameter(commandLine, MAX_MESSAGES, "message budget");
+    }
+
+    /**
+     * Obtains the maximum wall-clock time, in seconds, each simulation may run for from the command line.
+     * This is an optional argument, in case it is missing null will be returned.
+     *
+     * @param commandLine command line containing the parsed options.
+     * @return the parsed wall-clock time budget or null if the argument does not exist.
+     * @throws ParseException if the option is available but the argument value is not a signed integer.
+     */
+    private Integer getWallTimeBudget(CommandLine commandLine) throws ParseException {
+        return getOptionalIntegerParameter(commandLine, MAX_TIME, "wall-clock time budget");
+    }
+
+    /**
+     * Obtains the maximum heap growth, in megabytes, allowed to each simulation from the command line. This
+     * is an optional argument, in case it is missing null will be returned.
+     *
+     * @param commandLine command line containing the parsed options.
+     * @return the parsed heap budget or null if the argument does not exist.
+     * @throws ParseException if the option is available but the argument value is not a signed integer.
+     */
+    private Integer getHeapBudget(CommandLine commandLine) throws ParseException {
+        return getOptionalIntegerParameter(commandLine, MAX_HEAP, "heap budget");
+    }
+
+    /**
+     * Obtains the capacity of the buffer used to deliver events asynchronously from the command line. This
+     * is an optional argument, in case it is missing null will be returned.
+     *
+     * @param commandLine command line containing the parsed options.
+     * @return the parsed event buffer capacity or null if the argument does not exist.
+     * @throws ParseException if the option is available but the argument value is not a signed integer.
+     */
+    private Integer getEventBufferCapacity(CommandLine commandLine) throws ParseException {
+        return getOptionalIntegerParameter(commandLine, ASYNC_EVENTS, "event buffer capacity");
+    }
+
+    /**
+     * Obtains the configurations to compare from the command line. This is an optional argument, in case it
+     * is missing null will be returned. Configurations are separated by commas and each configuration is a
+     * detection tag, an MRAI value, or a detection tag and an MRAI value separated by a colon.
+     *
+     * @param commandLine command line containing the parsed options.
+     * @return the parsed configurations or null if the argument does not exist.
+     * @throws ParseException if the option is available but one of the configurations is not valid.
+     */
+    private Configuration[] getConfigurations(CommandLine commandLine) throws ParseException {
+
+        if (!commandLine.hasOption(COMPARE)) {
+            return null;
+        }
+
+        String[] labels = commandLine.getOptionValue(COMPARE).split(",");
+        Configuration[] configurations = new Configuration[labels.length];
+
+        for (int i = 0; i < labels.length; i++) {
+            String label = labels[i].trim();
+            Integer mrai = null;
+            Detection detection = null;
+
+            for (String setting : label.split(":")) {
+                try {
+                    if (!setting.isEmpty() && Character.isDigit(setting.charAt(0)) && mrai == null) {
+                        mrai = Integer.parseInt(setting);
+                    } else if (detection == null) {
+                        detection = Detection.parseDetection(setting);
+                    } else {
+                        throw new ParseException(String.format("'%s' is not a valid configuration", label));
+                    }
+
+                } catch (NumberFormatException | TopologyParseException e) {
+                    throw new ParseException(String.format("'%s' is not a valid configuration", label));
+                }
+            }
+
+            configurations[i] = new Configuration(label, mrai, detection);
+        }
+
+        return configurations;
+    }
+
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
      *  Helper method to create common error messages
@@ -3,25 +3,57 @@ package simulators;
 import core.Destination;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * A basic experiment repeats the simulation of one destination a given number of times. Repetitions may be
+ * distributed over several workers, each simulating with its own fork of the simulator. The seed of each
+ * repetition is taken from the simulator before the workers start, and repetitions are reported in order.
+ * Therefore, the reports are the same regardless of the number of workers.
+ */
 public class BasicExperiment implements Experiment {
 
     protected Destination destination;
     protected final int repetitionCount;
     protected final BasicSimulation simulation;
+    private final int workerCount;
 
     protected int currentRepetition = -1;
 
+    // with multiple workers, repetitions are reported in order: this is the next one to report
+    private int nextReportedRepetition = 0;
+
     public  BasicExperiment(Destination destination, int repetitionCount,
                             BasicSimulation simulation) {
+        this(destination, repetitionCount, simulation, 1);
+    }
+
+    public BasicExperiment(Destination destination, int repetitionCount, BasicSimulation simulation,
+                           int workerCount) {
+
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("number of workers must be at least 1: got " + workerCount);
+        }
+
         this.destination = destination;
         this.repetitionCount = repetitionCount;
         this.simulation = simulation;
+        this.workerCount = workerCount;
     }
 
     @Override
     public void run(Simulator simulator) throws IOException {
 
+        if (workerCount > 1 && repetitionCount > 1) {
+            runInParallel(simulator);
+            return;
+        }
+
         for (currentRepetition = 0; currentRepetition < repetitionCount; currentRepetition++) {
             simulation.setup(this, simulator);
             simulation.run(this, simulator);
@@ -31,10 +63,20 @@ public class BasicExperiment implements Experiment {
 
     }
 
+    @Override
+    public void cleanup(Simulator simulator) {
+        // the simulation is not used after the experiment
+        simulation.unregister();
+    }
+
     public int getRepetitionCount() {
         return repetitionCount;
     }
 
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
     public Destination getDestination() {
         return destination;
     }
@@ -47,4 +89,94 @@ public class BasicExperiment implements Experiment {
         return currentRepetition;
     }
 
+    /**
+     * Distributes the repetitions over the workers. Each worker takes the next repetition not taken yet
+     * and simulates it with the seed the simulator would use for that repetition in a serial run.
+     */
+    private void runInParallel(Simulator simulator) throws IOException {
+
+        long[] seeds = new long[repetitionCount];
+        for (int repetition = 0; repetition < repetitionCount; repetition++) {
+            seeds[repetition] = simulator.nextSeed();
+        }
+
+        int threadCount = Math.min(workerCount, repetitionCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        AtomicInteger nextRepetition = new AtomicInteger(0);
+        nextReportedRepetition = 0;
+
+        try {
+            for (int worker = 0; worker < threadCount; worker++) {
+                completionService.submit(() -> {
+                    simulate(simulator.fork(), seeds, nextRepetition);
+                    return null;
+                });
+            }
+
+            // waits in order of completion: a failed worker must not be stuck behind one waiting to report
+            for (int worker = 0; worker < threadCount; worker++) {
+                Futures.waitFor(completionService.take());
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for simulations to finish");
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        currentRepetition = repetitionCount;
+    }
+
+    /**
+     * Simulates repetitions with the given fork until all repetitions were taken.
+     */
+    private void simulate(Simulator fork, long[] seeds, AtomicInteger nextRepetition)
+            throws IOException, InterruptedException {
+
+        // each worker has its own view of the experiment, holding the repetition it is simulating
+        BasicExperiment experiment = new BasicExperiment(destination, repetitionCount,
+                new BasicSimulation(fork));
+        BasicSimulation simulation = experiment.simulation;
+
+        try {
+            int repetition;
+            while ((repetition = nextRepetition.getAndIncrement()) < repetitionCount) {
+                experiment.currentRepetition = repetition;
+                fork.setSeed(seeds[repetition]);
+
+                simulation.setup(experiment, fork);
+                simulation.run(experiment, fork);
+
+                awaitReportTurn(repetition);
+                try {
+                    simulation.report(experiment, fork);
+                } finally {
+                    finishReport();
+                }
+
+                simulation.cleanup(experiment, fork);
+            }
+
+        } finally {
+            experiment.cleanup(fork);
+        }
+    }
+
+    /**
+     * Blocks until all repetitions before the given one have been reported.
+     */
+    private synchronized void awaitReportTurn(int repetition) throws InterruptedException {
+        while (nextReportedRepetition != repetition) {
+            wait();
+        }
+    }
+
+    private synchronized void finishReport() {
+        nextReportedRepetition++;
+        notifyAll();
+    }
+
 }
@@ -1,7 +1,5 @@
 package simulators;
 
-import core.Link;
-import core.Router;
 import io.reporters.BasicReporter;
 import org.apache.commons.io.FilenameUtils;
 import simulators.basic.BasicDataCollector;
@@ -11,10 +9,11 @@ import java.io.IOException;
 
 public class BasicSimulation {
 
-    private final BasicDataCollector dataCollector = new BasicDataCollector();
+    private final BasicDataCollector dataCollector;
     private final BasicReporter reporter = new BasicReporter();
 
     public BasicSimulation(Simulator simulator) {
+        dataCollector = new BasicDataCollector(simulator.getEventNotifier());
         reporter.setReportDirectory(simulator.getReportDestination());
     }
 
@@ -45,28 +44,16 @@ public class BasicSimulation {
     }
 
     public void cleanup(BasicExperiment experiment, Simulator simulator) {
+        // reset the routers and links - the arrival times are reset by the scheduler
+        simulator.getContext().reset();
+    }
 
-        // reset the routers
-        for (Router router : simulator.getTopology().getRouters()) {
-
-            router.getTable().reset();
-            router.getMRAITimer().clear();
-
-            // reset router's links
-            for (Link link : router.getInLinks()) {
-                link.setTurnedOff(false);
-                link.setLastArrivalTime(0);
-            }
-
-        }
-
-        // guarantee the arrival times of the destination's in-links are reset to 0
-        for (Link link : experiment.getDestination().getInLinks()) {
-            link.setLastArrivalTime(0);
-        }
-
-        experiment.getDestination().getMRAITimer().clear();
-
+    /**
+     * Unregisters the data collector from the simulator's event notifier. The simulation can not be used
+     * after calling this method.
+     */
+    public void unregister() {
+        dataCollector.unregister();
     }
 
 }
@@ -0,0 +1,91 @@
+package simulators;
+
+import core.Destination;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A campaign experiment simulates each destination independently, exactly as a basic experiment would for
+ * that destination. Destinations are distributed over a fixed number of workers. Each destination is
+ * simulated with its own fork of the simulator, starting from the seed of the simulator's next simulation
+ * and reporting to its own file. Therefore, the reports are the same regardless of the number of workers.
+ *
+ * Forks notify events through their own event notifiers. Listeners registered with the simulator's event
+ * notifier, such as a trace recorder, do not receive the events of the campaign's simulations.
+ */
+public class CampaignExperiment implements Experiment {
+
+    private final Destination[] destinations;
+    private final int repetitionCount;
+    private final int workerCount;
+
+    public CampaignExperiment(Destination[] destinations, int repetitionCount, int workerCount) {
+
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("number of workers must be at least 1: got " + workerCount);
+        }
+
+        this.destinations = destinations;
+        this.repetitionCount = repetitionCount;
+        this.workerCount = workerCount;
+    }
+
+    @Override
+    public void run(Simulator simulator) throws IOException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(workerCount, destinations.length)));
+
+        try {
+            List<Future<?>> results = new ArrayList<>(destinations.length);
+            long seed = simulator.nextSeed();
+
+            for (Destination destination : destinations) {
+                results.add(executor.submit(() -> {
+                    Simulator fork = simulator.fork();
+                    fork.setSeed(seed);
+                    simulate(fork, destination);
+                    return null;
+                }));
+            }
+
+            for (Future<?> result : results) {
+                Futures.waitFor(result);
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    public int getRepetitionCount() {
+        return repetitionCount;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public Destination[] getDestinations() {
+        return destinations;
+    }
+
+    /**
+     * Runs all repetitions for one destination using the given simulator fork.
+     */
+    private void simulate(Simulator fork, Destination destination) throws IOException {
+        BasicExperiment experiment = new BasicExperiment(destination, repetitionCount,
+                new BasicSimulation(fork));
+
+        experiment.setup(fork);
+        experiment.run(fork);
+        experiment.cleanup(fork);
+    }
+
+}
@@ -0,0 +1,130 @@
+package simulators;
+
+import core.Destination;
+import core.Router;
+import core.protocols.Detection;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A comparison experiment simulates one destination under several configurations using common random
+ * numbers. In each repetition, every configuration is simulated with the same seed and, therefore, with the
+ * same delays. With link delays enabled, the k-th message sent through a link has the same delay in every
+ * configuration, which means that differences between the runs of a repetition are caused by the
+ * configurations and not by the delays. Runs are reported paired with the run of the first configuration
+ * in the same repetition.
+ *
+ * Configurations are applied to the simulator's topology. The settings of the topology are restored after
+ * each run and when the experiment finishes.
+ */
+public class ComparisonExperiment implements Experiment {
+
+    private final Destination destination;
+    private final int repetitionCount;
+    private final Configuration[] configurations;
+    private final ComparisonSimulation simulation;
+
+    private int currentRepetition = -1;
+    private int currentConfiguration = -1;
+
+    // settings of the routers before applying any configuration
+    private List<Router> routers = new ArrayList<>();
+    private int[] originalMRAIs = new int[0];
+    private Detection[] originalDetections = new Detection[0];
+
+    public ComparisonExperiment(Destination destination, int repetitionCount, Configuration[] configurations,
+                                ComparisonSimulation simulation) {
+
+        if (configurations.length == 0) {
+            throw new IllegalArgumentException("a comparison requires at least one configuration");
+        }
+
+        this.destination = destination;
+        this.repetitionCount = repetitionCount;
+        this.configurations = configurations;
+        this.simulation = simulation;
+    }
+
+    @Override
+    public void setup(Simulator simulator) {
+        routers = new ArrayList<>(simulator.getTopology().getRouters());
+        originalMRAIs = new int[routers.size()];
+        originalDetections = new Detection[routers.size()];
+
+        for (int i = 0; i < routers.size(); i++) {
+            originalMRAIs[i] = routers.get(i).getMRAI();
+            originalDetections[i] = routers.get(i).getDetection();
+        }
+    }
+
+    @Override
+    public void run(Simulator simulator) throws IOException {
+
+        try {
+            for (currentRepetition = 0; currentRepetition < repetitionCount; currentRepetition++) {
+                long seed = simulator.nextSeed();
+                simulation.setup(this, simulator);
+
+                for (currentConfiguration = 0; currentConfiguration < configurations.length;
+                     currentConfiguration++) {
+
+                    restoreSettings();
+                    configurations[currentConfiguration].apply(simulator.getTopology());
+                    simulator.setSeed(seed);
+
+                    simulation.run(this, simulator);
+                }
+
+                simulation.report(this, simulator);
+                simulation.cleanup(this, simulator);
+            }
+
+        } finally {
+            restoreSettings();
+        }
+
+    }
+
+    @Override
+    public void cleanup(Simulator simulator) {
+        // the simulation is not used after the experiment
+        simulation.unregister();
+    }
+
+    public Destination getDestination() {
+        return destination;
+    }
+
+    public int getRepetitionCount() {
+        return repetitionCount;
+    }
+
+    public Configuration[] getConfigurations() {
+        return configurations;
+    }
+
+    public int getCurrentRepetition() {
+        return currentRepetition;
+    }
+
+    public int getCurrentConfigurationIndex() {
+        return currentConfiguration;
+    }
+
+    public Configuration getCurrentConfiguration() {
+        return configurations[currentConfiguration];
+    }
+
+    /**
+     * Restores the MRAI values and detection methods the routers had when the experiment was set up.
+     */
+    private void restoreSettings() {
+        for (int i = 0; i < routers.size(); i++) {
+            routers.get(i).setMRAI(originalMRAIs[i]);
+            routers.get(i).setDetection(originalDetections[i]);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package simulators;
+
+import io.reporters.ComparisonReporter;
+import org.apache.commons.io.FilenameUtils;
+import simulators.basic.BasicDataCollector;
+import simulators.basic.BasicDataset;
+
+import java.io.IOException;
+
+public class ComparisonSimulation {
+
+    private final BasicDataCollector dataCollector;
+    private final ComparisonReporter reporter = new ComparisonReporter();
+
+    // data of the run of each configuration in the current repetition
+    private BasicDataset[] datasets = new BasicDataset[0];
+
+    public ComparisonSimulation(Simulator simulator) {
+        dataCollector = new BasicDataCollector(simulator.getEventNotifier());
+        reporter.setReportDirectory(simulator.getReportDestination());
+    }
+
+    public void setup(ComparisonExperiment experiment, Simulator simulator) {
+        datasets = new BasicDataset[experiment.getConfigurations().length];
+    }
+
+    public void run(ComparisonExperiment experiment, Simulator simulator) {
+        // clear all data from last run - ensure collector is clean
+        dataCollector.clear();
+
+        Configuration configuration = experiment.getCurrentConfiguration();
+        String description = String.format("iteration %d/%d configuration %s",
+                experiment.getCurrentRepetition() + 1, experiment.getRepetitionCount(), configuration);
+
+        simulator.simulate(experiment.getDestination(), description);
+
+        // the collector's dataset is reused by the next run
+        datasets[experiment.getCurrentConfigurationIndex()] =
+                new BasicDataset((BasicDataset) dataCollector.getDataset());
+
+        // reset the routers and links - the arrival times are reset by the scheduler
+        simulator.getContext().reset();
+    }
+
+    public void report(ComparisonExperiment experiment, Simulator simulator) throws IOException {
+
+        String topologyName = FilenameUtils.removeExtension(simulator.getTopologyFile().getName());
+        String defaultReportFilename = String.format("%s_%d.cmp.csv", topologyName,
+                experiment.getDestination().getId());
+
+        Configuration[] configurations = experiment.getConfigurations();
+        String[] labels = new String[configurations.length];
+        for (int i = 0; i < configurations.length; i++) {
+            labels[i] = configurations[i].getLabel();
+        }
+
+        reporter.report(defaultReportFilename, experiment.getCurrentRepetition(), labels, datasets);
+    }
+
+    public void cleanup(ComparisonExperiment experiment, Simulator simulator) {
+        datasets = new BasicDataset[0];
+    }
+
+    /**
+     * Unregisters the data collector from the simulator's event notifier. The simulation can not be used
+     * after calling this method.
+     */
+    public void unregister() {
+        dataCollector.unregister();
+    }
+
+}
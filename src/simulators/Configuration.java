@@ -0,0 +1,61 @@
+package simulators;
+
+import core.Router;
+import core.Topology;
+import core.protocols.Detection;
+
+/**
+ * A configuration of the routers compared by a comparison experiment. A configuration may force all routers
+ * to use the same MRAI value, the same detection method, or both. Settings that are not forced are the ones
+ * given by the topology.
+ */
+public class Configuration {
+
+    private final String label;
+    private final Integer mrai;
+    private final Detection detection;
+
+    /**
+     * Creates a new configuration.
+     *
+     * @param label     label identifying the configuration in the reports.
+     * @param mrai      MRAI value to force or null to keep the values of the topology.
+     * @param detection detection method to force or null to keep the methods of the topology.
+     */
+    public Configuration(String label, Integer mrai, Detection detection) {
+        this.label = label;
+        this.mrai = mrai;
+        this.detection = detection;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Integer getMRAI() {
+        return mrai;
+    }
+
+    public Detection getDetection() {
+        return detection;
+    }
+
+    /**
+     * Forces the settings of this configuration on all routers of the given topology.
+     *
+     * @param topology topology to configure.
+     */
+    void apply(Topology topology) {
+
+        for (Router router : topology.getRouters()) {
+            if (mrai != null) router.setMRAI(mrai);
+            if (detection != null) router.setDetection(detection);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+}
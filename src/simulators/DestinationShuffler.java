@@ -2,22 +2,22 @@ package simulators;
 
 
 import core.Destination;
-import orestes.bloomfilter.BloomFilter;
-import orestes.bloomfilter.FilterBuilder;
-import org.apache.commons.math3.util.CombinatoricsUtils;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Random;
+import java.util.Set;
 
 /**
  * A destination shuffler is responsible for storing an array of destinations and shuffling them randomly.
  * The shuffler stores the destination array. It ensures that all permutations generated are unique. It never
  * creates copies of the array and uses the initial array every time.
  *
- * In order to improve performance the shuffler uses a bloom filter to keep record of the permutations
- * already used. Due to its algorithm, the bloom filter might indicate a permutation has already been used
- * when that is not true. Consequently, it is possible that the shuffler can not generate all permutations.
+ * In order to improve performance the shuffler keeps record of the permutations already used by storing a
+ * 128-bit hash of the sequence of destination IDs of each one. Computing the hash takes linear time and does
+ * not create any objects besides the stored key. Two different permutations are taken as the same one only
+ * if their hashes collide, which is negligible for any number of permutations that can be simulated.
  *
  * Once the destination shuffler is created and initialized with a set of destinations it sorts all the
  * destinations according to their IDs. This ensures that the first shuffle is done with the
@@ -26,11 +26,16 @@ import java.util.Random;
  */
 public class DestinationShuffler {
 
+    // number of attempts to find an unused permutation before giving up, for small permutation counts
+    private static final int MIN_ATTEMPTS = 1000;
+
     private Destination[] destinations;
     private final int permutationCount;
     private final Random random;    // will generate the random values required
 
-    private BloomFilter<String> bloomFilter;    // keeps record of the permutations that have been used
+    // keeps record of the permutations that have been used
+    private final Set<PermutationKey> usedPermutations = new HashSet<>();
+    private final long possiblePermutationCount;   // saturates at Long.MAX_VALUE
 
     /**
      * Creates a destination shuffler initialized with an array of destinations. This array will be sorted
@@ -47,6 +52,7 @@ public class DestinationShuffler {
 
         this.destinations = destinations;
         this.permutationCount = permutationCount;
+        this.possiblePermutationCount = possiblePermutationCount(destinations.length);
         this.random = new Random();
         reset();
     }
@@ -68,6 +74,7 @@ public class DestinationShuffler {
 
         this.destinations = destinations;
         this.permutationCount = permutationCount;
+        this.possiblePermutationCount = possiblePermutationCount(destinations.length);
         this.random = new Random(seed);
         reset();
     }
@@ -88,7 +95,7 @@ public class DestinationShuffler {
      */
     public void shuffle() {
 
-        if (bloomFilter.getSize() < bloomFilter.getExpectedElements()) {
+        if (usedPermutations.size() >= possiblePermutationCount) {
             throw new IllegalStateException("There is not more permutations possible!!");
         }
 
@@ -97,7 +104,7 @@ public class DestinationShuffler {
 
             // weak condition to guarantee the loop finishes
             // this might not mean that there isn't actually more permutations
-            if (attempts > bloomFilter.getExpectedElements()) {
+            if (attempts > Math.max(permutationCount, MIN_ATTEMPTS)) {
                 throw new IllegalStateException("Could not generate more permutations!!");
             }
 
@@ -109,13 +116,7 @@ public class DestinationShuffler {
                 destinations[i] = temporary;
             }
 
-            // The bloom filter uses the toString() method to hash the items
-            // Arrays don't have the toString() method and therefore can not be used directly
-            // That is why we need to convert the array into a string first
-            String destinationsItem = Arrays.toString(destinations);
-
-            if (!bloomFilter.contains(destinationsItem)) {
-                bloomFilter.add(destinationsItem);
+            if (usedPermutations.add(PermutationKey.of(destinations))) {
                 break;
             }
 
@@ -128,8 +129,7 @@ public class DestinationShuffler {
      * IDs.
      */
     private void reset() {
-        bloomFilter = new FilterBuilder(permutationCount, 0.1)
-                .buildBloomFilter();
+        usedPermutations.clear();
 
         // Sort the sequence!
         // This forces the initial state of the sequence before any simulation to be always the same,
@@ -142,4 +142,68 @@ public class DestinationShuffler {
         return Arrays.toString(destinations);
     }
 
+    /**
+     * Returns n! or Long.MAX_VALUE if n! does not fit in a long.
+     */
+    private static long possiblePermutationCount(int destinationCount) {
+        // 20! is the largest factorial that fits in a long
+        if (destinationCount > 20) return Long.MAX_VALUE;
+
+        long count = 1;
+        for (int i = 2; i <= destinationCount; i++) {
+            count *= i;
+        }
+
+        return count;
+    }
+
+    /**
+     * Key identifying a permutation by a 128-bit hash of its sequence of destination IDs. The two halves of
+     * the hash are computed with different multipliers and mixed with the finalizer of the SplitMix64
+     * generator, which makes them independent enough to consider the 128 bits as a single hash.
+     */
+    private static final class PermutationKey {
+
+        private final long high;
+        private final long low;
+
+        private PermutationKey(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        static PermutationKey of(Destination[] destinations) {
+            long high = destinations.length;
+            long low = ~destinations.length;
+
+            for (Destination destination : destinations) {
+                int id = destination.getId();
+                high = mix(high * 0x9E3779B97F4A7C15L + id);
+                low = mix(low * 0xC2B2AE3D27D4EB4FL + id);
+            }
+
+            return new PermutationKey(high, low);
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            return value ^ (value >>> 31);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            PermutationKey that = (PermutationKey) o;
+            return high == that.high && low == that.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) low;
+        }
+    }
+
 }
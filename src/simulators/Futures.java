@@ -0,0 +1,49 @@
+package simulators;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helper methods to wait for simulations run by the workers of an experiment.
+ */
+final class Futures {
+
+    private Futures() {
+        // only static methods
+    }
+
+    /**
+     * Waits for the simulations of a worker to finish. Any exception thrown by the simulations is rethrown
+     * here.
+     *
+     * @param result result of the worker's simulations.
+     * @throws IOException if the simulations failed to report or the wait was interrupted.
+     */
+    static void waitFor(Future<?> result) throws IOException {
+
+        try {
+            result.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for simulations to finish");
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IllegalStateException(cause);
+            }
+        }
+
+    }
+
+}
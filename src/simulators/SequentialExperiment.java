@@ -8,38 +8,81 @@ import org.apache.commons.io.FilenameUtils;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+/**
+ * A sequential experiment simulates permutations of a sequence of destinations. Links turned off while
+ * simulating one destination remain turned off for the following destinations of the sequence. Permutations
+ * are independent of each other and may be distributed over several workers, each simulating with its own
+ * fork of the simulator and, therefore, its own links. The permutations and the seed of the first
+ * simulation of each permutation are taken before the workers start, in the same order as in a serial run.
+ * Each permutation is reported to its own files and the permutations file is written before the workers
+ * start. Therefore, the reports are the same regardless of the number of workers.
+ */
 public class SequentialExperiment implements Experiment {
 
     private final DestinationShuffler shuffler;
     private final int repetitionCount;
     private final int permutationCount;
     private final SequentialSimulation simulation;
+    private final int workerCount;
 
     private int currentRepetition = -1;
     private int currentPermutation = -1;
+    private Destination[] currentSequence;
 
     public SequentialExperiment(Destination[] destinations, int repetitionCount,
                                  int permutationCount, SequentialSimulation simulation) {
-        this.shuffler = new DestinationShuffler(destinations, permutationCount);
-        this.repetitionCount = repetitionCount;
-        this.permutationCount = permutationCount;
-        this.simulation = simulation;
+        this(destinations, repetitionCount, permutationCount, simulation, 1);
     }
 
     public SequentialExperiment(Destination[] destinations, int repetitionCount,
                                 int permutationCount, long permutationsSeed, SequentialSimulation simulation) {
-        this.shuffler = new DestinationShuffler(destinations, permutationCount, permutationsSeed);
+        this(destinations, repetitionCount, permutationCount, permutationsSeed, simulation, 1);
+    }
+
+    public SequentialExperiment(Destination[] destinations, int repetitionCount, int permutationCount,
+                                SequentialSimulation simulation, int workerCount) {
+        this(new DestinationShuffler(destinations, permutationCount), repetitionCount, permutationCount,
+                simulation, workerCount);
+    }
+
+    public SequentialExperiment(Destination[] destinations, int repetitionCount, int permutationCount,
+                                long permutationsSeed, SequentialSimulation simulation, int workerCount) {
+        this(new DestinationShuffler(destinations, permutationCount, permutationsSeed), repetitionCount,
+                permutationCount, simulation, workerCount);
+    }
+
+    private SequentialExperiment(DestinationShuffler shuffler, int repetitionCount, int permutationCount,
+                                 SequentialSimulation simulation, int workerCount) {
+
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("number of workers must be at least 1: got " + workerCount);
+        }
+
+        this.shuffler = shuffler;
         this.repetitionCount = repetitionCount;
         this.permutationCount = permutationCount;
         this.simulation = simulation;
+        this.workerCount = workerCount;
+        this.currentSequence = shuffler.getDestinations();
     }
 
     @Override
     public void run(Simulator simulator) throws IOException {
 
+        if (workerCount > 1 && permutationCount > 1) {
+            runInParallel(simulator);
+            return;
+        }
+
         for (currentPermutation = 0; currentPermutation < permutationCount; currentPermutation++) {
             shuffler.shuffle(); // get random permutation
             savePermutation(simulator, getCurrentSequence());
@@ -55,6 +98,12 @@ public class SequentialExperiment implements Experiment {
 
     }
 
+    @Override
+    public void cleanup(Simulator simulator) {
+        // the simulation is not used after the experiment
+        simulation.unregister();
+    }
+
     public int getRepetitionCount() {
         return repetitionCount;
     }
@@ -63,6 +112,10 @@ public class SequentialExperiment implements Experiment {
         return permutationCount;
     }
 
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
     public int getCurrentRepetition() {
         return currentRepetition;
     }
@@ -72,7 +125,88 @@ public class SequentialExperiment implements Experiment {
     }
 
     public Destination[] getCurrentSequence() {
-        return shuffler.getDestinations();
+        return currentSequence;
+    }
+
+    /**
+     * Distributes the permutations over the workers. Each worker takes the next permutation not taken yet
+     * and simulates all its repetitions starting from the seed the simulator would use for that permutation
+     * in a serial run.
+     */
+    private void runInParallel(Simulator simulator) throws IOException {
+
+        Destination[][] permutations = new Destination[permutationCount][];
+        long[] seeds = new long[permutationCount];
+        long simulationsPerPermutation = (long) repetitionCount * shuffler.getDestinations().length;
+
+        for (currentPermutation = 0; currentPermutation < permutationCount; currentPermutation++) {
+            shuffler.shuffle();
+            permutations[currentPermutation] = shuffler.getDestinations().clone();
+            savePermutation(simulator, permutations[currentPermutation]);
+
+            // skip the seeds of the remaining simulations of the permutation
+            seeds[currentPermutation] = simulator.nextSeed();
+            for (long simulation = 1; simulation < simulationsPerPermutation; simulation++) {
+                simulator.nextSeed();
+            }
+        }
+
+        int threadCount = Math.min(workerCount, permutationCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        AtomicInteger nextPermutation = new AtomicInteger(0);
+
+        try {
+            for (int worker = 0; worker < threadCount; worker++) {
+                completionService.submit(() -> {
+                    simulate(simulator.fork(), permutations, seeds, nextPermutation);
+                    return null;
+                });
+            }
+
+            for (int worker = 0; worker < threadCount; worker++) {
+                Futures.waitFor(completionService.take());
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for simulations to finish");
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Simulates permutations with the given fork until all permutations were taken.
+     */
+    private void simulate(Simulator fork, Destination[][] permutations, long[] seeds,
+                          AtomicInteger nextPermutation) throws IOException {
+
+        // each worker has its own view of the experiment, holding the permutation it is simulating
+        SequentialExperiment experiment = new SequentialExperiment(shuffler, repetitionCount, permutationCount,
+                new SequentialSimulation(fork), 1);
+        SequentialSimulation simulation = experiment.simulation;
+
+        try {
+            int permutation;
+            while ((permutation = nextPermutation.getAndIncrement()) < permutationCount) {
+                experiment.currentPermutation = permutation;
+                experiment.currentSequence = permutations[permutation];
+                fork.setSeed(seeds[permutation]);
+
+                for (experiment.currentRepetition = 0; experiment.currentRepetition < repetitionCount;
+                     experiment.currentRepetition++) {
+                    simulation.setup(experiment, fork);
+                    simulation.run(experiment, fork);
+                    simulation.report(experiment, fork);
+                    simulation.cleanup(experiment, fork);
+                }
+            }
+
+        } finally {
+            experiment.cleanup(fork);
+        }
     }
 
     private void savePermutation(Simulator simulator, Destination[] permutation) throws IOException {
@@ -1,8 +1,6 @@
 package simulators;
 
 import core.Destination;
-import core.Link;
-import core.Router;
 import io.reporters.BasicReporter;
 import org.apache.commons.io.FilenameUtils;
 import simulators.basic.BasicDataCollector;
@@ -12,10 +10,11 @@ import java.io.IOException;
 
 public class SequentialSimulation {
 
-    private final BasicDataCollector dataCollector = new BasicDataCollector();
+    private final BasicDataCollector dataCollector;
     private final BasicReporter reporter = new BasicReporter();
 
     public SequentialSimulation(Simulator simulator) {
+        dataCollector = new BasicDataCollector(simulator.getEventNotifier());
         reporter.setReportDirectory(simulator.getReportDestination());
     }
 
@@ -63,40 +62,21 @@ public class SequentialSimulation {
     }
 
     public void cleanup(SequentialExperiment experiment, Simulator simulator) {
-
-        // reset the routers
-        for (Router router : simulator.getTopology().getRouters()) {
-
-            // reset router's links
-            for (Link link : router.getInLinks()) {
-                link.setTurnedOff(false);
-                link.setLastArrivalTime(0);
-            }
-
-        }
-
+        // turn on all links
+        simulator.getContext().resetLinks();
     }
 
     private void cleanup(Simulator simulator, Destination destination) {
+        // reset the routers but keep the links turned off - the arrival times are reset by the scheduler
+        simulator.getContext().resetRouters();
+    }
 
-        for (Router router : simulator.getTopology().getRouters()) {
-
-            // reset router's links
-            for (Link link : router.getInLinks()) {
-                link.setLastArrivalTime(0);
-            }
-
-            router.getTable().reset();
-            router.getMRAITimer().clear();
-        }
-
-        // guarantee the arrival times of the destination's in-links are reset to 0
-        for (Link link : destination.getInLinks()) {
-            link.setLastArrivalTime(0);
-        }
-
-        destination.getMRAITimer().clear();
-
+    /**
+     * Unregisters the data collector from the simulator's event notifier. The simulation can not be used
+     * after calling this method.
+     */
+    public void unregister() {
+        dataCollector.unregister();
     }
 
 }
@@ -3,11 +3,14 @@ package simulators;
 import core.Destination;
 import core.Engine;
 import core.Router;
+import core.SimulationContext;
 import core.Topology;
+import core.events.AsyncEventNotifier;
+import core.events.EventNotifier;
 import core.exporters.BasicExporter;
 import core.protocols.Detection;
-import core.schedulers.RandomScheduler;
-import core.schedulers.Scheduler;
+import core.schedulers.RandomSchedulerFactory;
+import core.schedulers.SchedulerFactory;
 import io.reporters.Reporter;
 import io.topologyreaders.TopologyReader;
 import io.topologyreaders.TopologyReaderFactory;
@@ -21,6 +24,19 @@ import static main.Application.application;
 public class Simulator {
 
     private final Engine engine;
+    private SimulationContext context;
+    private int eventBufferCapacity = 0;    // events are delivered asynchronously if this is positive
+    private int oscillationLimit = 0;       // oscillations are not detected if this is 0
+    private long messageBudget = 0;         // budgets of each simulation - 0 means there is no budget
+    private long wallTimeBudget = 0;
+    private long heapBudget = 0;
+
+    // parameters used to create engines
+    private final SchedulerFactory schedulerFactory;
+    private final int minDelay;
+    private final int maxDelay;
+    private final Long forcedSeed;
+    private final int threshold;
 
     private Topology topology;
     private File topologyFile;
@@ -30,17 +46,47 @@ public class Simulator {
 
     public Simulator(TopologyReaderFactory readerFactory, File topologyFile, int minDelay, int maxDelay,
                      Long forcedSeed, int threshold) throws IOException, TopologyParseException {
+        this(readerFactory, topologyFile, new RandomSchedulerFactory(), minDelay, maxDelay, forcedSeed, threshold);
+    }
+
+    public Simulator(TopologyReaderFactory readerFactory, File topologyFile, SchedulerFactory schedulerFactory,
+                     int minDelay, int maxDelay, Long forcedSeed, int threshold)
+            throws IOException, TopologyParseException {
 
         reloadTopology(readerFactory, topologyFile);
 
-        Scheduler scheduler;
-        if (forcedSeed == null) {
-            scheduler = new RandomScheduler(minDelay, maxDelay);
-        } else {
-            scheduler = new RandomScheduler(minDelay, maxDelay, forcedSeed);
-        }
+        this.schedulerFactory = schedulerFactory;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.forcedSeed = forcedSeed;
+        this.threshold = threshold;
+        this.engine = newEngine();
+        this.context = new SimulationContext();
+    }
 
-        this.engine = new Engine(new BasicExporter(scheduler), threshold);
+    /**
+     * Creates a simulator sharing the topology and the configuration of the given simulator, but with its
+     * own engine and simulation context. The new context notifies events through its own event notifier.
+     * The scheduler of the new simulator starts from the seed of the next simulation of the given simulator.
+     */
+    private Simulator(Simulator simulator) {
+        this.topology = simulator.topology;
+        this.topologyFile = simulator.topologyFile;
+        this.anycastFile = simulator.anycastFile;
+        this.reportDestination = simulator.reportDestination;
+        this.schedulerFactory = simulator.schedulerFactory;
+        this.minDelay = simulator.minDelay;
+        this.maxDelay = simulator.maxDelay;
+        this.forcedSeed = simulator.forcedSeed;
+        this.threshold = simulator.threshold;
+        this.oscillationLimit = simulator.oscillationLimit;
+        this.messageBudget = simulator.messageBudget;
+        this.wallTimeBudget = simulator.wallTimeBudget;
+        this.heapBudget = simulator.heapBudget;
+        this.engine = newEngine();
+        this.engine.getScheduler().reset(simulator.engine.getScheduler().getSeed());
+        this.eventBufferCapacity = simulator.eventBufferCapacity;
+        this.context = new SimulationContext(newEventNotifier());
     }
 
     // access methods
@@ -67,7 +113,7 @@ public class Simulator {
     public void setMRAI(int value) {
 
         for (Router router : topology.getRouters()) {
-            router.getMRAITimer().setMRAI(value);
+            router.setMRAI(value);
         }
     }
 
@@ -83,6 +129,18 @@ public class Simulator {
         }
     }
 
+    /**
+     * Makes the simulator deliver the events of each message to the listeners in a separate thread,
+     * through a buffer holding the given number of events. Forks created afterwards do the same. This
+     * replaces the event notifier of the simulator, so it must be called before registering any listener.
+     *
+     * @param capacity number of events the buffer can hold.
+     */
+    public void setAsyncEvents(int capacity) {
+        eventBufferCapacity = capacity;
+        context = new SimulationContext(newEventNotifier());
+    }
+
     /**
      * Discards the current topology and loads a new one. After calling this method the previous topology is
      * immediately discarded even if an error occurs while loading the new topology. After calling this
@@ -134,9 +192,64 @@ public class Simulator {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Sets the seed used to generate the delays of the next simulation. The following simulations use the
+     * seeds that follow from this one.
+     *
+     * @param seed seed used to generate the delays of the next simulation.
+     */
     public void setSeed(long seed) {
-        // TODO implement set initial/next seed in scheduler
-        throw new UnsupportedOperationException();
+        engine.getScheduler().reset(seed);
+    }
+
+    /**
+     * Stops simulations that oscillate. A simulation is considered to oscillate once the global state repeats
+     * the given number of times, which makes it a heuristic: since delays are random, a simulation may repeat
+     * a state and still terminate. The higher the limit, the less likely it is to stop simulations that would
+     * terminate.
+     *
+     * @param limit number of times a state must repeat to stop the simulation or 0 to never stop it.
+     * @throws IllegalArgumentException if the limit is negative.
+     */
+    public void setOscillationLimit(int limit) {
+        engine.setOscillationLimit(limit);
+        this.oscillationLimit = limit;
+    }
+
+    /**
+     * Aborts simulations once they process the given number of messages. Aborted simulations are reported
+     * as not terminated and identify the exceeded budget.
+     *
+     * @param messageBudget maximum number of messages to process or 0 for no limit.
+     * @throws IllegalArgumentException if the budget is negative.
+     */
+    public void setMessageBudget(long messageBudget) {
+        engine.setMessageBudget(messageBudget);
+        this.messageBudget = messageBudget;
+    }
+
+    /**
+     * Aborts simulations once they run for the given wall-clock time. Aborted simulations are reported as
+     * not terminated and identify the exceeded budget.
+     *
+     * @param wallTimeBudget maximum wall-clock time in milliseconds or 0 for no limit.
+     * @throws IllegalArgumentException if the budget is negative.
+     */
+    public void setWallTimeBudget(long wallTimeBudget) {
+        engine.setWallTimeBudget(wallTimeBudget);
+        this.wallTimeBudget = wallTimeBudget;
+    }
+
+    /**
+     * Aborts simulations once the used heap grows by the given amount while they run. The heap is shared
+     * by all forks, which means that simulations running in parallel count each other's memory.
+     *
+     * @param heapBudget maximum heap growth in bytes or 0 for no limit.
+     * @throws IllegalArgumentException if the budget is negative.
+     */
+    public void setHeapBudget(long heapBudget) {
+        engine.setHeapBudget(heapBudget);
+        this.heapBudget = heapBudget;
     }
 
     public void setThreshold(int value) {
@@ -166,6 +279,51 @@ public class Simulator {
 
     // PACKAGE METHODS USED BY EXPERIMENTS
 
+    /**
+     * Creates a new simulator that shares the topology and configuration of this simulator but has its own
+     * engine and simulation context. Each fork can be used to simulate in a different thread at the same
+     * time as the other forks, since simulations do not change the topology. The scheduler of a fork starts
+     * from the same seed as this simulator's scheduler. The listeners registered with this simulator's event
+     * notifier are not registered with the fork's notifier: they would receive the events of simulations
+     * running in different threads interleaved with each other.
+     *
+     * @return new simulator sharing the topology of this simulator.
+     */
+    Simulator fork() {
+        return new Simulator(this);
+    }
+
+    /**
+     * Returns the seed of the next simulation and moves on to the seed that follows it, exactly as if the
+     * simulation had been run. This allows giving the seeds of the next simulations to forks and still have
+     * this simulator continue with the same seeds it would use after running those simulations itself.
+     *
+     * @return the seed of the next simulation.
+     */
+    long nextSeed() {
+        long seed = engine.getScheduler().getSeed();
+        engine.getScheduler().reset();
+        return seed;
+    }
+
+    /**
+     * Returns the context holding the state of the simulations run by this simulator.
+     *
+     * @return the context holding the state of the simulations run by this simulator.
+     */
+    SimulationContext getContext() {
+        return context;
+    }
+
+    /**
+     * Returns the event notifier used to notify the events of the simulations run by this simulator.
+     *
+     * @return the event notifier used by this simulator.
+     */
+    EventNotifier getEventNotifier() {
+        return context.getEventNotifier();
+    }
+
     /**
      * Simulations should call this method to start a simulation instance. This will use the simulator
      * engine and the current topology to simulate.
@@ -174,8 +332,24 @@ public class Simulator {
      */
     void simulate(Destination destination, String description) {
         application().progressHandler.onStartSimulation(destination.getId(), description);
-        engine.simulate(topology, destination);
+        engine.simulate(topology, destination, context);
         application().progressHandler.onFinishSimulation();
     }
 
+    // PRIVATE METHODS
+
+    private EventNotifier newEventNotifier() {
+        return eventBufferCapacity > 0 ? new AsyncEventNotifier(eventBufferCapacity) : new EventNotifier();
+    }
+
+    private Engine newEngine() {
+        Engine engine = new Engine(
+                new BasicExporter(schedulerFactory.getScheduler(minDelay, maxDelay, forcedSeed)), threshold);
+        engine.setOscillationLimit(oscillationLimit);
+        engine.setMessageBudget(messageBudget);
+        engine.setWallTimeBudget(wallTimeBudget);
+        engine.setHeapBudget(heapBudget);
+        return engine;
+    }
+
 }
@@ -14,7 +14,8 @@ import java.util.Iterator;
  * Collects all data that can be stored in a basic dataset.
  */
 public class BasicDataCollector implements DataCollector, ExportListener, DetectListener,
-        StartListener, AdvertisementListener, EndListener, ThresholdReachedListener {
+        StartListener, AdvertisementListener, EndListener, ThresholdReachedListener, OscillationListener,
+        BudgetExceededListener {
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -23,6 +24,7 @@ public class BasicDataCollector implements DataCollector, ExportListener, Detect
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
     protected final BasicDataset dataset = new BasicDataset();
+    private final EventNotifier eventNotifier;
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -31,16 +33,22 @@ public class BasicDataCollector implements DataCollector, ExportListener, Detect
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
     /**
-     * Creates a new basic data collector and registers it with the event notifier to receive notifications
-     * of all the required events.
+     * Creates a new basic data collector and registers it with the given event notifier to receive
+     * notifications of all the required events.
+     *
+     * @param eventNotifier event notifier to register with.
      */
-    public BasicDataCollector() {
-        EventNotifier.eventNotifier().addExportListener(this);
-        EventNotifier.eventNotifier().addDetectListener(this);
-        EventNotifier.eventNotifier().addStartListener(this);
-        EventNotifier.eventNotifier().addAdvertisementListener(this);
-        EventNotifier.eventNotifier().addEndListener(this);
-        EventNotifier.eventNotifier().addThresholdReachedListener(this);
+    public BasicDataCollector(EventNotifier eventNotifier) {
+        this.eventNotifier = eventNotifier;
+
+        eventNotifier.addExportListener(this);
+        eventNotifier.addDetectListener(this);
+        eventNotifier.addStartListener(this);
+        eventNotifier.addAdvertisementListener(this);
+        eventNotifier.addEndListener(this);
+        eventNotifier.addThresholdReachedListener(this);
+        eventNotifier.addOscillationListener(this);
+        eventNotifier.addBudgetExceededListener(this);
     }
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
@@ -65,12 +73,14 @@ public class BasicDataCollector implements DataCollector, ExportListener, Detect
      */
     @Override
     public void unregister() {
-        EventNotifier.eventNotifier().removeExportListener(this);
-        EventNotifier.eventNotifier().removeDetectListener(this);
-        EventNotifier.eventNotifier().removeStartListener(this);
-        EventNotifier.eventNotifier().removeAdvertisementListener(this);
-        EventNotifier.eventNotifier().removeEndListener(this);
-        EventNotifier.eventNotifier().removeThresholdReachedListener(this);
+        eventNotifier.removeExportListener(this);
+        eventNotifier.removeDetectListener(this);
+        eventNotifier.removeStartListener(this);
+        eventNotifier.removeAdvertisementListener(this);
+        eventNotifier.removeEndListener(this);
+        eventNotifier.removeThresholdReachedListener(this);
+        eventNotifier.removeOscillationListener(this);
+        eventNotifier.removeBudgetExceededListener(this);
     }
 
     /**
@@ -166,4 +176,26 @@ public class BasicDataCollector implements DataCollector, ExportListener, Detect
         dataset.setProtocolTerminated(false);
     }
 
+    /**
+     * Invoked when an oscillation event occurs.
+     *
+     * @param event oscillation event that occurred.
+     */
+    @Override
+    public void onOscillation(OscillationEvent event) {
+        dataset.setProtocolTerminated(false);
+        dataset.setOscillating(true);
+    }
+
+    /**
+     * Invoked when a budget exceeded event occurs.
+     *
+     * @param event budget exceeded event that occurred.
+     */
+    @Override
+    public void onBudgetExceeded(BudgetExceededEvent event) {
+        dataset.setProtocolTerminated(false);
+        dataset.setExceededBudget(event.getBudget());
+    }
+
 }
@@ -2,6 +2,7 @@ package simulators.basic;
 
 
 import core.Router;
+import core.events.BudgetExceededEvent.Budget;
 import simulators.Dataset;
 import simulators.DetectionData;
 
@@ -16,6 +17,8 @@ import java.util.*;
  *  - detections
  *  - last message times
  *  - protocol terminated
+ *  - oscillating
+ *  - exceeded budget
  */
 public class BasicDataset implements Dataset {
 
@@ -35,6 +38,40 @@ public class BasicDataset implements Dataset {
     // stores the times of the last message of each router
     private Map<Router, Long> lastMessageTimes = new HashMap<>();
     private boolean protocolTerminated = true;
+    private boolean oscillating = false;
+    private Budget exceededBudget = null;   // null if the simulation did not exceed any budget
+
+    /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
+     *
+     *  Constructors
+     *
+     * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
+
+    /**
+     * Creates an empty dataset.
+     */
+    public BasicDataset() {
+    }
+
+    /**
+     * Creates a dataset with a copy of the data stored in the given dataset. Changes to one of the datasets
+     * do not affect the other.
+     *
+     * @param dataset dataset to copy the data from.
+     */
+    public BasicDataset(BasicDataset dataset) {
+        this.simulationSeed = dataset.simulationSeed;
+        this.totalMessageCount = dataset.totalMessageCount;
+        this.detectingRouters.addAll(dataset.detectingRouters);
+        this.cutOffLinksCount = dataset.cutOffLinksCount;
+        this.detections.addAll(dataset.detections);
+        this.simulationTime = dataset.simulationTime;
+        this.falsePositiveCount = dataset.falsePositiveCount;
+        this.lastMessageTimes.putAll(dataset.lastMessageTimes);
+        this.protocolTerminated = dataset.protocolTerminated;
+        this.oscillating = dataset.oscillating;
+        this.exceededBudget = dataset.exceededBudget;
+    }
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -186,6 +223,33 @@ public class BasicDataset implements Dataset {
         return "Terminated";
     }
 
+    /**
+     * Returns true if the simulation was stopped because the protocol was found to be oscillating.
+     *
+     * @return true if the protocol was found to be oscillating or false if otherwise.
+     */
+    public boolean isOscillating() {
+        return oscillating;
+    }
+
+    /**
+     * Returns the budget that aborted the simulation.
+     *
+     * @return the budget that aborted the simulation or null if the simulation did not exceed any budget.
+     */
+    public Budget getExceededBudget() {
+        return exceededBudget;
+    }
+
+    /**
+     * Returns the label for the data property Exceeded Budget.
+     *
+     * @return the label for the data property Exceeded Budget
+     */
+    public String getExceededBudgetLabel() {
+        return "Budget Exceeded";
+    }
+
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
      *
@@ -252,6 +316,24 @@ public class BasicDataset implements Dataset {
         this.protocolTerminated = terminated;
     }
 
+    /**
+     * Sets the flag to indicate if the protocol was found to be oscillating.
+     *
+     * @param oscillating  true if the protocol is oscillating and false otherwise.
+     */
+    public void setOscillating(boolean oscillating) {
+        this.oscillating = oscillating;
+    }
+
+    /**
+     * Sets the budget that aborted the simulation.
+     *
+     * @param budget  budget that was exceeded or null if no budget was exceeded.
+     */
+    public void setExceededBudget(Budget budget) {
+        this.exceededBudget = budget;
+    }
+
     /**
      * Clears all data from the dataset.
      */
@@ -265,6 +347,8 @@ public class BasicDataset implements Dataset {
         falsePositiveCount = 0;
         lastMessageTimes.clear();
         protocolTerminated = true;
+        oscillating = false;
+        exceededBudget = null;
     }
 
 }
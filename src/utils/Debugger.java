@@ -3,8 +3,6 @@ package utils;
 
 import core.events.*;
 
-import static core.events.EventNotifier.eventNotifier;
-
 public class Debugger implements StartListener, ImportListener, LearnListener, SelectListener, 
         DetectListener, ExportListener, AdvertisementListener, TerminateListener, EndListener {
 
@@ -12,17 +10,22 @@ public class Debugger implements StartListener, ImportListener, LearnListener, S
 
     private Debugger() {} // use factory method!
 
-    public static void enableDebugger() {
-
-        eventNotifier().addStartListener(DEBUGGER);
-        eventNotifier().addImportListener(DEBUGGER);
-        eventNotifier().addLearnListener(DEBUGGER);
-        eventNotifier().addSelectListener(DEBUGGER);
-        eventNotifier().addDetectListener(DEBUGGER);
-        eventNotifier().addExportListener(DEBUGGER);
-        eventNotifier().addAdvertisementListener(DEBUGGER);
-        eventNotifier().addTerminateListener(DEBUGGER);
-        eventNotifier().addEndListener(DEBUGGER);
+    /**
+     * Registers the debugger with the given event notifier to print the events of its simulations.
+     *
+     * @param eventNotifier event notifier of the simulations to debug.
+     */
+    public static void enableDebugger(EventNotifier eventNotifier) {
+
+        eventNotifier.addStartListener(DEBUGGER);
+        eventNotifier.addImportListener(DEBUGGER);
+        eventNotifier.addLearnListener(DEBUGGER);
+        eventNotifier.addSelectListener(DEBUGGER);
+        eventNotifier.addDetectListener(DEBUGGER);
+        eventNotifier.addExportListener(DEBUGGER);
+        eventNotifier.addAdvertisementListener(DEBUGGER);
+        eventNotifier.addTerminateListener(DEBUGGER);
+        eventNotifier.addEndListener(DEBUGGER);
 
     }
 
@@ -7,8 +7,6 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Queue;
 
-import static core.events.EventNotifier.eventNotifier;
-
 /**
  * The link FIFO order checker is a tool to automatically check if the FIFO order of the links is
  * being respected. It checks for this on the fly, which means that it will generate an error if
@@ -65,6 +63,7 @@ public class LinkFIFOOrderChecker implements ArrivalListener, ExportListener {
      *
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
+    private final EventNotifier eventNotifier;
     private final HashMap<Link, Queue<ExportEvent>> linkQueue = new HashMap<>();
     private LinkLogger linkLogger;
 
@@ -74,9 +73,10 @@ public class LinkFIFOOrderChecker implements ArrivalListener, ExportListener {
      *
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
-    public LinkFIFOOrderChecker(boolean logEvents) {
-        eventNotifier().addArrivalListener(this);
-        eventNotifier().addExportListener(this);
+    public LinkFIFOOrderChecker(EventNotifier eventNotifier, boolean logEvents) {
+        this.eventNotifier = eventNotifier;
+        eventNotifier.addArrivalListener(this);
+        eventNotifier.addExportListener(this);
 
         this.linkLogger = logEvents ? new LinkLogger() : null;
     }
@@ -88,8 +88,8 @@ public class LinkFIFOOrderChecker implements ArrivalListener, ExportListener {
      * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * */
 
     public void unregister() {
-        eventNotifier().removeArrivalListener(this);
-        eventNotifier().removeExportListener(this);
+        eventNotifier.removeArrivalListener(this);
+        eventNotifier.removeExportListener(this);
     }
 
     /* * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * * *
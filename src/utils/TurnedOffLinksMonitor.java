@@ -3,22 +3,23 @@ package utils;
 import core.Link;
 import core.events.DetectEvent;
 import core.events.DetectListener;
+import core.events.EventNotifier;
 
 import java.util.HashSet;
 import java.util.Set;
 
-import static core.events.EventNotifier.eventNotifier;
-
 public class TurnedOffLinksMonitor implements DetectListener {
 
+    private final EventNotifier eventNotifier;
     Set<Link> turnedOffLinks = new HashSet<>();
 
-    public TurnedOffLinksMonitor() {
-        eventNotifier().addDetectListener(this);
+    public TurnedOffLinksMonitor(EventNotifier eventNotifier) {
+        this.eventNotifier = eventNotifier;
+        eventNotifier.addDetectListener(this);
     }
 
     public void unregister() {
-        eventNotifier().removeDetectListener(this);
+        eventNotifier.removeDetectListener(this);
     }
 
     @Override
@@ -0,0 +1,204 @@
+package core.policies.compiled;
+
+import core.*;
+import core.exporters.BasicExporter;
+import core.schedulers.RandomScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static core.InvalidAttribute.invalidAttr;
+import static core.policies.gaorexford.GRPolicy.gaoRexfordPolicy;
+import static core.policies.peerplus.PeerPlusPolicy.peerplusPolicy;
+import static core.policies.shortestpath.ShortestPathPolicy.shortestPathPolicy;
+import static core.policies.siblings.SiblingsPolicy.siblingsPolicy;
+import static core.protocols.SSBGPProtocol.ssBGPProtocol;
+import static core.protocols.SimpleDetection.simpleDetection;
+
+/**
+ * Compares each policy of the simulator with its compiled version. For each policy, the benchmark builds
+ * the same random topology twice, once with the policy and once with the compiled policy, and measures:
+ *
+ *  - the time to extend an attribute and compare the result with another attribute, using the labels and
+ *    attributes of the topology;
+ *  - the time to simulate a set of destinations of the topology with the engine.
+ *
+ * The topologies follow a provider hierarchy: each router has a random provider among the routers created
+ * before it and some routers have an extra peer (or sibling, or peer+) link. The shortest path topology
+ * has the same structure with random lengths between 1 and 5.
+ *
+ * Usage: PolicyCompilationBenchmark [router count] [destination count]
+ */
+public class PolicyCompilationBenchmark {
+
+    private static final long TOPOLOGY_SEED = 7;
+    private static final long DELAY_SEED = 42;
+    private static final int EXTEND_OPERATIONS = 1 << 22;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int routerCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int destinationCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.out.printf("%-13s %-9s %10s %10s %12s%n",
+                "Policy", "Variant", "Domain", "ns/extend", "engine ms");
+
+        benchmark("GaoRexford", gaoRexfordPolicy(), new String[]{"P", "C", "R", "R"}, routerCount,
+                destinationCount);
+        benchmark("PeerPlus", peerplusPolicy(), new String[]{"P", "C", "R", "R+"}, routerCount,
+                destinationCount);
+        benchmark("Siblings", siblingsPolicy(), new String[]{"P", "C", "R", "S"}, routerCount,
+                destinationCount);
+        benchmark("ShortestPath", shortestPathPolicy(), null, routerCount, destinationCount);
+    }
+
+    /**
+     * Benchmarks one policy and its compiled version. The tags are the tags of the provider, customer, first
+     * extra and second extra links, or null for random lengths.
+     */
+    private static void benchmark(String name, Policy policy, String[] tags, int routerCount,
+                                  int destinationCount) throws Exception {
+
+        List<String[]> links = links(tags, routerCount);
+
+        Topology baseTopology = topology(policy, links, routerCount);
+
+        CompiledPolicy compiledPolicy = new CompiledPolicy(policy);
+        Topology compiledTopology = topology(compiledPolicy, links, routerCount);
+        compiledPolicy.compile();
+
+        report(name, "original", "-", baseTopology, destinationCount);
+        report(name, "compiled", String.valueOf(compiledPolicy.getDomainSize()), compiledTopology,
+                destinationCount);
+    }
+
+    private static void report(String name, String variant, String domain, Topology topology,
+                               int destinationCount) {
+
+        double extendTime = Double.MAX_VALUE;
+        double engineTime = Double.MAX_VALUE;
+
+        // the first round warms up the JVM, the best of the following rounds is reported
+        for (int round = 0; round <= ROUNDS; round++) {
+            double roundExtendTime = extendTime(topology);
+            double roundEngineTime = engineTime(topology, destinationCount);
+
+            if (round > 0) {
+                extendTime = Math.min(extendTime, roundExtendTime);
+                engineTime = Math.min(engineTime, roundEngineTime);
+            }
+        }
+
+        System.out.printf("%-13s %-9s %10s %10.2f %12.1f%n", name, variant, domain, extendTime, engineTime);
+    }
+
+    /**
+     * Returns the links of a random topology as triples with the source ID, the target ID and the tag.
+     */
+    private static List<String[]> links(String[] tags, int routerCount) {
+        Random random = new Random(TOPOLOGY_SEED);
+        List<String[]> links = new ArrayList<>();
+
+        for (int router = 1; router < routerCount; router++) {
+            int provider = random.nextInt(router);
+            addLinks(links, router, provider, tag(tags, 0, random), tag(tags, 1, random));
+
+            if (random.nextInt(4) == 0) {
+                int neighbour = random.nextInt(router);
+                String tag = tag(tags, random.nextBoolean() ? 2 : 3, random);
+
+                if (neighbour != provider) {
+                    addLinks(links, router, neighbour, tag, tag);
+                }
+            }
+        }
+
+        return links;
+    }
+
+    private static String tag(String[] tags, int index, Random random) {
+        return tags == null ? String.valueOf(1 + random.nextInt(5)) : tags[index];
+    }
+
+    /**
+     * Adds a link through which the router learns from the neighbour and the link in the opposite direction.
+     */
+    private static void addLinks(List<String[]> links, int router, int neighbour, String tag,
+                                 String reverseTag) {
+        links.add(new String[]{String.valueOf(router), String.valueOf(neighbour), tag});
+        links.add(new String[]{String.valueOf(neighbour), String.valueOf(router), reverseTag});
+    }
+
+    private static Topology topology(Policy policy, List<String[]> links, int routerCount) throws Exception {
+        Topology topology = new Topology(policy, ssBGPProtocol());
+
+        for (int id = 0; id < routerCount; id++) {
+            topology.addRouter(new Router(id, 0, simpleDetection()));
+        }
+
+        for (String[] link : links) {
+            topology.link(Integer.parseInt(link[0]), Integer.parseInt(link[1]), policy.createLabel(link[2]));
+        }
+
+        return topology;
+    }
+
+    /**
+     * Returns the average time in nanoseconds to extend an attribute with a label of the topology and compare
+     * the result with the attribute. The attributes are obtained by extending the self attribute with random
+     * labels of the topology.
+     */
+    private static double extendTime(Topology topology) {
+        Random random = new Random(TOPOLOGY_SEED);
+        Label[] labels = topology.getLinks().stream().map(Link::getLabel).toArray(Label[]::new);
+
+        Attribute[] attributes = new Attribute[1024];
+        attributes[0] = topology.getPolicy().createSelf();
+        for (int i = 1; i < attributes.length; i++) {
+            Label label = labels[random.nextInt(labels.length)];
+            Attribute attribute = label.extend(null, attributes[random.nextInt(i)]);
+            attributes[i] = attribute == invalidAttr() ? attributes[0] : attribute;
+        }
+
+        int[] labelIndexes = random.ints(EXTEND_OPERATIONS, 0, labels.length).toArray();
+        int[] attributeIndexes = random.ints(EXTEND_OPERATIONS, 0, attributes.length).toArray();
+
+        long start = System.nanoTime();
+        int preferred = 0;
+        for (int i = 0; i < EXTEND_OPERATIONS; i++) {
+            Attribute attribute = attributes[attributeIndexes[i]];
+            if (labels[labelIndexes[i]].extend(null, attribute).compareTo(attribute) < 0) {
+                preferred++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (preferred < 0) System.out.println();    // keeps the loop from being optimized away
+        return (double) elapsed / EXTEND_OPERATIONS;
+    }
+
+    /**
+     * Returns the time in milliseconds to simulate the given number of destinations of the topology, the
+     * same destinations and delays being used for every call.
+     */
+    private static double engineTime(Topology topology, int destinationCount) {
+        Router[] routers = topology.getRouters().toArray(new Router[0]);
+        Arrays.sort(routers, (router, other) -> Integer.compare(router.getId(), other.getId()));
+        Random random = new Random(TOPOLOGY_SEED);
+
+        SimulationContext context = new SimulationContext();
+        Engine engine = new Engine(new BasicExporter(new RandomScheduler(1, 10, DELAY_SEED)));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < destinationCount; i++) {
+            engine.getScheduler().reset(DELAY_SEED + i);
+            engine.simulate(topology, routers[random.nextInt(routers.length)], context);
+            context.reset();
+        }
+
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+}
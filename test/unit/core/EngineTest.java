@@ -0,0 +1,182 @@
+package core;
+
+import core.events.ArrivalEvent;
+import core.events.BudgetExceededEvent;
+import core.events.BudgetExceededEvent.Budget;
+import core.events.OscillationEvent;
+import core.events.TerminateEvent;
+import core.exporters.BasicExporter;
+import core.schedulers.RandomScheduler;
+import org.junit.Before;
+import org.junit.Test;
+import simulators.basic.BasicDataCollector;
+import simulators.basic.BasicDataset;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static core.InvalidAttribute.invalidAttr;
+import static core.policies.shortestpath.ShortestPathPolicy.shortestPathPolicy;
+import static core.protocols.DummyDetection.dummyDetection;
+import static core.protocols.SSBGPProtocol.ssBGPProtocol;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.ShortestPathWrapper.spAttr;
+import static wrappers.ShortestPathWrapper.spLabel;
+
+public class EngineTest {
+
+    private static final int SEED_COUNT = 20;
+
+    private SimulationContext context;
+    private List<OscillationEvent> oscillationEvents;
+    private List<TerminateEvent> terminateEvents;
+    private List<BudgetExceededEvent> budgetEvents;
+    private List<ArrivalEvent> arrivalEvents;
+    private BasicDataCollector dataCollector;
+
+    @Before
+    public void setUp() throws Exception {
+        context = new SimulationContext();
+        oscillationEvents = new ArrayList<>();
+        terminateEvents = new ArrayList<>();
+        budgetEvents = new ArrayList<>();
+        arrivalEvents = new ArrayList<>();
+        context.getEventNotifier().addOscillationListener(oscillationEvents::add);
+        context.getEventNotifier().addTerminateListener(terminateEvents::add);
+        context.getEventNotifier().addBudgetExceededListener(budgetEvents::add);
+        context.getEventNotifier().addArrivalListener(arrivalEvents::add);
+        dataCollector = new BasicDataCollector(context.getEventNotifier());
+    }
+
+    private static Engine engine(long seed) {
+        return new Engine(new BasicExporter(new RandomScheduler(0, 10, seed)), 1_000_000);
+    }
+
+    private static Topology topology(int routerCount) {
+        Topology topology = new Topology(shortestPathPolicy(), ssBGPProtocol());
+        for (int id = 0; id < routerCount; id++) {
+            topology.addRouter(new Router(id, 5, dummyDetection()));
+        }
+
+        return topology;
+    }
+
+    /**
+     * Creates the dispute wheel known as the bad gadget: routers 1, 2 and 3 are linked to destination 0 and
+     * to each other in a ring. Each router prefers the route through the next router in the ring, as long as
+     * that router uses its direct route, to its own direct route. The topology has no stable state.
+     */
+    private static Topology badGadget() {
+        Topology topology = topology(4);
+        Label direct = (link, attribute) -> attribute == invalidAttr() ? invalidAttr() : spAttr(10);
+        Label throughNext = (link, attribute) -> attribute.equals(spAttr(10)) ? spAttr(5) : invalidAttr();
+
+        for (int id = 1; id <= 3; id++) {
+            topology.link(topology.getRouter(id), topology.getRouter(0), direct);
+            topology.link(topology.getRouter(id), topology.getRouter(id % 3 + 1), throughNext);
+        }
+
+        return topology;
+    }
+
+    /**
+     * Creates a shortest path topology: a ring of four routers with a chord between routers 1 and 3.
+     */
+    private static Topology shortestPathRing() {
+        Topology topology = topology(4);
+        int[][] links = {{0, 1}, {1, 2}, {2, 3}, {3, 0}, {1, 3}};
+
+        for (int[] link : links) {
+            topology.link(topology.getRouter(link[0]), topology.getRouter(link[1]), spLabel(1));
+            topology.link(topology.getRouter(link[1]), topology.getRouter(link[0]), spLabel(1));
+        }
+
+        return topology;
+    }
+
+    @Test
+    public void simulate_BadGadgetWithOscillationLimit_StopsWithOscillationEventAndOscillatingVerdict()
+            throws Exception {
+        Topology topology = badGadget();
+        Engine engine = engine(1L);
+        engine.setOscillationLimit(3);
+
+        engine.simulate(topology, topology.getRouter(0), context);
+
+        BasicDataset dataset = (BasicDataset) dataCollector.getDataset();
+        assertThat(oscillationEvents.size(), is(1));
+        assertThat(terminateEvents, is(empty()));
+        assertThat(dataset.isOscillating(), is(true));
+        assertThat(dataset.didProtocolTerminate(), is(false));
+    }
+
+    @Test
+    public void simulate_ConvergingTopologyWithLowestOscillationLimit_IsNeverStopped() throws Exception {
+        Topology topology = shortestPathRing();
+
+        for (long seed = 0; seed < SEED_COUNT; seed++) {
+            Engine engine = engine(seed);
+            engine.setOscillationLimit(1);
+            dataCollector.clear();
+            context.reset();
+
+            engine.simulate(topology, topology.getRouter(0), context);
+
+            BasicDataset dataset = (BasicDataset) dataCollector.getDataset();
+            assertThat("seed " + seed, dataset.isOscillating(), is(false));
+            assertThat("seed " + seed, dataset.didProtocolTerminate(), is(true));
+        }
+
+        assertThat(oscillationEvents, is(empty()));
+        assertThat(terminateEvents.size(), is(SEED_COUNT));
+    }
+
+    @Test
+    public void simulate_OscillationLimitSetBackTo0_StateHashIsDisabled() throws Exception {
+        Topology topology = shortestPathRing();
+        Engine engine = engine(1L);
+        engine.setOscillationLimit(3);
+        engine.simulate(topology, topology.getRouter(0), context);
+        context.reset();
+
+        engine.setOscillationLimit(0);
+        engine.simulate(topology, topology.getRouter(0), context);
+
+        assertThat(context.getStateHash().isEnabled(), is(false));
+    }
+
+    @Test
+    public void simulate_BadGadgetWithMessageBudget_AbortsAfterProcessingTheBudget() throws Exception {
+        Topology topology = badGadget();
+        Engine engine = engine(1L);
+        engine.setMessageBudget(50);
+
+        engine.simulate(topology, topology.getRouter(0), context);
+
+        BasicDataset dataset = (BasicDataset) dataCollector.getDataset();
+        assertThat(arrivalEvents.size(), is(50));
+        assertThat(budgetEvents.size(), is(1));
+        assertThat(budgetEvents.get(0).getBudget(), is(Budget.MESSAGES));
+        assertThat(budgetEvents.get(0).getLimit(), is(50L));
+        assertThat(terminateEvents, is(empty()));
+        assertThat(dataset.getExceededBudget(), is(Budget.MESSAGES));
+        assertThat(dataset.didProtocolTerminate(), is(false));
+    }
+
+    @Test
+    public void simulate_ConvergingTopologyWithinMessageBudget_TerminatesWithoutExceedingTheBudget()
+            throws Exception {
+        Topology topology = shortestPathRing();
+        Engine engine = engine(1L);
+        engine.setMessageBudget(1000);
+
+        engine.simulate(topology, topology.getRouter(0), context);
+
+        BasicDataset dataset = (BasicDataset) dataCollector.getDataset();
+        assertThat(budgetEvents, is(empty()));
+        assertThat(dataset.getExceededBudget(), is(nullValue()));
+        assertThat(dataset.didProtocolTerminate(), is(true));
+    }
+
+}
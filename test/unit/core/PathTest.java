@@ -90,4 +90,50 @@ public class PathTest {
     public void copy_WithInvalidPath_ThrowsIllegalArgumentException() throws Exception {
         assertThat(Path.copy(invalidPath()), is(invalidPath()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void add_Router2ToCopyOfPathWithNodes1And0_OriginalPathIsNotChanged() throws Exception {
+        Path path = path(1, 0);
+        Path copy = Path.copy(path);
+
+        copy.add(router(2));
+
+        assertThat(path, is(path(1, 0)));
+        assertThat(copy, is(path(2, 1, 0)));
+    }
+
+    @Test
+    public void size_PathWithNodes2And1And0_Is3() throws Exception {
+        assertThat(path(2, 1, 0).size(), is(3));
+    }
+
+    @Test
+    public void equals_PathWithNode1PlusNode2AddedAndPathWithNodes2And1_Equal() throws Exception {
+        Path path = path(1);
+        path.add(router(2));
+
+        assertThat(path, is(path(2, 1)));
+        assertThat(path.hashCode(), is(path(2, 1).hashCode()));
+    }
+
+    @Test
+    public void equals_PathsWithNodes1And0And2And0_NotEqual() throws Exception {
+        assertThat(path(1, 0), is(not(path(2, 0))));
+    }
+
+    @Test
+    public void getSubPathBefore_Node1ForPathWithNode2And1And0_PathWithNode2And1() throws Exception {
+        assertThat(path(2, 1, 0).getSubPathBefore(router(1)), is(path(2, 1)));
+    }
+
+    @Test
+    public void getSubPathBefore_Node3ForPathWithNode2And1And0_Null() throws Exception {
+        assertThat(path(2, 1, 0).getSubPathBefore(router(3)), is(nullValue()));
+    }
+
+    @Test
+    public void toString_PathWithNodes1And0_SameFormatAsList() throws Exception {
+        assertThat(path(1, 0).toString(), is("Path[Router(1), Router(0)]"));
+    }
+
+}
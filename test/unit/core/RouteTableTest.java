@@ -4,6 +4,8 @@ import org.hamcrest.CoreMatchers;
 import org.junit.Test;
 import stubs.Stubs;
 
+import java.util.Random;
+
 import static core.InvalidRoute.invalidRoute;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -11,6 +13,7 @@ import static wrappers.PathWrapper.path;
 import static wrappers.RouteTableWrapper.emptyTable;
 import static wrappers.RouteTableWrapper.table;
 import static wrappers.TopologyWrapper.node;
+import static wrappers.TopologyWrapper.router;
 
 public class RouteTableTest {
 
@@ -153,4 +156,151 @@ public class RouteTableTest {
         assertThat(table.getAlternativeRoute(node(1)), CoreMatchers.is(Stubs.stubRoute(1, path())));
     }
 
-}
\ No newline at end of file
+    /**
+     * Creates links from router 0 to routers 1 and 2 in a topology. The links are assigned slots 0 and 1.
+     */
+    private static Link[] slottedLinks() {
+        return slottedLinks(2);
+    }
+
+    /**
+     * Creates links from router 0 to routers 1 to N in a topology. The links are assigned slots 0 to N-1.
+     */
+    private static Link[] slottedLinks(int linkCount) {
+        Topology topology = new Topology(null, null);  // the policy is not important for this test suite
+        Router router0 = router(0);
+
+        Link[] links = new Link[linkCount];
+        for (int i = 0; i < linkCount; i++) {
+            Router neighbor = router(i + 1);
+            topology.link(router0, neighbor, Stubs.stubLabel());
+            links[i] = neighbor.getInLink(router0);
+        }
+
+        return links;
+    }
+
+    @Test
+    public void
+    setRoute_WithAttr1ThroughLinkWithSlot1OnEmptyTable_RouteOfTheLinkTargetWithAttr1() throws Exception {
+        Link[] links = slottedLinks();
+        RouteTable table = emptyTable();
+
+        table.setRoute(links[1], Stubs.stubRoute(1, path()));
+
+        assertThat(table.getRoute(links[1]), CoreMatchers.is(Stubs.stubRoute(1, path())));
+        assertThat(table.getRoute(node(2)), CoreMatchers.is(Stubs.stubRoute(1, path())));
+        assertThat(table.getRoute(links[0]), is(invalidRoute()));
+    }
+
+    @Test
+    public void
+    setRoute_InvalidThroughSelectedLinkOnTableWithRoutesThroughBothLinks_SelectsOtherLink() throws Exception {
+        Link[] links = slottedLinks();
+        RouteTable table = emptyTable();
+        table.setRoute(links[0], Stubs.stubRoute(1, path()));
+        table.setRoute(links[1], Stubs.stubRoute(2, path()));
+
+        table.setRoute(links[1], invalidRoute());
+
+        assertThat(table.getSelectedRoute(), CoreMatchers.is(Stubs.stubRoute(1, path())));
+        assertThat(table.getSelectedNeighbour(), is(node(1)));
+        assertThat(table.selectedNewRoute(), is(true));
+    }
+
+    @Test
+    public void
+    setRoute_ThroughLinkAndForNeighborWithoutSlot_SelectsBestOfBoth() throws Exception {
+        Link[] links = slottedLinks();
+        RouteTable table = emptyTable();
+        table.setRoute(links[0], Stubs.stubRoute(1, path()));
+
+        table.setRoute(node(0), Stubs.stubRoute(2, path()));
+
+        assertThat(table.getSelectedNeighbour(), is(node(0)));
+        assertThat(table.getAlternativeRoute(node(0)), CoreMatchers.is(Stubs.stubRoute(1, path())));
+    }
+
+    @Test
+    public void
+    getAlternativeRoute_IgnoringSelectedLinkFromTableWithRoutesThroughBothLinks_RouteOfOtherLink() throws Exception {
+        Link[] links = slottedLinks();
+        RouteTable table = emptyTable();
+        table.setRoute(links[0], Stubs.stubRoute(2, path()));
+        table.setRoute(links[1], Stubs.stubRoute(1, path()));
+
+        assertThat(table.getAlternativeRoute(links[0]), CoreMatchers.is(Stubs.stubRoute(1, path())));
+        assertThat(table.getAlternativeRoute(links[1]), CoreMatchers.is(Stubs.stubRoute(2, path())));
+    }
+
+    @Test
+    public void reset_TableWithRoutesThroughLinks_TableIsEqualToEmptyTable() throws Exception {
+        Link[] links = slottedLinks();
+        RouteTable table = emptyTable();
+        table.setRoute(links[0], Stubs.stubRoute(1, path()));
+        table.setRoute(links[1], Stubs.stubRoute(2, path()));
+
+        table.reset();
+
+        assertThat(table, is(emptyTable()));
+        assertThat(table.getSelectedRoute(), is(invalidRoute()));
+    }
+
+    @Test
+    public void
+    setRoute_EqualRoutesThroughLinksAddedInReverseIdOrder_SelectsNeighborWithLowestId() throws Exception {
+        Topology topology = new Topology(null, null);
+        Router router0 = router(0);
+        Router router2 = router(2);
+        Router router1 = router(1);
+        topology.link(router0, router2, Stubs.stubLabel());     // slot 0
+        topology.link(router0, router1, Stubs.stubLabel());     // slot 1
+        RouteTable table = emptyTable();
+
+        table.setRoute(router2.getInLink(router0), Stubs.stubRoute(1, path()));
+        table.setRoute(router1.getInLink(router0), Stubs.stubRoute(2, path()));
+        table.setRoute(router1.getInLink(router0), Stubs.stubRoute(1, path()));
+
+        assertThat(table.getSelectedNeighbour(), is(node(1)));
+        assertThat(table.getRoute(router2), CoreMatchers.is(Stubs.stubRoute(1, path())));
+    }
+
+    @Test
+    public void
+    setRoute_ManyRoutesThroughTableWithManySlots_SelectsAndIgnoresSameRoutesAsLinearScan() throws Exception {
+        Link[] links = slottedLinks(100);
+        RouteTable table = new RouteTable(links.length);
+        int[] attrs = new int[links.length];   // 0 means invalid route
+        Random random = new Random(1234);
+
+        for (int i = 0; i < 2000; i++) {
+            int slot = random.nextInt(links.length);
+            attrs[slot] = random.nextInt(10);
+            table.setRoute(links[slot], attrs[slot] == 0 ? invalidRoute() : Stubs.stubRoute(attrs[slot], path()));
+
+            int best = 0;
+            int bestSlot = -1;
+            for (int j = 0; j < attrs.length; j++) {
+                if (attrs[j] > best) {
+                    best = attrs[j];
+                    bestSlot = j;
+                }
+            }
+
+            if (bestSlot < 0) {
+                assertThat(table.getSelectedRoute(), is(invalidRoute()));
+            } else {
+                assertThat(table.getSelectedRoute(), CoreMatchers.is(Stubs.stubRoute(best, path())));
+
+                int alternative = 0;
+                for (int j = 0; j < attrs.length; j++) {
+                    if (j != bestSlot) alternative = Math.max(alternative, attrs[j]);
+                }
+
+                assertThat(table.getAlternativeRoute(links[bestSlot]), is(alternative == 0 ? invalidRoute() :
+                        Stubs.stubRoute(alternative, path())));
+            }
+        }
+    }
+
+}
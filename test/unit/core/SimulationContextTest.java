@@ -0,0 +1,122 @@
+package core;
+
+import org.junit.Before;
+import org.junit.Test;
+import stubs.Stubs;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.TopologyWrapper.router;
+
+public class SimulationContextTest {
+
+    private SimulationContext context;
+    private Router router0;
+    private Router router1;
+    private Link link;
+
+    @Before
+    public void setUp() throws Exception {
+        context = new SimulationContext();
+
+        Topology topology = new Topology(null, null);   // the policy is not important for this test suite
+        router0 = router(0);
+        router1 = router(1);
+        topology.link(router0, router1, Stubs.stubLabel());
+        link = router1.getInLink(router0);
+    }
+
+    @Test
+    public void isTurnedOff_NewContext_False() throws Exception {
+        assertThat(context.isTurnedOff(link), is(false));
+    }
+
+    @Test
+    public void setTurnedOff_LinkOfTopology_OtherContextStillHasLinkTurnedOn() throws Exception {
+        SimulationContext otherContext = new SimulationContext();
+
+        context.setTurnedOff(link, true);
+
+        assertThat(context.isTurnedOff(link), is(true));
+        assertThat(otherContext.isTurnedOff(link), is(false));
+    }
+
+    @Test
+    public void setTurnedOff_LinkNotInTopology_IsTurnedOff() throws Exception {
+        Link detachedLink = Stubs.stubLink(router(2), router(3));
+
+        context.setTurnedOff(detachedLink, true);
+
+        assertThat(context.isTurnedOff(detachedLink), is(true));
+    }
+
+    @Test
+    public void getTable_SameRouterTwice_SameTable() throws Exception {
+        assertThat(context.getTable(router0), is(sameInstance(context.getTable(router0))));
+    }
+
+    @Test
+    public void getTable_DifferentContexts_DifferentTables() throws Exception {
+        SimulationContext otherContext = new SimulationContext();
+
+        assertThat(context.getTable(router0), is(not(sameInstance(otherContext.getTable(router0)))));
+    }
+
+    @Test
+    public void getMRAITimer_RouterWithMRAI5_TimerWithMRAI5() throws Exception {
+        router0.setMRAI(5);
+
+        assertThat(context.getMRAITimer(router0).getMRAI(), is(5));
+    }
+
+    @Test
+    public void resetRouters_LinkTurnedOff_LinkIsStillTurnedOff() throws Exception {
+        context.setTurnedOff(link, true);
+
+        context.resetRouters();
+
+        assertThat(context.isTurnedOff(link), is(true));
+    }
+
+    @Test
+    public void reset_LinkTurnedOff_LinkIsTurnedOn() throws Exception {
+        context.setTurnedOff(link, true);
+
+        context.reset();
+
+        assertThat(context.isTurnedOff(link), is(false));
+    }
+
+    @Test
+    public void reset_EnabledTimer_TimerIsDisabled() throws Exception {
+        context.getMRAITimer(router0).reset(10);
+
+        context.reset();
+
+        assertThat(context.getMRAITimer(router0).isEnabled(), is(false));
+    }
+
+    @Test
+    public void resetRouters_TableWithSelectedRoute_SameTableWithoutSelectedRoute() throws Exception {
+        RouteTable table = context.getTable(router1);
+        table.setRoute(link, new Route(Stubs.stubAttr(1), new Path()));
+
+        context.resetRouters();
+
+        assertThat(context.getTable(router1), is(sameInstance(table)));
+        assertThat(table.getRoute(link), is(InvalidRoute.invalidRoute()));
+    }
+
+    @Test
+    public void setTurnedOff_AfterReset_LinkIsTurnedOffAgain() throws Exception {
+        context.setTurnedOff(link, true);
+        context.reset();
+
+        context.setTurnedOff(link, true);
+
+        assertThat(context.isTurnedOff(link), is(true));
+        context.setTurnedOff(link, false);
+        assertThat(context.isTurnedOff(link), is(false));
+    }
+
+}
@@ -0,0 +1,123 @@
+package core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static core.InvalidRoute.invalidRoute;
+import static core.policies.gaorexford.GRAttribute.customer;
+import static core.policies.gaorexford.GRAttribute.peer;
+import static core.policies.gaorexford.GRLabel.customerLabel;
+import static core.policies.gaorexford.GRLabel.peerLabel;
+import static core.policies.gaorexford.GRLabel.providerLabel;
+import static core.policies.gaorexford.GRPolicy.gaoRexfordPolicy;
+import static core.policies.shortestpath.ShortestPathPolicy.shortestPathPolicy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.PathWrapper.path;
+import static wrappers.RouteWrapper.route;
+import static wrappers.ShortestPathWrapper.spAttr;
+import static wrappers.ShortestPathWrapper.spLabel;
+import static wrappers.TopologyWrapper.router;
+
+public class StableStateSolverTest {
+
+    private StableStateSolver solver;
+    private SimulationContext context;
+    private Router router0;
+    private Router router1;
+    private Router router2;
+    private Router router3;
+
+    @Before
+    public void setUp() throws Exception {
+        solver = new StableStateSolver();
+        context = new SimulationContext();
+        router0 = router(0);
+        router1 = router(1);
+        router2 = router(2);
+        router3 = router(3);
+    }
+
+    private Route selected(Router router) {
+        return context.getTable(router).getSelectedRoute();
+    }
+
+    @Test
+    public void solve_ShortestPathWithShortcutThroughRouter2_Router1SelectsRouteThroughRouter2() throws Exception {
+        Topology topology = new Topology(shortestPathPolicy(), null);
+        topology.link(router1, router0, spLabel(5));
+        topology.link(router1, router2, spLabel(1));
+        topology.link(router2, router0, spLabel(1));
+        topology.link(router3, router1, spLabel(1));
+
+        solver.solve(topology, router0, context);
+
+        assertThat(selected(router2), is(route(spAttr(1), path(0))));
+        assertThat(selected(router1), is(route(spAttr(2), path(2, 0))));
+        assertThat(selected(router3), is(route(spAttr(3), path(1, 2, 0))));
+    }
+
+    @Test
+    public void solve_ShortestPath_TablesKeepRoutesLearnedFromOtherNeighbours() throws Exception {
+        Topology topology = new Topology(shortestPathPolicy(), null);
+        topology.link(router1, router0, spLabel(5));
+        topology.link(router1, router2, spLabel(1));
+        topology.link(router2, router0, spLabel(1));
+
+        solver.solve(topology, router0, context);
+
+        assertThat(context.getTable(router1).getRoute(router0), is(route(spAttr(5), path(0))));
+    }
+
+    @Test
+    public void solve_RouterWithoutPathToDestination_SelectsInvalidRoute() throws Exception {
+        Topology topology = new Topology(shortestPathPolicy(), null);
+        topology.link(router1, router0, spLabel(1));
+        topology.link(router0, router2, spLabel(1));
+
+        solver.solve(topology, router0, context);
+
+        assertThat(selected(router2), is(invalidRoute()));
+    }
+
+    @Test
+    public void solve_LinkTurnedOff_RouteLearnedThroughOtherLink() throws Exception {
+        Topology topology = new Topology(shortestPathPolicy(), null);
+        topology.link(router1, router0, spLabel(5));
+        topology.link(router1, router2, spLabel(1));
+        topology.link(router2, router0, spLabel(1));
+        context.setTurnedOff(router0.getInLink(router2), true);
+
+        solver.solve(topology, router0, context);
+
+        assertThat(selected(router1), is(route(spAttr(5), path(0))));
+        assertThat(selected(router2), is(invalidRoute()));
+    }
+
+    @Test
+    public void solve_GaoRexfordRouteLearnedFromPeer_NotExportedToProvider() throws Exception {
+        // router 1 is a provider of router 0, router 2 is a peer of router 1 and router 3 a provider of 2
+        Topology topology = new Topology(gaoRexfordPolicy(), null);
+        topology.link(router1, router0, customerLabel());
+        topology.link(router0, router1, providerLabel());
+        topology.link(router2, router1, peerLabel());
+        topology.link(router1, router2, peerLabel());
+        topology.link(router3, router2, customerLabel());
+        topology.link(router2, router3, providerLabel());
+
+        solver.solve(topology, router0, context);
+
+        assertThat(selected(router1), is(route(customer(), path(0))));
+        assertThat(selected(router2), is(route(peer(), path(1, 0))));
+        assertThat(selected(router3), is(invalidRoute()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void solve_ShortestPathWithNegativeLength_ThrowsIllegalArgumentException() throws Exception {
+        Topology topology = new Topology(shortestPathPolicy(), null);
+        topology.link(router1, router0, spLabel(-1));
+
+        solver.solve(topology, router0, context);
+    }
+
+}
@@ -0,0 +1,135 @@
+package core;
+
+import org.junit.Before;
+import org.junit.Test;
+import stubs.Stubs;
+
+import static core.InvalidRoute.invalidRoute;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.PathWrapper.path;
+import static wrappers.RouteWrapper.route;
+import static wrappers.TopologyWrapper.router;
+
+public class StateHashTest {
+
+    private StateHash hash;
+    private long initialValue;
+    private Router router0;
+    private Router router1;
+    private Link link;
+
+    @Before
+    public void setUp() throws Exception {
+        hash = new StateHash();
+        hash.setEnabled(true);
+        initialValue = hash.getValue();
+
+        Topology topology = new Topology(null, null);   // the policy is not important for this test suite
+        router0 = router(0);
+        router1 = router(1);
+        topology.link(router0, router1, Stubs.stubLabel());
+        link = router1.getInLink(router0);
+    }
+
+    @Test
+    public void select_SameRoutesSelectedInDifferentOrder_SameValue() throws Exception {
+        StateHash otherHash = new StateHash();
+        otherHash.setEnabled(true);
+        Route route0 = route(Stubs.stubAttr(0), path(1));
+        Route route1 = route(Stubs.stubAttr(1), path());
+
+        hash.select(router0, invalidRoute(), route0);
+        hash.select(router1, invalidRoute(), route1);
+        otherHash.select(router1, invalidRoute(), route1);
+        otherHash.select(router0, invalidRoute(), route0);
+
+        assertThat(hash.getValue(), is(otherHash.getValue()));
+    }
+
+    @Test
+    public void select_RouteAndThenInvalidRoute_InitialValue() throws Exception {
+        Route route = route(Stubs.stubAttr(0), path(1));
+
+        hash.select(router0, invalidRoute(), route);
+        hash.select(router0, route, invalidRoute());
+
+        assertThat(hash.getValue(), is(initialValue));
+    }
+
+    @Test
+    public void select_DifferentRoutes_DifferentValues() throws Exception {
+        StateHash otherHash = new StateHash();
+        otherHash.setEnabled(true);
+
+        hash.select(router0, invalidRoute(), route(Stubs.stubAttr(0), path(1)));
+        otherHash.select(router0, invalidRoute(), route(Stubs.stubAttr(0), path(2)));
+
+        assertThat(hash.getValue(), is(not(otherHash.getValue())));
+    }
+
+    @Test
+    public void deliver_RouteSentBefore_InitialValue() throws Exception {
+        Route route = route(Stubs.stubAttr(0), path(0));
+
+        hash.send(link, route);
+        hash.deliver(link, route);
+
+        assertThat(hash.getValue(), is(initialValue));
+    }
+
+    @Test
+    public void send_SameRouteTwice_DifferentValueFromSendingOnce() throws Exception {
+        StateHash otherHash = new StateHash();
+        otherHash.setEnabled(true);
+        Route route = route(Stubs.stubAttr(0), path(0));
+
+        hash.send(link, route);
+        hash.send(link, route);
+        otherHash.send(link, route);
+
+        assertThat(hash.getValue(), is(not(otherHash.getValue())));
+        assertThat(hash.getValue(), is(not(initialValue)));
+    }
+
+    @Test
+    public void hold_RouteAndThenNoRoute_InitialValue() throws Exception {
+        Route route = route(Stubs.stubAttr(0), path(1));
+
+        hash.hold(router0, null, route);
+        hash.hold(router0, route, null);
+
+        assertThat(hash.getValue(), is(initialValue));
+    }
+
+    @Test
+    public void turn_OffAndThenOn_InitialValue() throws Exception {
+        hash.turn(link, true);
+        hash.turn(link, false);
+
+        assertThat(hash.getValue(), is(initialValue));
+    }
+
+    @Test
+    public void resetRouters_LinkTurnedOff_KeepsLinkTurnedOff() throws Exception {
+        StateHash otherHash = new StateHash();
+        otherHash.setEnabled(true);
+        otherHash.turn(link, true);
+
+        hash.turn(link, true);
+        hash.send(link, route(Stubs.stubAttr(0), path(0)));
+        hash.resetRouters();
+
+        assertThat(hash.getValue(), is(otherHash.getValue()));
+    }
+
+    @Test
+    public void send_Disabled_InitialValue() throws Exception {
+        hash.setEnabled(false);
+
+        hash.send(link, route(Stubs.stubAttr(0), path(0)));
+
+        assertThat(hash.getValue(), is(initialValue));
+    }
+
+}
@@ -128,4 +128,71 @@ public class TopologyTest {
         assertThat(topology.getLinkCount(), is(2));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void addRouter_Routers0And1_IndexesAre0And1() throws Exception {
+        Router router0 = router(0);
+        Router router1 = router(1);
+
+        topology.addRouter(router0);
+        topology.addRouter(router1);
+
+        assertThat(router0.getIndex(), is(0));
+        assertThat(router1.getIndex(), is(1));
+    }
+
+    @Test
+    public void link_TwoDifferentLinks_IndexesAre0And1() throws Exception {
+        Router router0 = router(0);
+        Router router1 = router(1);
+
+        topology.link(router0, router1, Stubs.stubLabel());
+        topology.link(router1, router0, Stubs.stubLabel());
+
+        assertThat(router1.getInLink(router0).getIndex(), is(0));
+        assertThat(router0.getInLink(router1).getIndex(), is(1));
+    }
+
+    @Test
+    public void link_SameRoutersTwice_NewLinkKeepsIndexOfReplacedLink() throws Exception {
+        Router router0 = router(0);
+        Router router1 = router(1);
+        Router router2 = router(2);
+        topology.link(router0, router1, Stubs.stubLabel());
+        topology.link(router2, router1, Stubs.stubLabel());
+
+        topology.link(router0, router1, Stubs.stubLabel());
+
+        assertThat(router1.getInLink(router0).getIndex(), is(0));
+    }
+
+    @Test
+    public void link_Router0ToRouters1And2_SlotsAre0And1() throws Exception {
+        Router router0 = router(0);
+        Router router1 = router(1);
+        Router router2 = router(2);
+
+        topology.link(router0, router1, Stubs.stubLabel());
+        topology.link(router1, router2, Stubs.stubLabel());
+        topology.link(router0, router2, Stubs.stubLabel());
+
+        assertThat(router1.getInLink(router0).getSlot(), is(0));
+        assertThat(router2.getInLink(router0).getSlot(), is(1));
+        assertThat(router2.getInLink(router1).getSlot(), is(0));
+        assertThat(router0.getSlotCount(), is(2));
+    }
+
+    @Test
+    public void link_SameRoutersTwice_NewLinkKeepsSlotOfReplacedLink() throws Exception {
+        Router router0 = router(0);
+        Router router1 = router(1);
+        Router router2 = router(2);
+        topology.link(router0, router1, Stubs.stubLabel());
+        topology.link(router0, router2, Stubs.stubLabel());
+
+        topology.link(router0, router1, Stubs.stubLabel());
+
+        assertThat(router1.getInLink(router0).getSlot(), is(0));
+        assertThat(router0.getSlotCount(), is(2));
+    }
+
+}
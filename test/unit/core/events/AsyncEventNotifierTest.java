@@ -0,0 +1,92 @@
+package core.events;
+
+import core.schedulers.RandomScheduler;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AsyncEventNotifierTest {
+
+    private List<Integer> exportTimes;
+    private List<Thread> exportThreads;
+
+    @Before
+    public void setUp() throws Exception {
+        exportTimes = new ArrayList<>();
+        exportThreads = new ArrayList<>();
+    }
+
+    private AsyncEventNotifier notifier(int capacity, AsyncEventNotifier.BackPressure backPressure) {
+        AsyncEventNotifier notifier = new AsyncEventNotifier(capacity, backPressure);
+        notifier.addExportListener(event -> {
+            exportTimes.add(event.getTimeInstant());
+            exportThreads.add(Thread.currentThread());
+        });
+
+        return notifier;
+    }
+
+    private static void start(EventNotifier notifier) {
+        notifier.notifyStartEvent(new StartEvent(0, new RandomScheduler(0, 0, 1L)));
+    }
+
+    @Test
+    public void notifyExportEvent_OutsideOfASimulation_DeliveredInTheNotifyingThread() throws Exception {
+        AsyncEventNotifier notifier = notifier(4, AsyncEventNotifier.BackPressure.BLOCK);
+
+        notifier.notifyExportEvent(new ExportEvent(1, null, null));
+
+        assertThat(exportTimes.size(), is(1));
+        assertThat(exportThreads.get(0), is(Thread.currentThread()));
+    }
+
+    @Test
+    public void notifyExportEvent_MoreEventsThanTheCapacity_AllDeliveredInOrderBeforeTheEndEvent() throws Exception {
+        AsyncEventNotifier notifier = notifier(4, AsyncEventNotifier.BackPressure.BLOCK);
+        List<Integer> deliveredBeforeEnd = new ArrayList<>();
+        notifier.addEndListener(event -> deliveredBeforeEnd.addAll(exportTimes));
+
+        start(notifier);
+        for (int time = 0; time < 1000; time++) {
+            notifier.notifyExportEvent(new ExportEvent(time, null, null));
+        }
+        notifier.notifyEndEvent(new EndEvent(1000));
+
+        assertThat(deliveredBeforeEnd.size(), is(1000));
+        for (int time = 0; time < 1000; time++) {
+            assertThat(deliveredBeforeEnd.get(time), is(time));
+        }
+        assertThat(exportThreads.get(0) != Thread.currentThread(), is(true));
+    }
+
+    @Test
+    public void notifyExportEvent_WithDropBackPressure_DeliveredAndDroppedEventsAddUp() throws Exception {
+        AsyncEventNotifier notifier = notifier(2, AsyncEventNotifier.BackPressure.DROP);
+
+        start(notifier);
+        for (int time = 0; time < 1000; time++) {
+            notifier.notifyExportEvent(new ExportEvent(time, null, null));
+        }
+        notifier.notifyEndEvent(new EndEvent(1000));
+
+        assertThat(exportTimes.size() + notifier.getDroppedCount(), is(1000L));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void notifyEndEvent_ListenerThrewExceptionInConsumer_ExceptionIsRethrown() throws Exception {
+        AsyncEventNotifier notifier = new AsyncEventNotifier(4);
+        notifier.addExportListener(event -> {
+            throw new IllegalStateException();
+        });
+
+        start(notifier);
+        notifier.notifyExportEvent(new ExportEvent(0, null, null));
+        notifier.notifyEndEvent(new EndEvent(0));
+    }
+
+}
@@ -0,0 +1,206 @@
+package core.policies.compiled;
+
+import core.Attribute;
+import core.Label;
+import core.Link;
+import core.Policy;
+import core.policies.siblings.SiblingsAttribute;
+import io.topologyreaders.exceptions.InvalidPolicyTagException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static core.InvalidAttribute.invalidAttr;
+import static core.policies.gaorexford.GRPolicy.gaoRexfordPolicy;
+import static core.policies.shortestpath.ShortestPathPolicy.shortestPathPolicy;
+import static core.policies.siblings.SiblingsPolicy.siblingsPolicy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.ShortestPathWrapper.spAttr;
+import static wrappers.ShortestPathWrapper.spLabel;
+import static wrappers.TopologyWrapper.router;
+
+public class CompiledPolicyTest {
+
+    private CompiledPolicy policy;
+
+    @Before
+    public void setUp() throws Exception {
+        policy = new CompiledPolicy(gaoRexfordPolicy());
+    }
+
+    private static Attribute base(Attribute attribute) {
+        return attribute == invalidAttr() ? invalidAttr() : ((CompiledAttribute) attribute).getBase();
+    }
+
+    /**
+     * Creates a shortest path policy where the label with tag "link" uses the ID of the source of the link
+     * as the length.
+     */
+    private static Policy linkLengthPolicy() {
+        return new Policy() {
+            @Override
+            public Attribute createSelf() {
+                return shortestPathPolicy().createSelf();
+            }
+
+            @Override
+            public Label createLabel(String tag) throws InvalidPolicyTagException {
+                if (!tag.equals("link")) return shortestPathPolicy().createLabel(tag);
+
+                return (link, attribute) -> spLabel(link.getSource().getId()).extend(link, attribute);
+            }
+        };
+    }
+
+    @Test
+    public void compile_GaoRexfordLabels_DomainHasAllFourAttributes() throws Exception {
+        policy.createLabel("C");
+        policy.createLabel("R");
+        policy.createLabel("P");
+
+        policy.compile();
+
+        assertThat(policy.getDomainSize(), is(4));
+    }
+
+    @Test
+    public void extend_CompiledGaoRexfordLabels_SameAsOriginalLabels() throws Exception {
+        String[] tags = {"C", "R", "P"};
+        Label[] labels = new Label[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            labels[i] = policy.createLabel(tags[i]);
+        }
+        policy.compile();
+
+        // extend every attribute of the domain with every label
+        Attribute[] attributes = {
+                policy.createSelf(),
+                labels[0].extend(null, policy.createSelf()),
+                labels[1].extend(null, policy.createSelf()),
+                labels[2].extend(null, policy.createSelf())
+        };
+
+        for (int i = 0; i < tags.length; i++) {
+            Label original = gaoRexfordPolicy().createLabel(tags[i]);
+
+            for (Attribute attribute : attributes) {
+                assertThat(base(labels[i].extend(null, attribute)),
+                        is(original.extend(null, base(attribute))));
+            }
+        }
+    }
+
+    @Test
+    public void compareTo_CompiledAttributes_SameOrderAsOriginalAttributes() throws Exception {
+        Label customer = policy.createLabel("C");
+        Label provider = policy.createLabel("P");
+        policy.compile();
+
+        Attribute customerAttribute = customer.extend(null, policy.createSelf());
+        Attribute providerAttribute = provider.extend(null, policy.createSelf());
+
+        assertThat(customerAttribute.compareTo(providerAttribute), is(lessThan(0)));
+        assertThat(providerAttribute.compareTo(customerAttribute), is(greaterThan(0)));
+        assertThat(customerAttribute.compareTo(customer.extend(null, policy.createSelf())), is(0));
+        assertThat(providerAttribute.compareTo(invalidAttr()), is(lessThan(0)));
+    }
+
+    @Test
+    public void createLabel_AfterCompiling_LabelIsCompiledToo() throws Exception {
+        policy.createLabel("C");
+        policy.compile();
+
+        Label peer = policy.createLabel("R");
+
+        assertThat(base(peer.extend(null, policy.createSelf())), is(gaoRexfordPolicy().createLabel("R")
+                .extend(null, gaoRexfordPolicy().createSelf())));
+    }
+
+    @Test
+    public void createLabel_SameTagTwice_SameLabel() throws Exception {
+        assertThat(policy.createLabel("C"), is(sameInstance(policy.createLabel("C"))));
+    }
+
+    @Test
+    public void extend_ShortestPathBeyondDomainLimit_ExtendedWithOriginalLabel() throws Exception {
+        policy = new CompiledPolicy(shortestPathPolicy());
+        Label label = policy.createLabel("1");
+        policy.compile(3);
+
+        Attribute attribute = policy.createSelf();
+        for (int i = 0; i < 10; i++) {
+            attribute = label.extend(null, attribute);
+        }
+
+        assertThat(policy.getDomainSize(), is(3));
+        assertThat(base(attribute), is(spAttr(10)));
+    }
+
+    @Test
+    public void compareTo_AttributeInsideAndOutsideDomain_SameOrderAsOriginalAttributes() throws Exception {
+        policy = new CompiledPolicy(shortestPathPolicy());
+        Label label = policy.createLabel("1");
+        policy.compile(2);
+
+        Attribute inside = label.extend(null, policy.createSelf());
+        Attribute outside = label.extend(null, label.extend(null, inside));
+
+        assertThat(inside.compareTo(outside), is(lessThan(0)));
+        assertThat(outside.compareTo(inside), is(greaterThan(0)));
+    }
+
+    @Test
+    public void extend_SiblingsWithSiblingLabel_HopCountsKeepGrowingPastTheDomain() throws Exception {
+        policy = new CompiledPolicy(siblingsPolicy());
+        Label customer = policy.createLabel("C");
+        Label sibling = policy.createLabel("S");
+        policy.compile(4);
+
+        Attribute attribute = customer.extend(null, policy.createSelf());
+        for (int i = 0; i < 5; i++) {
+            attribute = sibling.extend(null, attribute);
+        }
+
+        assertThat(base(attribute), is(SiblingsAttribute.customer(5)));
+    }
+
+    @Test
+    public void extend_ShortestPathTwiceOutsideDomain_EqualButNotTheSameAttribute() throws Exception {
+        policy = new CompiledPolicy(shortestPathPolicy());
+        Label label = policy.createLabel("1");
+        policy.compile(2);
+
+        Attribute outside = label.extend(null, label.extend(null, policy.createSelf()));
+
+        assertThat(label.extend(null, outside), is(label.extend(null, outside)));
+        assertThat(label.extend(null, outside), is(not(sameInstance(label.extend(null, outside)))));
+    }
+
+    @Test
+    public void compile_LabelReadingTheLink_PolicyIsNotCompiled() throws Exception {
+        policy = new CompiledPolicy(linkLengthPolicy());
+        Label label = policy.createLabel("1");
+        Label linkLabel = policy.createLabel("link");
+
+        policy.compile();
+
+        assertThat(policy.getDomainSize(), is(0));
+        assertThat(base(label.extend(null, policy.createSelf())), is(spAttr(1)));
+        assertThat(base(linkLabel.extend(new Link(router(3), router(0), linkLabel), policy.createSelf())),
+                is(spAttr(3)));
+    }
+
+    @Test
+    public void createLabel_LabelReadingTheLinkAfterCompiling_ExtendedWithOriginalLabel() throws Exception {
+        policy = new CompiledPolicy(linkLengthPolicy());
+        policy.createLabel("1");
+        policy.compile(2);
+
+        Label linkLabel = policy.createLabel("link");
+
+        assertThat(policy.getDomainSize(), is(2));
+        assertThat(base(linkLabel.extend(new Link(router(3), router(0), linkLabel), policy.createSelf())),
+                is(spAttr(3)));
+    }
+
+}
@@ -16,9 +16,11 @@ import static wrappers.TopologyWrapper.router;
 
 public class SSBGPProtocolTest {
 
-    private static Link turnedOffLink(int sourceID, int targetID) {
+    private final SimulationContext context = new SimulationContext();
+
+    private Link turnedOffLink(int sourceID, int targetID) {
         Link link = Stubs.stubLink(router(0), router(1));
-        link.setTurnedOff(true);
+        context.setTurnedOff(link, true);
 
         return link;
     }
@@ -28,7 +30,7 @@ public class SSBGPProtocolTest {
     importRoute_AnyValidRouteFromTurnedOffLink_InvalidRoute() throws Exception {
         Route validRoute = Stubs.stubRoute(0, path());
 
-        Route importedRoute = ssBGPProtocol().importRoute(validRoute, turnedOffLink(0, 1));
+        Route importedRoute = ssBGPProtocol().importRoute(context, validRoute, turnedOffLink(0, 1));
 
         assertThat(importedRoute, is(invalidRoute()));
     }
@@ -40,7 +42,7 @@ public class SSBGPProtocolTest {
         Label invalidExtendingLabel = (link, attribute) -> invalidAttr();
         Link link = link(0, 1, invalidExtendingLabel);
 
-        Route importedRoute = ssBGPProtocol().importRoute(route, link);
+        Route importedRoute = ssBGPProtocol().importRoute(context, route, link);
 
         assertThat(importedRoute, is(invalidRoute()));
     }
@@ -52,7 +54,7 @@ public class SSBGPProtocolTest {
         Label label = (link, attribute) -> Stubs.stubAttr(2);
         Link link = link(0, 1, label);
 
-        Route importedRoute = ssBGPProtocol().importRoute(route, link);
+        Route importedRoute = ssBGPProtocol().importRoute(context, route, link);
 
         assertThat(importedRoute, CoreMatchers.is(Stubs.stubRoute(2, path(1))));
     }
@@ -65,7 +67,7 @@ public class SSBGPProtocolTest {
         Label label = (link, attribute) -> Stubs.stubAttr(2);
         Link link = link(0, 1, label);
 
-        Route importedRoute = ssBGPProtocol().importRoute(route, link);
+        Route importedRoute = ssBGPProtocol().importRoute(context, route, link);
 
         assertThat(initialPath, not(sameInstance(importedRoute.getPath())));
     }
@@ -77,7 +79,7 @@ public class SSBGPProtocolTest {
         Route route = Stubs.stubRoute(1, path(router1));
         Link link = Stubs.stubLink(router(0), router1);
 
-        Route learnedRoute = ssBGPProtocol().learn(link, route, 0);
+        Route learnedRoute = ssBGPProtocol().learn(context, link, route, 0);
 
         assertThat(learnedRoute, CoreMatchers.is(Stubs.stubRoute(1, path(router1))));
     }
@@ -88,7 +90,7 @@ public class SSBGPProtocolTest {
         Route route = Stubs.stubRoute(1, path(router(1)));
         Link link = Stubs.stubLink(router(1), router(0));
 
-        Route learnedRoute = ssBGPProtocol().learn(link, route, 0);
+        Route learnedRoute = ssBGPProtocol().learn(context, link, route, 0);
 
         assertThat(learnedRoute, is(invalidRoute()));
     }
@@ -100,11 +102,11 @@ public class SSBGPProtocolTest {
         Detection alwaysDetect = (link, learnedRoute, alternativeRoute) -> true;
         Router learningRouter = new Router(0, -1, alwaysDetect);    // MRAI value does not matter
         Link link = Stubs.stubLink(learningRouter, router(1));
-        link.setTurnedOff(false);   // ensure link is enabled
+        context.setTurnedOff(link, false);   // ensure link is enabled
 
-        ssBGPProtocol().learn(link, route, 0);
+        ssBGPProtocol().learn(context, link, route, 0);
 
-        assertThat(link.isTurnedOff(), is(true));
+        assertThat(context.isTurnedOff(link), is(true));
     }
 
     @Test
@@ -114,9 +116,9 @@ public class SSBGPProtocolTest {
         Detection alwaysDetect = (link, learnedRoute, alternativeRoute) -> true;
         Router learningRouter = new Router(0, -1, alwaysDetect);    // MRAI value does not matter
         Link link = Stubs.stubLink(learningRouter, router(1));
-        link.setTurnedOff(false);   // ensure link is enabled
+        context.setTurnedOff(link, false);   // ensure link is enabled
 
-        Route learnedRoute = ssBGPProtocol().learn(link, route, 0);
+        Route learnedRoute = ssBGPProtocol().learn(context, link, route, 0);
 
         assertThat(learnedRoute, is(invalidRoute()));
     }
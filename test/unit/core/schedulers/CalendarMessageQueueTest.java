@@ -0,0 +1,159 @@
+package core.schedulers;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CalendarMessageQueueTest {
+
+    private CalendarMessageQueue queue;
+    private int nextHandle;
+
+    @Before
+    public void setUp() throws Exception {
+        queue = new CalendarMessageQueue(4);
+        nextHandle = 0;
+    }
+
+    /**
+     * Offers a new message with the given arrival time and returns its handle.
+     */
+    private int offer(int arrivalTime) {
+        int message = nextHandle++;
+        queue.offer(arrivalTime, message, null);
+        return message;
+    }
+
+    /**
+     * Polls the next message and returns its arrival time.
+     */
+    private int pollArrivalTime() {
+        int arrivalTime = queue.peekArrivalTime();
+        queue.poll();
+        return arrivalTime;
+    }
+
+    @Test
+    public void poll_EmptyQueue_ReturnsNone() throws Exception {
+        assertThat(queue.poll(), is(MessageQueue.NONE));
+        assertThat(queue.peekArrivalTime(), is(Integer.MAX_VALUE));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void poll_MessagesOfferedOutOfOrder_ReturnsMessagesOrderedByArrivalTime() throws Exception {
+        offer(3);
+        offer(1);
+        offer(2);
+
+        assertThat(pollArrivalTime(), is(1));
+        assertThat(pollArrivalTime(), is(2));
+        assertThat(pollArrivalTime(), is(3));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void poll_MessagesWithTheSameArrivalTime_ReturnsMessagesInTheOrderTheyWereOffered() throws Exception {
+        int first = offer(5);
+        int second = offer(5);
+        int third = offer(5);
+
+        assertThat(queue.poll(), is(first));
+        assertThat(queue.poll(), is(second));
+        assertThat(queue.poll(), is(third));
+    }
+
+    @Test
+    public void poll_MessagesArrivingAfterTheBucketsInterval_ReturnsMessagesOrderedByArrivalTime() throws Exception {
+        offer(1);
+        offer(100);
+        offer(3);
+        offer(50);
+
+        assertThat(pollArrivalTime(), is(1));
+        assertThat(pollArrivalTime(), is(3));
+        assertThat(pollArrivalTime(), is(50));
+        assertThat(pollArrivalTime(), is(100));
+    }
+
+    @Test
+    public void poll_LateMessageAndMessageOfferedLaterAtTheSameTime_ReturnsTheFirstOfferedFirst() throws Exception {
+        offer(1);
+        int first = offer(6);   // after the interval of the buckets
+        offer(3);
+        assertThat(pollArrivalTime(), is(1));
+        assertThat(pollArrivalTime(), is(3));   // the interval now includes time 6
+
+        int second = offer(6);
+
+        assertThat(queue.poll(), is(first));
+        assertThat(queue.poll(), is(second));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void poll_BucketsEmptiedBeforeLateMessages_ReturnsMessagesOrderedByArrivalTime() throws Exception {
+        offer(1);
+        offer(30);
+        offer(20);
+        assertThat(pollArrivalTime(), is(1));
+
+        offer(21);
+
+        assertThat(pollArrivalTime(), is(20));
+        assertThat(pollArrivalTime(), is(21));
+        assertThat(pollArrivalTime(), is(30));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void poll_MessageArrivingBeforeTheCurrentTime_ReturnsThatMessageFirst() throws Exception {
+        offer(10);
+        offer(20);
+        queue.peekArrivalTime();   // moves the current time to 10
+        offer(12);
+        offer(11);
+
+        assertThat(pollArrivalTime(), is(10));
+        assertThat(pollArrivalTime(), is(11));
+        assertThat(pollArrivalTime(), is(12));
+        assertThat(pollArrivalTime(), is(20));
+    }
+
+    @Test
+    public void poll_HandleReusedAfterBeingPolled_ReturnsTheHandleAgain() throws Exception {
+        queue.offer(1, 0, null);
+        queue.offer(2, 1, null);
+        assertThat(queue.poll(), is(0));
+
+        queue.offer(2, 0, null);
+
+        assertThat(queue.poll(), is(1));
+        assertThat(queue.poll(), is(0));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void peekArrivalTime_QueueWithMessages_ReturnsFirstArrivalTimeWithoutRemovingTheMessage() throws Exception {
+        offer(2);
+        offer(1);
+
+        assertThat(queue.peekArrivalTime(), is(1));
+        assertThat(pollArrivalTime(), is(1));
+        assertThat(pollArrivalTime(), is(2));
+    }
+
+    @Test
+    public void clear_QueueWithMessages_QueueIsEmpty() throws Exception {
+        offer(1);
+        offer(100);
+
+        queue.clear();
+
+        assertThat(queue.isEmpty(), is(true));
+        assertThat(queue.poll(), is(MessageQueue.NONE));
+    }
+
+}
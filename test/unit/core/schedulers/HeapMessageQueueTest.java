@@ -0,0 +1,57 @@
+package core.schedulers;
+
+import core.Message;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class HeapMessageQueueTest {
+
+    private HeapMessageQueue queue;
+
+    @Before
+    public void setUp() throws Exception {
+        queue = new HeapMessageQueue();
+    }
+
+    @Test
+    public void poll_MessagesOfferedOutOfOrder_ReturnsMessagesOrderedByArrivalTime() throws Exception {
+        queue.offer(3, 0, null);
+        queue.offer(1, 1, null);
+        queue.offer(2, 2, null);
+
+        assertThat(queue.peekArrivalTime(), is(1));
+        assertThat(queue.poll(), is(1));
+        assertThat(queue.poll(), is(2));
+        assertThat(queue.poll(), is(0));
+        assertThat(queue.poll(), is(MessageQueue.NONE));
+    }
+
+    @Test
+    public void poll_RandomArrivalTimesWithTies_SameOrderAsPriorityQueueOfMessages() throws Exception {
+        PriorityQueue<Message> priorityQueue = new PriorityQueue<>();
+        Map<Message, Integer> handles = new IdentityHashMap<>();
+        Random random = new Random(7);
+
+        int handle = 0;
+        for (int step = 0; step < 10000; step++) {
+            if (random.nextInt(3) > 0 || priorityQueue.isEmpty()) {
+                Message message = new Message(random.nextInt(50), null, null);
+                handles.put(message, handle);
+                priorityQueue.offer(message);
+                queue.offer(message.getArrivalTime(), handle++, null);
+            } else {
+                assertThat(queue.peekArrivalTime(), is(priorityQueue.peek().getArrivalTime()));
+                assertThat(queue.poll(), is(handles.get(priorityQueue.poll())));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package core.schedulers;
+
+import core.Link;
+import core.Router;
+import core.Topology;
+import org.junit.Before;
+import org.junit.Test;
+import stubs.Stubs;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static wrappers.TopologyWrapper.router;
+
+public class LinkMessageQueueTest {
+
+    private LinkMessageQueue queue;
+    private Link link1;
+    private Link link2;
+    private int nextHandle;
+
+    @Before
+    public void setUp() throws Exception {
+        queue = new LinkMessageQueue();
+        nextHandle = 0;
+
+        Topology topology = new Topology(null, null);
+        Router router0 = router(0);
+        Router router1 = router(1);
+        Router router2 = router(2);
+        topology.addRouter(router0);
+        topology.addRouter(router1);
+        topology.addRouter(router2);
+        topology.link(router1, router0, Stubs.stubLabel());
+        topology.link(router2, router0, Stubs.stubLabel());
+        link1 = router0.getInLink(router1);
+        link2 = router0.getInLink(router2);
+    }
+
+    private int offer(int arrivalTime, Link link) {
+        int message = nextHandle++;
+        queue.offer(arrivalTime, message, link);
+        return message;
+    }
+
+    @Test
+    public void poll_MessagesInTwoLinks_ReturnsMessagesOrderedByArrivalTime() throws Exception {
+        int message1 = offer(1, link1);
+        int message2 = offer(5, link1);
+        int message3 = offer(3, link2);
+        int message4 = offer(4, link2);
+
+        assertThat(queue.poll(), is(message1));
+        assertThat(queue.poll(), is(message3));
+        assertThat(queue.poll(), is(message4));
+        assertThat(queue.peekArrivalTime(), is(5));
+        assertThat(queue.poll(), is(message2));
+        assertThat(queue.poll(), is(MessageQueue.NONE));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void poll_MessageOfferedBeforeTheLastMessageOfTheLink_ReturnsMessagesOrderedByArrivalTime()
+            throws Exception {
+        int message1 = offer(2, link1);
+        int message2 = offer(6, link1);
+        int message3 = offer(4, link1);
+        int message4 = offer(1, link1);
+
+        assertThat(queue.poll(), is(message4));
+        assertThat(queue.poll(), is(message1));
+        assertThat(queue.poll(), is(message3));
+        assertThat(queue.poll(), is(message2));
+    }
+
+    @Test
+    public void poll_LinkWithoutIndex_ReturnsItsMessagesWithTheOthers() throws Exception {
+        Link detachedLink = new Link(router(7), router(8), Stubs.stubLabel());
+        int message1 = offer(3, detachedLink);
+        int message2 = offer(2, link1);
+
+        assertThat(queue.poll(), is(message2));
+        assertThat(queue.poll(), is(message1));
+    }
+
+    @Test
+    public void poll_RandomFIFOMessagesPerLink_ArrivalTimesNeverDecrease() throws Exception {
+        Link[] links = {link1, link2, new Link(router(7), router(8), Stubs.stubLabel())};
+        int[] lastArrivalTimes = new int[links.length];
+        PriorityQueue<Integer> expected = new PriorityQueue<>();
+        Random random = new Random(3);
+
+        for (int step = 0; step < 10000; step++) {
+            if (random.nextBoolean() || expected.isEmpty()) {
+                int link = random.nextInt(links.length);
+                lastArrivalTimes[link] += 1 + random.nextInt(10);
+                expected.offer(lastArrivalTimes[link]);
+                offer(lastArrivalTimes[link], links[link]);
+            } else {
+                assertThat(queue.peekArrivalTime(), is(expected.poll()));
+                queue.poll();
+            }
+        }
+    }
+
+    @Test
+    public void clear_QueueWithMessages_QueueIsEmptyAndCanBeReused() throws Exception {
+        offer(1, link1);
+        offer(2, link2);
+
+        queue.clear();
+
+        assertThat(queue.isEmpty(), is(true));
+        assertThat(queue.poll(), is(MessageQueue.NONE));
+
+        int message = offer(3, link1);
+        assertThat(queue.poll(), is(message));
+    }
+
+    @Test
+    public void clear_AfterMessagesInDetachedLinks_TiesOrderedAsInNewQueue() throws Exception {
+        Link detachedLink1 = new Link(router(1), router(0), Stubs.stubLabel());
+        Link detachedLink2 = new Link(router(2), router(0), Stubs.stubLabel());
+        offer(1, detachedLink1);
+        offer(1, detachedLink2);
+        queue.clear();
+
+        int message1 = offer(2, detachedLink2);
+        int message2 = offer(2, detachedLink1);
+
+        // links are ordered by the order in which their first messages were offered after the reset
+        assertThat(queue.poll(), is(message1));
+        assertThat(queue.poll(), is(message2));
+    }
+
+}
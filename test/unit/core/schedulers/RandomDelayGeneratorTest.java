@@ -3,6 +3,7 @@ package core.schedulers;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class RandomDelayGeneratorTest {
@@ -17,4 +18,39 @@ public class RandomDelayGeneratorTest {
         assertThat(delayGenerator.getSeed(), is(10L));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void nextDelay_MoreDelaysThanOneBlock_AllDelaysInTheInterval() throws Exception {
+        delayGenerator = new RandomDelayGenerator(3, 7, 10L);
+
+        for (int i = 0; i < 1000; i++) {
+            int delay = delayGenerator.nextDelay();
+            assertThat(delay >= 3 && delay <= 7, is(true));
+        }
+    }
+
+    @Test
+    public void nextDelay_TwoGeneratorsWithTheSameSeed_GenerateTheSameDelays() throws Exception {
+        delayGenerator = new RandomDelayGenerator(0, 1000, 10L);
+        RandomDelayGenerator other = new RandomDelayGenerator(0, 1000, 10L);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(delayGenerator.nextDelay(), is(other.nextDelay()));
+        }
+    }
+
+    @Test
+    public void reset_GeneratorsWithTheSameSeedGeneratingDifferentNumberOfDelays_SameNextSeed() throws Exception {
+        delayGenerator = new RandomDelayGenerator(0, 1000, 10L);
+        RandomDelayGenerator other = new RandomDelayGenerator(0, 1000, 10L);
+        for (int i = 0; i < 1000; i++) {
+            other.nextDelay();
+        }
+
+        delayGenerator.reset();
+        other.reset();
+
+        assertThat(delayGenerator.getSeed(), is(other.getSeed()));
+        assertThat(delayGenerator.getSeed(), is(not(10L)));
+    }
+
+}
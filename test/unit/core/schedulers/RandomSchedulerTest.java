@@ -0,0 +1,101 @@
+package core.schedulers;
+
+import core.Link;
+import core.Message;
+import core.Router;
+import core.Topology;
+import org.junit.Before;
+import org.junit.Test;
+import stubs.Stubs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static wrappers.TopologyWrapper.router;
+
+public class RandomSchedulerTest {
+
+    private Link link1;
+    private Link link2;
+
+    @Before
+    public void setUp() throws Exception {
+        Topology topology = new Topology(null, null);
+        Router router0 = router(0);
+        Router router1 = router(1);
+        Router router2 = router(2);
+        topology.addRouter(router0);
+        topology.addRouter(router1);
+        topology.addRouter(router2);
+        topology.link(router1, router0, Stubs.stubLabel());
+        topology.link(router2, router0, Stubs.stubLabel());
+        link1 = router0.getInLink(router1);
+        link2 = router0.getInLink(router2);
+    }
+
+    private static RandomScheduler schedulerWithLinkDelays(long seed) {
+        RandomScheduler scheduler = new RandomScheduler(0, 1000, seed);
+        scheduler.setLinkDelays(true);
+        return scheduler;
+    }
+
+    /**
+     * Schedules the given number of messages, all sent at time 0, through the given link and returns their
+     * arrival times.
+     */
+    private static List<Integer> schedule(Scheduler scheduler, Link link, int count) {
+        List<Integer> arrivalTimes = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Message message = new Message(0, link, null);
+            scheduler.schedule(message);
+            arrivalTimes.add(message.getArrivalTime());
+        }
+
+        return arrivalTimes;
+    }
+
+    @Test
+    public void schedule_LinkDelaysAndLinksScheduledInDifferentOrders_SameArrivalTimesForEachLink()
+            throws Exception {
+        RandomScheduler scheduler = schedulerWithLinkDelays(10L);
+        List<Integer> link1Times = schedule(scheduler, link1, 20);
+        List<Integer> link2Times = schedule(scheduler, link2, 20);
+
+        RandomScheduler otherScheduler = schedulerWithLinkDelays(10L);
+        List<Integer> otherLink2Times = schedule(otherScheduler, link2, 20);
+        List<Integer> otherLink1Times = schedule(otherScheduler, link1, 20);
+
+        assertThat(otherLink1Times, is(link1Times));
+        assertThat(otherLink2Times, is(link2Times));
+        assertThat(link1Times, is(not(link2Times)));
+    }
+
+    @Test
+    public void schedule_LinkDelaysAfterReset_SequencesStartOverWithTheNewSeed() throws Exception {
+        RandomScheduler scheduler = schedulerWithLinkDelays(10L);
+        schedule(scheduler, link1, 20);
+        scheduler.reset();
+
+        RandomScheduler otherScheduler = schedulerWithLinkDelays(scheduler.getSeed());
+
+        assertThat(schedule(scheduler, link1, 20), is(schedule(otherScheduler, link1, 20)));
+    }
+
+    @Test
+    public void reset_WithSeedOfLaterSimulation_SameSeedAndDelaysAsAfterSerialResets() throws Exception {
+        RandomScheduler serial = new RandomScheduler(0, 1000, 42L);
+        serial.reset();
+        serial.reset();
+        RandomScheduler forked = new RandomScheduler(0, 1000, 7L);
+
+        forked.reset(serial.getSeed());
+
+        assertThat(forked.getSeed(), is(serial.getSeed()));
+        assertThat(schedule(forked, link1, 20), is(schedule(serial, link1, 20)));
+    }
+
+}
@@ -0,0 +1,112 @@
+package core.schedulers;
+
+import core.MRAITimer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static wrappers.TopologyWrapper.router;
+
+public class TimerWheelTest {
+
+    private TimerWheel wheel;
+
+    @Before
+    public void setUp() throws Exception {
+        wheel = new TimerWheel();
+    }
+
+    private static MRAITimer timer(int ownerId, int expirationTime) {
+        MRAITimer timer = new MRAITimer(router(ownerId), expirationTime);
+        timer.reset(0);
+        return timer;
+    }
+
+    @Test
+    public void expire_EmptyWheel_ReturnsEmptyCollection() throws Exception {
+        assertThat(wheel.expire(Integer.MAX_VALUE).isEmpty(), is(true));
+        assertThat(wheel.getEarliestExpiration(), is(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void expire_NoTimerExpiredYet_ReturnsEmptyCollectionAndKeepsTheTimers() throws Exception {
+        wheel.add(timer(1, 10));
+
+        assertThat(wheel.expire(9).isEmpty(), is(true));
+        assertThat(wheel.getEarliestExpiration(), is(10));
+        assertThat(wheel.isEmpty(), is(false));
+    }
+
+    @Test
+    public void expire_TimersWithSameExpirationTime_ReturnsTimersOrderedByOwnerId() throws Exception {
+        MRAITimer timer1 = timer(1, 10);
+        MRAITimer timer2 = timer(2, 10);
+        MRAITimer timer3 = timer(3, 10);
+        wheel.add(timer3);
+        wheel.add(timer1);
+        wheel.add(timer2);
+
+        assertThat(new ArrayList<>(wheel.expire(10)), is(Arrays.asList(timer1, timer2, timer3)));
+        assertThat(wheel.isEmpty(), is(true));
+    }
+
+    @Test
+    public void expire_TimersInHigherLevels_ReturnsOnlyExpiredTimersOrderedByExpirationTime() throws Exception {
+        MRAITimer timer1 = timer(1, 5000);
+        MRAITimer timer2 = timer(2, 70);
+        MRAITimer timer3 = timer(3, 300000);
+        wheel.add(timer1);
+        wheel.add(timer2);
+        wheel.add(timer3);
+
+        assertThat(new ArrayList<>(wheel.expire(5000)), is(Arrays.asList(timer2, timer1)));
+        assertThat(wheel.getEarliestExpiration(), is(300000));
+        assertThat(new ArrayList<>(wheel.expire(Integer.MAX_VALUE)), is(Collections.singletonList(timer3)));
+    }
+
+    @Test
+    public void expire_RandomTimersAddedWhileTimeProgresses_SameOrderAsPriorityQueue() throws Exception {
+        Comparator<MRAITimer> order = (o1, o2) -> {
+            int comparison = o1.getExpirationTime() - o2.getExpirationTime();
+            return comparison != 0 ? comparison : o1.getOwner().getId() - o2.getOwner().getId();
+        };
+        PriorityQueue<MRAITimer> queue = new PriorityQueue<>(order);
+        Random random = new Random(42);
+
+        int time = 0;
+        int ownerId = 0;
+        for (int step = 0; step < 5000; step++) {
+            for (int i = random.nextInt(3); i > 0; i--) {
+                MRAITimer timer = new MRAITimer(router(ownerId++), random.nextInt(step % 10 == 0 ? 100000 : 40));
+                timer.reset(time);
+                wheel.add(timer);
+                queue.add(timer);
+            }
+
+            time += random.nextInt(5);
+            List<MRAITimer> expected = new ArrayList<>();
+            while (!queue.isEmpty() && queue.peek().getExpirationTime() <= time) {
+                expected.add(queue.poll());
+            }
+
+            assertThat(new ArrayList<>(wheel.expire(time)), is(expected));
+            assertThat(wheel.getEarliestExpiration(),
+                    is(queue.isEmpty() ? Integer.MAX_VALUE : queue.peek().getExpirationTime()));
+        }
+    }
+
+    @Test
+    public void clear_WheelWithTimers_WheelIsEmpty() throws Exception {
+        wheel.add(timer(1, 10));
+        wheel.add(timer(2, 100000));
+
+        wheel.clear();
+
+        assertThat(wheel.isEmpty(), is(true));
+        assertThat(wheel.expire(Integer.MAX_VALUE).isEmpty(), is(true));
+    }
+
+}
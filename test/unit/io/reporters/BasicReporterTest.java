@@ -0,0 +1,65 @@
+package io.reporters;
+
+import core.events.BudgetExceededEvent.Budget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import simulators.basic.BasicDataset;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BasicReporterTest {
+
+    private File reportDirectory;
+    private BasicReporter reporter;
+
+    @Before
+    public void setUp() throws Exception {
+        reportDirectory = Files.createTempDirectory("reports").toFile();
+        reporter = new BasicReporter(reportDirectory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (File file : reportDirectory.listFiles()) {
+            file.delete();
+        }
+
+        reportDirectory.delete();
+    }
+
+    private static String lastField(String line) {
+        String[] fields = line.split(";");
+        return fields[fields.length - 1];
+    }
+
+    @Test
+    public void report_SimulationExceedingMessageBudget_BudgetExceededColumnNamesTheBudget()
+            throws Exception {
+        BasicDataset exceeded = new BasicDataset();
+        exceeded.setExceededBudget(Budget.MESSAGES);
+
+        reporter.report("report.csv", 0, exceeded);
+        reporter.report("report.csv", 1, new BasicDataset());
+
+        List<String> lines = Files.readAllLines(new File(reportDirectory, "report.csv").toPath());
+        assertThat(lastField(lines.get(0)), is("Budget Exceeded"));
+        assertThat(lastField(lines.get(1)), is(Budget.MESSAGES.toString()));
+        assertThat(lastField(lines.get(2)), is("No"));
+    }
+
+    @Test
+    public void terminationVerdict_OscillatingSimulation_Oscillating() throws Exception {
+        BasicDataset dataset = new BasicDataset();
+        dataset.setProtocolTerminated(false);
+        dataset.setOscillating(true);
+
+        assertThat(BasicReporter.terminationVerdict(dataset), is("Oscillating"));
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.traces;
+
+import core.Link;
+import core.Path;
+import core.Route;
+import core.Router;
+import core.Topology;
+import core.events.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import stubs.Stubs;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static core.InvalidRoute.invalidRoute;
+import static core.policies.gaorexford.GRAttribute.customer;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.TopologyWrapper.router;
+
+public class TraceRecorderTest {
+
+    private File traceFile;
+    private EventNotifier recordingNotifier;
+    private EventNotifier replayNotifier;
+    private Topology topology;
+    private Router router1;
+    private Router router2;
+    private Link link;
+
+    @Before
+    public void setUp() throws Exception {
+        traceFile = File.createTempFile("trace", ".bin");
+        recordingNotifier = new EventNotifier();
+        replayNotifier = new EventNotifier();
+
+        topology = new Topology(null, null);
+        router1 = router(1);
+        router2 = router(2);
+        topology.addRouter(router1);
+        topology.addRouter(router2);
+        topology.link(router1, router2, Stubs.stubLabel());
+        link = router2.getInLink(router1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        traceFile.delete();
+    }
+
+    private long replay() throws Exception {
+        return new TraceReader(traceFile, topology).replay(replayNotifier);
+    }
+
+    @Test
+    public void replay_ExportEventsRecorded_ReplaysEventsWithTheSameTimeLinkAndAttribute() throws Exception {
+        List<ExportEvent> events = new ArrayList<>();
+        replayNotifier.addExportListener(events::add);
+
+        TraceRecorder recorder = new TraceRecorder(traceFile, recordingNotifier);
+        recordingNotifier.notifyExportEvent(new ExportEvent(5, link, new Route(Stubs.stubAttr(1), new Path())));
+        recordingNotifier.notifyExportEvent(new ExportEvent(7, link, new Route(Stubs.stubAttr(2), new Path())));
+        recorder.close();
+
+        assertThat(replay(), is(2L));
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0).getTimeInstant(), is(5));
+        assertThat(events.get(0).getLink(), is(sameInstance(link)));
+        assertThat(events.get(0).getRoute().getAttribute(), is(Stubs.stubAttr(1)));
+        assertThat(events.get(1).getTimeInstant(), is(7));
+        assertThat(events.get(1).getRoute().getAttribute(), is(Stubs.stubAttr(2)));
+    }
+
+    @Test
+    public void replay_SelectEventWithoutPreviousRoute_ReplaysRouterAndRoutes() throws Exception {
+        List<SelectEvent> events = new ArrayList<>();
+        replayNotifier.addSelectListener(events::add);
+
+        TraceRecorder recorder = new TraceRecorder(traceFile, recordingNotifier);
+        recordingNotifier.notifySelectEvent(new SelectEvent(3, router1, null, invalidRoute()));
+        recorder.close();
+        replay();
+
+        assertThat(events.get(0).getSelectingRouter(), is(sameInstance(router1)));
+        assertThat(events.get(0).getPreviousRoute(), is(nullValue()));
+        assertThat(events.get(0).getSelectedRoute(), is(invalidRoute()));
+    }
+
+    @Test
+    public void replay_StartEventWithSeed_ReplaysTheSameSeed() throws Exception {
+        List<StartEvent> events = new ArrayList<>();
+        replayNotifier.addStartListener(events::add);
+
+        TraceRecorder recorder = new TraceRecorder(traceFile, recordingNotifier);
+        recordingNotifier.notifyStartEvent(new StartEvent(0, -1234567890123L));
+        recordingNotifier.notifyStartEvent(new StartEvent(0, (Long) null));
+        recorder.close();
+        replay();
+
+        assertThat(events.get(0).getSeed(), is(-1234567890123L));
+        assertThat(events.get(1).getSeed(), is(nullValue()));
+    }
+
+    @Test
+    public void replay_MoreRecordsThanOneRegion_ReplaysAllRecordsInOrder() throws Exception {
+        int eventCount = TraceFormat.REGION_RECORDS + 10;
+        List<Integer> times = new ArrayList<>();
+        replayNotifier.addThresholdReachedListener(event -> times.add(event.getTimeInstant()));
+
+        TraceRecorder recorder = new TraceRecorder(traceFile, recordingNotifier);
+        for (int time = 0; time < eventCount; time++) {
+            recordingNotifier.notifyThresholdReachedEvent(new ThresholdReachedEvent(time, 10));
+        }
+        recorder.close();
+
+        assertThat(replay(), is((long) eventCount));
+        for (int time = 0; time < eventCount; time++) {
+            assertThat(times.get(time), is(time));
+        }
+    }
+
+    @Test
+    public void replay_GaoRexfordAttributesRecorded_ReplaysTheSameAttributeInstances() throws Exception {
+        List<ExportEvent> events = new ArrayList<>();
+        replayNotifier.addExportListener(events::add);
+
+        TraceRecorder recorder = new TraceRecorder(traceFile, recordingNotifier);
+        recordingNotifier.notifyExportEvent(new ExportEvent(5, link, new Route(customer(), new Path())));
+        recorder.close();
+        replay();
+
+        assertThat(events.get(0).getRoute().getAttribute(), is(sameInstance(customer())));
+    }
+
+    @Test
+    public void replay_DetectEventRecorded_ReplaysTheSameCycle() throws Exception {
+        List<DetectEvent> events = new ArrayList<>();
+        replayNotifier.addDetectListener(events::add);
+        Route learnedRoute = new Route(Stubs.stubAttr(1), new Path(router2, router1));
+        DetectEvent detectEvent = new DetectEvent(4, link, learnedRoute, new Route(Stubs.stubAttr(2), new Path()));
+
+        TraceRecorder recorder = new TraceRecorder(traceFile, recordingNotifier);
+        recordingNotifier.notifyDetectEvent(detectEvent);
+        recorder.close();
+        replay();
+
+        assertThat(events.get(0).getCycle(), is(detectEvent.getCycle()));
+        assertThat(events.get(0).getAlternativeRoute().getAttribute(), is(Stubs.stubAttr(2)));
+    }
+
+    @Test(expected = IOException.class)
+    public void replay_RecorderNotClosed_ThrowsIOException() throws Exception {
+        new TraceRecorder(traceFile, recordingNotifier);
+
+        replay();
+    }
+
+}
@@ -0,0 +1,55 @@
+package simulators;
+
+import core.Topology;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.SimulatorWrapper.*;
+
+public class BasicExperimentTest {
+
+    private static final long SEED = 7;
+    private static final int REPETITION_COUNT = 8;
+
+    private File serialDirectory;
+    private File parallelDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        serialDirectory = Files.createTempDirectory("serial").toFile();
+        parallelDirectory = Files.createTempDirectory("parallel").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteDirectory(serialDirectory);
+        deleteDirectory(parallelDirectory);
+    }
+
+    private static Map<String, String> runExperiment(int workerCount, File reportDirectory) throws Exception {
+        Topology topology = negativeCycleTopology();
+        Simulator simulator = simulator(topology, SEED, reportDirectory);
+
+        simulator.run(new BasicExperiment(topology.getRouter(0), REPETITION_COUNT,
+                new BasicSimulation(simulator), workerCount));
+
+        return reports(reportDirectory);
+    }
+
+    @Test
+    public void run_OneAndFourWorkers_SameReports() throws Exception {
+        Map<String, String> serialReports = runExperiment(1, serialDirectory);
+        Map<String, String> parallelReports = runExperiment(4, parallelDirectory);
+
+        assertThat(serialReports.size(), is(2));    // reports and detections of the destination
+        assertThat(parallelReports, is(serialReports));
+    }
+
+}
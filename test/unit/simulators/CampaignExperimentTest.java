@@ -0,0 +1,56 @@
+package simulators;
+
+import core.Destination;
+import core.Topology;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.SimulatorWrapper.*;
+
+public class CampaignExperimentTest {
+
+    private static final long SEED = 11;
+    private static final int REPETITION_COUNT = 3;
+
+    private File serialDirectory;
+    private File parallelDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        serialDirectory = Files.createTempDirectory("serial").toFile();
+        parallelDirectory = Files.createTempDirectory("parallel").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteDirectory(serialDirectory);
+        deleteDirectory(parallelDirectory);
+    }
+
+    private static Map<String, String> runCampaign(int workerCount, File reportDirectory) throws Exception {
+        Topology topology = negativeCycleTopology();
+        Destination[] destinations = topology.getRouters().toArray(new Destination[0]);
+
+        simulator(topology, SEED, reportDirectory).run(
+                new CampaignExperiment(destinations, REPETITION_COUNT, workerCount));
+
+        return reports(reportDirectory);
+    }
+
+    @Test
+    public void run_OneAndThreeWorkers_SameReports() throws Exception {
+        Map<String, String> serialReports = runCampaign(1, serialDirectory);
+        Map<String, String> parallelReports = runCampaign(3, parallelDirectory);
+
+        assertThat(serialReports.size(), is(2 * 5));    // reports and detections of each destination
+        assertThat(parallelReports, is(serialReports));
+    }
+
+}
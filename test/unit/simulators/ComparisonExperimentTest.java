@@ -0,0 +1,122 @@
+package simulators;
+
+import core.Router;
+import core.Topology;
+import core.protocols.Detection;
+import io.topologyreaders.TopologyReader;
+import main.ProgressHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static core.policies.gaorexford.GRLabel.customerLabel;
+import static core.policies.gaorexford.GRLabel.peerLabel;
+import static core.policies.gaorexford.GRLabel.providerLabel;
+import static core.policies.gaorexford.GRPolicy.gaoRexfordPolicy;
+import static core.protocols.DummyDetection.dummyDetection;
+import static core.protocols.PathDetection.pathDetection;
+import static core.protocols.SSBGPProtocol.ssBGPProtocol;
+import static core.protocols.SimpleDetection.simpleDetection;
+import static main.Application.application;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ComparisonExperimentTest {
+
+    private static final int REPETITION_COUNT = 5;
+
+    private File reportDirectory;
+    private Simulator simulator;
+
+    /**
+     * Creates a topology where router 0 is a customer of routers 1 and 2, which are peers of each other and
+     * customers of router 3. All routers start with MRAI 5 and simple detection.
+     */
+    private static Topology topology() throws Exception {
+        Topology topology = new Topology(gaoRexfordPolicy(), ssBGPProtocol());
+        for (int id = 0; id < 4; id++) {
+            topology.addRouter(new Router(id, 5, simpleDetection()));
+        }
+
+        topology.link(1, 0, customerLabel());
+        topology.link(0, 1, providerLabel());
+        topology.link(2, 0, customerLabel());
+        topology.link(0, 2, providerLabel());
+        topology.link(3, 1, customerLabel());
+        topology.link(1, 3, providerLabel());
+        topology.link(3, 2, customerLabel());
+        topology.link(2, 3, providerLabel());
+        topology.link(1, 2, peerLabel());
+        topology.link(2, 1, peerLabel());
+
+        return topology;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        application().progressHandler = new ProgressHandler() {};
+        reportDirectory = Files.createTempDirectory("comparison").toFile();
+
+        Topology topology = topology();
+        simulator = new Simulator(file -> new TopologyReader() {
+            @Override
+            public Topology read() {
+                return topology;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, new File("comparison.topo"), 0, 10, null, Integer.MAX_VALUE);
+
+        simulator.setReportDestination(reportDirectory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (File file : reportDirectory.listFiles()) {
+            file.delete();
+        }
+
+        reportDirectory.delete();
+    }
+
+    private ComparisonExperiment experiment(Configuration... configurations) {
+        return new ComparisonExperiment(simulator.getTopology().getRouter(0), REPETITION_COUNT,
+                configurations, new ComparisonSimulation(simulator));
+    }
+
+    @Test
+    public void run_TwoIdenticalConfigurations_AllPairedDifferencesAreZero() throws Exception {
+        simulator.run(experiment(new Configuration("baseline", null, null),
+                new Configuration("same", null, null)));
+
+        List<String> lines = Files.readAllLines(new File(reportDirectory, "comparison_0.cmp.csv").toPath());
+
+        assertThat(lines.size(), is(1 + 2 * REPETITION_COUNT));   // header and one row per run
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(";");
+
+            // time, messages, detections and false positives differences
+            for (int field = fields.length - 4; field < fields.length; field++) {
+                assertThat(line, fields[field], is("0"));
+            }
+        }
+    }
+
+    @Test
+    public void run_ConfigurationsForcingMRAIAndDetection_RestoresTheSettingsOfTheRouters() throws Exception {
+        simulator.run(experiment(new Configuration("fast", 0, dummyDetection()),
+                new Configuration("slow", 10, pathDetection())));
+
+        for (Router router : simulator.getTopology().getRouters()) {
+            assertThat(router.getMRAI(), is(5));
+            assertThat(router.getDetection(), is(sameInstance((Detection) simpleDetection())));
+        }
+    }
+
+}
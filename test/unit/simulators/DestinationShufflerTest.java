@@ -0,0 +1,74 @@
+package simulators;
+
+import core.Destination;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static wrappers.TopologyWrapper.router;
+
+public class DestinationShufflerTest {
+
+    private static Destination[] destinations(int destinationCount) {
+        Destination[] destinations = new Destination[destinationCount];
+        for (int id = 0; id < destinationCount; id++) {
+            destinations[id] = router(id);
+        }
+
+        return destinations;
+    }
+
+    /**
+     * Shuffles the given number of times and returns the set of the distinct permutations obtained.
+     */
+    private static Set<List<Destination>> shuffle(DestinationShuffler shuffler, int shuffleCount) {
+        Set<List<Destination>> permutations = new HashSet<>();
+        for (int i = 0; i < shuffleCount; i++) {
+            shuffler.shuffle();
+            permutations.add(Arrays.asList(shuffler.getDestinations().clone()));
+        }
+
+        return permutations;
+    }
+
+    @Test
+    public void shuffle_AllPermutationsOf4Destinations_ReturnsEach24PermutationsOnce() throws Exception {
+        DestinationShuffler shuffler = new DestinationShuffler(destinations(4), 24, 1L);
+
+        assertThat(shuffle(shuffler, 24).size(), is(24));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shuffle_AfterAllPermutationsOf4Destinations_ThrowsIllegalStateException() throws Exception {
+        DestinationShuffler shuffler = new DestinationShuffler(destinations(4), 25, 1L);
+        shuffle(shuffler, 24);
+
+        shuffler.shuffle();
+    }
+
+    @Test
+    public void shuffle_1000TimesWith8Destinations_NeverRepeatsPermutations() throws Exception {
+        DestinationShuffler shuffler = new DestinationShuffler(destinations(8), 1000, 1L);
+
+        assertThat(shuffle(shuffler, 1000).size(), is(1000));
+    }
+
+    @Test
+    public void shuffle_TwoShufflersWithTheSameSeed_SameSequenceOfPermutations() throws Exception {
+        DestinationShuffler shuffler = new DestinationShuffler(destinations(6), 10, 7L);
+        DestinationShuffler other = new DestinationShuffler(destinations(6), 10, 7L);
+
+        for (int i = 0; i < 10; i++) {
+            shuffler.shuffle();
+            other.shuffle();
+
+            assertThat(shuffler.getDestinations(), is(other.getDestinations()));
+        }
+    }
+
+}
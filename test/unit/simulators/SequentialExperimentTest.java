@@ -0,0 +1,65 @@
+package simulators;
+
+import core.Destination;
+import core.Topology;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static wrappers.SimulatorWrapper.*;
+
+public class SequentialExperimentTest {
+
+    private static final long SEED = 3;
+    private static final long PERMUTATIONS_SEED = 5;
+    private static final int REPETITION_COUNT = 2;
+    private static final int PERMUTATION_COUNT = 6;
+
+    private File serialDirectory;
+    private File parallelDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        serialDirectory = Files.createTempDirectory("serial").toFile();
+        parallelDirectory = Files.createTempDirectory("parallel").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteDirectory(serialDirectory);
+        deleteDirectory(parallelDirectory);
+    }
+
+    private static Map<String, String> runExperiment(int workerCount, File reportDirectory) throws Exception {
+        Topology topology = negativeCycleTopology();
+        Destination[] destinations = topology.getRouters().toArray(new Destination[0]);
+        Simulator simulator = simulator(topology, SEED, reportDirectory);
+
+        simulator.run(new SequentialExperiment(destinations, REPETITION_COUNT, PERMUTATION_COUNT,
+                PERMUTATIONS_SEED, new SequentialSimulation(simulator), workerCount));
+
+        return reports(reportDirectory);
+    }
+
+    /**
+     * Each worker simulates several permutations with the same fork. Links turned off in one permutation
+     * that leaked into the next one would make the reports of the parallel run differ from the serial run.
+     */
+    @Test
+    public void run_OneAndTwoWorkers_SamePermutationsAndReports() throws Exception {
+        Map<String, String> serialReports = runExperiment(1, serialDirectory);
+        Map<String, String> parallelReports = runExperiment(2, parallelDirectory);
+
+        // the permutations file plus the reports and detections of each destination in each permutation
+        assertThat(serialReports.size(), is(1 + 2 * 5 * PERMUTATION_COUNT));
+        assertThat(serialReports.containsKey("topology.perm.csv"), is(true));
+        assertThat(parallelReports, is(serialReports));
+    }
+
+}
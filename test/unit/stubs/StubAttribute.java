@@ -8,6 +8,8 @@ import static core.InvalidAttribute.invalidAttr;
 
 public class StubAttribute implements Attribute {
 
+    private static final long serialVersionUID = 1L;
+
     Integer value = null;
 
     /**
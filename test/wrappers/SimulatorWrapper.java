@@ -0,0 +1,111 @@
+package wrappers;
+
+
+import core.Router;
+import core.Topology;
+import io.topologyreaders.TopologyReader;
+import main.ProgressHandler;
+import simulators.Simulator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static core.policies.shortestpath.ShortestPathPolicy.shortestPathPolicy;
+import static core.protocols.SSBGPProtocol.ssBGPProtocol;
+import static core.protocols.SimpleDetection.simpleDetection;
+import static main.Application.application;
+import static wrappers.ShortestPathWrapper.spLabel;
+
+/**
+ * Implements wrapper methods to create simulators and read their reports in a more readable way.
+ */
+public interface SimulatorWrapper {
+
+    /**
+     * Creates a shortest path topology with five routers where routers 1, 2 and 3 form a cycle of negative
+     * length. Routes to any destination keep getting shorter around the cycle, which makes routers detect
+     * policy conflicts and turn off links. Which links are turned off depends on the delays. All routers
+     * use MRAI 5 and simple detection.
+     *
+     * @return new topology with a negative cycle.
+     */
+    static Topology negativeCycleTopology() {
+        Topology topology = new Topology(shortestPathPolicy(), ssBGPProtocol());
+        for (int id = 0; id < 5; id++) {
+            topology.addRouter(new Router(id, 5, simpleDetection()));
+        }
+
+        // source, target and length of each link - the source learns routes from the target
+        int[][] links = {
+                {1, 0, 1}, {2, 0, 2}, {3, 0, 3}, {0, 1, 1}, {0, 2, 1},
+                {1, 2, -2}, {2, 3, -2}, {3, 1, -2},
+                {4, 1, 1}, {4, 3, 1}, {1, 4, 1}, {3, 4, 1}
+        };
+
+        for (int[] link : links) {
+            topology.link(topology.getRouter(link[0]), topology.getRouter(link[1]), spLabel(link[2]));
+        }
+
+        return topology;
+    }
+
+    /**
+     * Creates a simulator for the given topology, generating delays between 0 and 10 from the given seed and
+     * reporting to the given directory.
+     *
+     * @param topology          topology to simulate.
+     * @param seed              seed of the first simulation.
+     * @param reportDirectory   directory where to place the reports.
+     * @return new simulator for the topology.
+     */
+    static Simulator simulator(Topology topology, long seed, File reportDirectory) throws Exception {
+        application().progressHandler = new ProgressHandler() {};
+
+        Simulator simulator = new Simulator(file -> new TopologyReader() {
+            @Override
+            public Topology read() {
+                return topology;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, new File("topology.topo"), 0, 10, seed, 1_000_000);
+
+        simulator.setReportDestination(reportDirectory);
+        return simulator;
+    }
+
+    /**
+     * Reads all files in the given directory.
+     *
+     * @param directory directory with the reports.
+     * @return map with the content of each file, keyed and ordered by file name.
+     */
+    static Map<String, String> reports(File directory) throws IOException {
+        Map<String, String> reports = new TreeMap<>();
+
+        for (File file : directory.listFiles()) {
+            reports.put(file.getName(), new String(Files.readAllBytes(file.toPath())));
+        }
+
+        return reports;
+    }
+
+    /**
+     * Deletes the given directory and all files in it.
+     *
+     * @param directory directory to delete.
+     */
+    static void deleteDirectory(File directory) {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+
+        directory.delete();
+    }
+
+}